@@ -0,0 +1,80 @@
+package com.github.sftwnd.crayfish.common.exceptional.benchmark;
+
+import com.github.sftwnd.crayfish.common.exceptional.Sneaky;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throwing comparator adapted by Sneaky.adapt against the java.lang.reflect.Proxy adapter and the hand-written try/catch
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class AdaptBenchmark {
+
+    private String left = "left";
+    private String right = "right";
+    private Comparator<String> adapted;
+    private Comparator<String> proxy;
+    private Comparator<String> handWritten;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws NoSuchMethodException {
+        Sneaky.BiFunctional<String, String, Integer> functional = AdaptBenchmark::compare;
+        Method apply = Sneaky.BiFunctional.class.getMethod("apply", Object.class, Object.class);
+        this.adapted = Sneaky.adapt(Comparator.class, functional);
+        this.proxy = (Comparator<String>) Proxy.newProxyInstance(AdaptBenchmark.class.getClassLoader(), new Class<?>[] {Comparator.class},
+                (instance, method, arguments) -> {
+                    try {
+                        return apply.invoke(functional, arguments);
+                    } catch (InvocationTargetException exception) {
+                        throw exception.getCause();
+                    }
+                });
+        this.handWritten = (first, second) -> {
+            try {
+                return functional.apply(first, second);
+            } catch (Exception exception) {
+                throw new IllegalStateException(exception);
+            }
+        };
+    }
+
+    private static Integer compare(String first, String second) throws Exception {
+        return first.length() - second.length();
+    }
+
+    @Benchmark
+    public int adapted() {
+        return adapted.compare(left, right);
+    }
+
+    @Benchmark
+    public int proxy() {
+        return proxy.compare(left, right);
+    }
+
+    @Benchmark
+    public int handWritten() {
+        return handWritten.compare(left, right);
+    }
+
+}
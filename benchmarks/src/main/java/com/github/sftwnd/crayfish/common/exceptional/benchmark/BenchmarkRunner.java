@@ -0,0 +1,39 @@
+package com.github.sftwnd.crayfish.common.exceptional.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar: runs JMH with the GC profiler always attached,
+ * so that every suite reports allocation rate (gc.alloc.rate.norm) next to its score
+ */
+public class BenchmarkRunner {
+
+    /**
+     * Run benchmarks
+     * @param args regular JMH command line options (include pattern, -f, -wi, -i, -prof ...)
+     * @throws RunnerException on JMH run failure
+     * @throws CommandLineOptionException on wrong command line options
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions options = new CommandLineOptions(args);
+        Runner runner = new Runner(new OptionsBuilder()
+                .parent(options)
+                .addProfiler(GCProfiler.class)
+                .build()
+        );
+        if (options.shouldList()) {
+            runner.list();
+        } else {
+            runner.run();
+        }
+    }
+
+    private BenchmarkRunner() {
+    }
+
+}
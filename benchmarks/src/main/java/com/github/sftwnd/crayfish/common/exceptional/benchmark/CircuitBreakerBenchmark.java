@@ -0,0 +1,54 @@
+package com.github.sftwnd.crayfish.common.exceptional.benchmark;
+
+import com.github.sftwnd.crayfish.common.exceptional.CircuitBreaker;
+import com.github.sftwnd.crayfish.common.exceptional.Sneaky;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Closed-state fast path of the shared CircuitBreaker under contention against the bare Sneaky supplier
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class CircuitBreakerBenchmark {
+
+    private Supplier<Integer> bare;
+    private Supplier<Integer> protectedByBreaker;
+
+    @Setup
+    public void setUp() {
+        Integer value = 42;
+        CircuitBreaker breaker = new CircuitBreaker(10, Duration.ofSeconds(1), Duration.ofSeconds(1));
+        this.bare = Sneaky.supplier(() -> value);
+        this.protectedByBreaker = breaker.supplier(() -> value);
+    }
+
+    @Benchmark
+    public Integer bare() {
+        return bare.get();
+    }
+
+    @Benchmark
+    public Integer closed() {
+        return protectedByBreaker.get();
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.github.sftwnd.crayfish.common.exceptional.benchmark;
+
+import com.github.sftwnd.crayfish.common.exceptional.Exceptional;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Exceptional.exceptionText on every message branch: message, toString fallback and onNull supplier,
+ * against the CharSequence and Appendable variants
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ExceptionTextBenchmark {
+
+    private Throwable withMessage;
+    private Throwable withoutMessage;
+    private Supplier<String> onNull;
+    private StringBuilder sink;
+
+    @Setup
+    public void setUp() {
+        this.withMessage = new IOException("message");
+        this.withoutMessage = new IOException();
+        this.onNull = () -> "on null";
+        this.sink = new StringBuilder(256);
+    }
+
+    @Benchmark
+    public String message() {
+        return Exceptional.exceptionText(withMessage);
+    }
+
+    @Benchmark
+    public String toStringFallback() {
+        return Exceptional.exceptionText(withoutMessage);
+    }
+
+    @Benchmark
+    public String onNull() {
+        return Exceptional.exceptionText(withoutMessage, onNull);
+    }
+
+    @Benchmark
+    public CharSequence charSequenceMessage() {
+        return Exceptional.exceptionCharSequence(withMessage, null);
+    }
+
+    @Benchmark
+    public StringBuilder appendMessage() {
+        sink.setLength(0);
+        return Exceptional.appendExceptionText(sink, withMessage);
+    }
+
+    @Benchmark
+    public StringBuilder appendToStringFallback() {
+        sink.setLength(0);
+        return Exceptional.appendExceptionText(sink, withoutMessage);
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.github.sftwnd.crayfish.common.exceptional.benchmark;
+
+import com.github.sftwnd.crayfish.common.exceptional.ExceptionTranslator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.EOFException;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.SocketException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Translation of exceptions matched by the later rules: ExceptionTranslator against the instanceof ladder.
+ * Rules return prebuilt exceptions, so only the dispatch is measured
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ExceptionTranslatorBenchmark {
+
+    private final Exception[] exceptions = {
+            new EOFException(), new FileNotFoundException(), new SocketException(), new TimeoutException()
+    };
+    private final RuntimeException illegalArgument = new IllegalArgumentException();
+    private final RuntimeException uncheckedIO = new UncheckedIOException(new IOException());
+    private final RuntimeException illegalState = new IllegalStateException();
+    private ExceptionTranslator translator;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        this.translator = new ExceptionTranslator()
+                .register(IllegalStateException.class, exception -> illegalArgument)
+                .register(UnsupportedOperationException.class, exception -> illegalArgument)
+                .register(InterruptedIOException.class, exception -> uncheckedIO)
+                .register(EOFException.class, exception -> uncheckedIO)
+                .register(FileNotFoundException.class, exception -> uncheckedIO)
+                .register(SocketException.class, exception -> uncheckedIO)
+                .register(TimeoutException.class, exception -> illegalState);
+    }
+
+    private Exception next() {
+        index = (index + 1) & 3;
+        return exceptions[index];
+    }
+
+    @Benchmark
+    public Throwable translator() {
+        return translator.translate(next());
+    }
+
+    @Benchmark
+    public Throwable instanceofLadder() {
+        Exception exception = next();
+        if (exception instanceof IllegalStateException) {
+            return illegalArgument;
+        } else if (exception instanceof UnsupportedOperationException) {
+            return illegalArgument;
+        } else if (exception instanceof InterruptedIOException) {
+            return uncheckedIO;
+        } else if (exception instanceof EOFException) {
+            return uncheckedIO;
+        } else if (exception instanceof FileNotFoundException) {
+            return uncheckedIO;
+        } else if (exception instanceof SocketException) {
+            return uncheckedIO;
+        } else if (exception instanceof TimeoutException) {
+            return illegalState;
+        }
+        return exception;
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.github.sftwnd.crayfish.common.exceptional.benchmark;
+
+import com.github.sftwnd.crayfish.common.exceptional.Exceptional;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exceptional.cause on cause chains of the given depth
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ExceptionalCauseBenchmark {
+
+    @Param({"1", "4", "16", "64"})
+    public int depth;
+
+    private Throwable runtimeChain;
+    private Throwable checkedChain;
+
+    @Setup
+    public void setUp() {
+        Throwable runtime = new IllegalStateException("bottom");
+        Throwable checked = new IOException("bottom");
+        for (int i = 1; i < depth; i++) {
+            runtime = new RuntimeException("level-" + i, runtime);
+            checked = new RuntimeException("level-" + i, checked);
+        }
+        this.runtimeChain = runtime;
+        this.checkedChain = checked;
+    }
+
+    @Benchmark
+    public Throwable causeRuntimeChain() {
+        return Exceptional.cause(runtimeChain, true);
+    }
+
+    @Benchmark
+    public Throwable causeCheckedChain() {
+        return Exceptional.cause(checkedChain);
+    }
+
+}
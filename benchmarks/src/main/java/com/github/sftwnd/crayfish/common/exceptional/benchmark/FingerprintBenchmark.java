@@ -0,0 +1,57 @@
+package com.github.sftwnd.crayfish.common.exceptional.benchmark;
+
+import com.github.sftwnd.crayfish.common.exceptional.Exceptional;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exceptional.fingerprint of the wrapped exception against rendering of its full stack trace
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class FingerprintBenchmark {
+
+    @Param({"8", "64"})
+    public int depth;
+
+    private Throwable throwable;
+
+    @Setup
+    public void setUp() {
+        this.throwable = new RuntimeException(deep(depth));
+    }
+
+    private static Throwable deep(int depth) {
+        return depth <= 1 ? new IllegalStateException("failure") : deep(depth - 1);
+    }
+
+    @Benchmark
+    public long fingerprint() {
+        return Exceptional.fingerprint(throwable);
+    }
+
+    @Benchmark
+    public int printStackTrace() {
+        StringWriter writer = new StringWriter();
+        throwable.printStackTrace(new PrintWriter(writer));
+        return writer.getBuffer().length();
+    }
+
+}
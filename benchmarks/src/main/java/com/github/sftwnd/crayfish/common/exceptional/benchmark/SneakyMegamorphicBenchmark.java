@@ -0,0 +1,84 @@
+package com.github.sftwnd.crayfish.common.exceptional.benchmark;
+
+import com.github.sftwnd.crayfish.common.exceptional.Sneaky;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Megamorphic call site: the same Sneaky.function call site sees 1, 2 or 4+ different lambda shapes
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class SneakyMegamorphicBenchmark {
+
+    private static final int SIZE = 1024;
+
+    @Param({"1", "2", "4", "8"})
+    public int shapes;
+
+    private Function<Integer, Integer>[] sneaky;
+    private Sneaky.Functional<Integer, Integer>[] direct;
+    private Integer[] values;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        Sneaky.Functional<Integer, Integer>[] all = new Sneaky.Functional[] {
+                (Sneaky.Functional<Integer, Integer>) p -> p + 1,
+                (Sneaky.Functional<Integer, Integer>) p -> p - 1,
+                (Sneaky.Functional<Integer, Integer>) p -> p * 3,
+                (Sneaky.Functional<Integer, Integer>) p -> p ^ 7,
+                (Sneaky.Functional<Integer, Integer>) p -> p << 1,
+                (Sneaky.Functional<Integer, Integer>) p -> p >> 1,
+                (Sneaky.Functional<Integer, Integer>) p -> p | 5,
+                (Sneaky.Functional<Integer, Integer>) p -> p & 13
+        };
+        this.sneaky = new Function[SIZE];
+        this.direct = new Sneaky.Functional[SIZE];
+        this.values = new Integer[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            this.direct[i] = all[i % shapes];
+            this.sneaky[i] = Sneaky.function(this.direct[i]);
+            this.values[i] = i;
+        }
+    }
+
+    @Benchmark
+    public int tryCatch() {
+        int result = 0;
+        for (int i = 0; i < SIZE; i++) {
+            try {
+                result += direct[i].apply(values[i]);
+            } catch (Exception exception) {
+                throw new IllegalStateException(exception);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int sneaky() {
+        int result = 0;
+        for (int i = 0; i < SIZE; i++) {
+            result += sneaky[i].apply(values[i]);
+        }
+        return result;
+    }
+
+}
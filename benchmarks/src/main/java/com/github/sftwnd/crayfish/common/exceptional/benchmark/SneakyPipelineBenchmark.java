@@ -0,0 +1,62 @@
+package com.github.sftwnd.crayfish.common.exceptional.benchmark;
+
+import com.github.sftwnd.crayfish.common.exceptional.Sneaky;
+import com.github.sftwnd.crayfish.common.exceptional.SneakyPipeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Chain of throwing steps: nested Sneaky.function(..).andThen(..) wrappers against the fused SneakyPipeline
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class SneakyPipelineBenchmark {
+
+    @Param({"2", "8", "15"})
+    public int steps;
+
+    private Function<Integer, Integer> nested;
+    private Function<Integer, Integer> fused;
+    private Integer value;
+
+    @Setup
+    public void setUp() {
+        Function<Integer, Integer> chain = Sneaky.function(p -> p + 1);
+        SneakyPipeline<Integer, Integer> pipeline = Sneaky.pipeline(p -> p + 1);
+        for (int i = 1; i < steps; i++) {
+            int shift = i;
+            chain = chain.andThen(Sneaky.function(p -> p ^ shift));
+            pipeline = pipeline.then(p -> p ^ shift);
+        }
+        this.nested = chain;
+        this.fused = pipeline.build();
+        this.value = 42;
+    }
+
+    @Benchmark
+    public Integer nested() {
+        return nested.apply(value);
+    }
+
+    @Benchmark
+    public Integer fused() {
+        return fused.apply(value);
+    }
+
+}
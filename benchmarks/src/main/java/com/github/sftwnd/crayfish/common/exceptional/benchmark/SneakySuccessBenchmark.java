@@ -0,0 +1,125 @@
+package com.github.sftwnd.crayfish.common.exceptional.benchmark;
+
+import com.github.sftwnd.crayfish.common.exceptional.Sneaky;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Success path: Sneaky wrappers against a hand-written try/catch around the same throwing lambda
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class SneakySuccessBenchmark {
+
+    private int value;
+    private Callable<Integer> callable;
+    private Sneaky.Functional<Integer, Integer> functional;
+    private Supplier<Integer> supplier;
+    private Function<Integer, Integer> function;
+    private BiFunction<Integer, Integer, Integer> bifunction;
+    private Runnable runnable;
+    private Consumer<Integer> consumer;
+    private BiConsumer<Integer, Integer> biconsumer;
+    private Function<Long, Long> boxedUnaryOperator;
+    private LongUnaryOperator longUnaryOperator;
+    private long longValue;
+    private Blackhole blackhole;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        this.blackhole = blackhole;
+        this.value = 42;
+        this.callable = () -> value;
+        this.functional = p -> p + 1;
+        this.supplier = Sneaky.supplier(callable);
+        this.function = Sneaky.function(functional);
+        this.bifunction = Sneaky.bifunction((p, q) -> p + q);
+        this.runnable = Sneaky.runnable(() -> this.blackhole.consume(value));
+        this.consumer = Sneaky.consumer(this.blackhole::consume);
+        this.biconsumer = Sneaky.biconsumer((p, q) -> this.blackhole.consume(p + q));
+        this.boxedUnaryOperator = Sneaky.function(p -> p * 31 + 7);
+        this.longUnaryOperator = Sneaky.longUnaryOperator(p -> p * 31 + 7);
+        this.longValue = 4242L;
+    }
+
+    @Benchmark
+    public Integer supplierTryCatch() {
+        try {
+            return callable.call();
+        } catch (Exception exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    @Benchmark
+    public Integer supplierSneaky() {
+        return supplier.get();
+    }
+
+    @Benchmark
+    public Integer functionTryCatch() {
+        try {
+            return functional.apply(value);
+        } catch (Exception exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    @Benchmark
+    public Integer functionSneaky() {
+        return function.apply(value);
+    }
+
+    @Benchmark
+    public Integer bifunctionSneaky() {
+        return bifunction.apply(value, value);
+    }
+
+    @Benchmark
+    public void runnableSneaky() {
+        runnable.run();
+    }
+
+    @Benchmark
+    public void consumerSneaky() {
+        consumer.accept(value);
+    }
+
+    @Benchmark
+    public void biconsumerSneaky() {
+        biconsumer.accept(value, value);
+    }
+
+    @Benchmark
+    public long longUnaryOperatorBoxed() {
+        return boxedUnaryOperator.apply(longValue);
+    }
+
+    @Benchmark
+    public long longUnaryOperatorSneaky() {
+        return longUnaryOperator.applyAsLong(longValue);
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.github.sftwnd.crayfish.common.exceptional.benchmark;
+
+import com.github.sftwnd.crayfish.common.exceptional.ExceptionFlyweights;
+import com.github.sftwnd.crayfish.common.exceptional.Sneaky;
+import com.github.sftwnd.crayfish.common.exceptional.StacklessCheckedException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Throwing path: the wrapped call creates and throws a new exception each time,
+ * with stack trace capture switched on or off, against a prebuilt flyweight and the carrying mode
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class SneakyThrowingBenchmark {
+
+    @Param({"true", "false"})
+    public boolean stackTrace;
+
+    private Callable<Integer> callable;
+    private Sneaky.Functional<Integer, Integer> functional;
+    private Supplier<Integer> supplier;
+    private Function<Integer, Integer> function;
+    private Function<Integer, Integer> flyweight;
+    private Function<Integer, Integer> carrying;
+
+    @Setup
+    public void setUp() {
+        this.callable = () -> { throw new BenchmarkException(stackTrace); };
+        this.functional = p -> { throw new BenchmarkException(stackTrace); };
+        this.supplier = Sneaky.supplier(callable);
+        this.function = Sneaky.function(functional);
+        this.flyweight = Sneaky.function(p -> { throw ExceptionFlyweights.global().get(StacklessCheckedException.class, "benchmark"); });
+        this.carrying = Sneaky.Carrying.function(functional);
+    }
+
+    @Benchmark
+    public Object supplierTryCatch() {
+        try {
+            return callable.call();
+        } catch (Exception exception) {
+            return exception;
+        }
+    }
+
+    @Benchmark
+    public Object supplierSneaky() {
+        try {
+            return supplier.get();
+        } catch (Exception exception) {
+            return exception;
+        }
+    }
+
+    @Benchmark
+    public Object functionTryCatch() {
+        try {
+            return functional.apply(1);
+        } catch (Exception exception) {
+            return exception;
+        }
+    }
+
+    @Benchmark
+    public Object functionSneaky() {
+        try {
+            return function.apply(1);
+        } catch (Exception exception) {
+            return exception;
+        }
+    }
+
+    @Benchmark
+    public Object functionFlyweight() {
+        try {
+            return flyweight.apply(1);
+        } catch (Exception exception) {
+            return exception;
+        }
+    }
+
+    @Benchmark
+    public Object functionCarrying() {
+        try {
+            return carrying.apply(1);
+        } catch (Exception exception) {
+            return exception;
+        }
+    }
+
+    static class BenchmarkException extends Exception {
+        private static final long serialVersionUID = 4262170394146322473L;
+        BenchmarkException(boolean stackTrace) {
+            super("benchmark", null, false, stackTrace);
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.github.sftwnd.crayfish.common.exceptional.benchmark;
+
+import com.github.sftwnd.crayfish.common.exceptional.StackTraceRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deep stack trace with a chain of causes: unlimited printStackTrace against the bounded StackTraceRenderer
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class StackTraceRendererBenchmark {
+
+    @Param({"64", "512"})
+    public int depth;
+
+    private Throwable throwable;
+    private StackTraceRenderer renderer;
+    private StringBuilder builder;
+
+    @Setup
+    public void setUp() {
+        Throwable chain = deep(depth);
+        for (int i = 0; i < 4; i++) {
+            chain = new IllegalStateException("wrapper " + i, chain);
+        }
+        this.throwable = chain;
+        this.renderer = StackTraceRenderer.defaults();
+        this.builder = new StringBuilder(64 * 1024);
+    }
+
+    private static Throwable deep(int depth) {
+        return depth <= 1 ? new IllegalArgumentException("failure") : deep(depth - 1);
+    }
+
+    @Benchmark
+    public int printStackTrace() {
+        StringWriter writer = new StringWriter();
+        throwable.printStackTrace(new PrintWriter(writer));
+        return writer.getBuffer().length();
+    }
+
+    @Benchmark
+    public int renderer() {
+        builder.setLength(0);
+        return renderer.render(builder, throwable).length();
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.github.sftwnd.crayfish.common.exceptional.benchmark;
+
+import com.github.sftwnd.crayfish.common.exceptional.ThrowableCodec;
+import com.github.sftwnd.crayfish.common.exceptional.ThrowableSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cause chain with a suppressed exception: ThrowableCodec against Java serialization in both directions
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ThrowableCodecBenchmark {
+
+    private Throwable throwable;
+    private byte[] encoded;
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() throws IOException {
+        Throwable chain = deep(32);
+        for (int i = 0; i < 3; i++) {
+            chain = new IllegalStateException("wrapper " + i, chain);
+        }
+        chain.addSuppressed(new IllegalArgumentException("suppressed"));
+        this.throwable = chain;
+        this.encoded = ThrowableCodec.encode(chain);
+        this.serialized = serialize();
+    }
+
+    private static Throwable deep(int depth) {
+        return depth <= 1 ? new IOException("failure") : deep(depth - 1);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return ThrowableCodec.encode(throwable);
+    }
+
+    @Benchmark
+    public ThrowableSnapshot decode() {
+        return ThrowableCodec.decode(encoded);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(bytes)) {
+            objectOutputStream.writeObject(throwable);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public Object deserialize() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+            return objectInputStream.readObject();
+        }
+    }
+
+}
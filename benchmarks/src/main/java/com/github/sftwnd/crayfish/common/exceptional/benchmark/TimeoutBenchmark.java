@@ -0,0 +1,68 @@
+package com.github.sftwnd.crayfish.common.exceptional.benchmark;
+
+import com.github.sftwnd.crayfish.common.exceptional.Sneaky;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Timeout-bounded call completed in time: the shared hashed-wheel timer of Sneaky.supplier(Callable, Duration)
+ * against the schedule/cancel of the interruption on ScheduledThreadPoolExecutor
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@Threads(4)
+@State(Scope.Benchmark)
+public class TimeoutBenchmark {
+
+    private ScheduledThreadPoolExecutor scheduler;
+    private Supplier<Integer> wheel;
+    private Integer value;
+
+    @Setup
+    public void setUp() {
+        this.scheduler = new ScheduledThreadPoolExecutor(1);
+        this.scheduler.setRemoveOnCancelPolicy(true);
+        this.value = 42;
+        this.wheel = Sneaky.supplier(() -> value, Duration.ofSeconds(1));
+    }
+
+    @TearDown
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Benchmark
+    public Integer wheel() {
+        return wheel.get();
+    }
+
+    @Benchmark
+    public Integer scheduledExecutor() {
+        ScheduledFuture<?> future = scheduler.schedule(Thread.currentThread()::interrupt, 1, TimeUnit.SECONDS);
+        try {
+            return value;
+        } finally {
+            future.cancel(false);
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Immutable specification of the cache behind {@link Sneaky#caching(Sneaky.Functional, CacheSpec)}:
+ * max number of entries, time to live of the values and time to live of the failures
+ */
+public final class CacheSpec {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final long failureTtlNanos;
+
+    private CacheSpec(int maxSize, long ttlNanos, long failureTtlNanos) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlNanos;
+        this.failureTtlNanos = failureTtlNanos;
+    }
+
+    /**
+     * Cache specification without expiration of values and without caching of failures
+     * @param maxSize max number of cached entries
+     * @return cache specification
+     */
+    public static @NonNull CacheSpec of(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("CacheSpec::of - maxSize has to be positive, but: " + maxSize);
+        }
+        return new CacheSpec(maxSize, 0, 0);
+    }
+
+    /**
+     * Specification with expiration of values
+     * @param ttl time to live of the cached value, zero means no expiration
+     * @return new cache specification
+     */
+    public @NonNull CacheSpec ttl(@NonNull Duration ttl) {
+        return new CacheSpec(maxSize, nanos(ttl, "ttl"), failureTtlNanos);
+    }
+
+    /**
+     * Specification with caching of failures: the failure is rethrown to the callers of the key until it expires
+     * instead of recomputation by every caller
+     * @param failureTtl time to live of the cached failure, zero means failures are not cached
+     * @return new cache specification
+     */
+    public @NonNull CacheSpec failureTtl(@NonNull Duration failureTtl) {
+        return new CacheSpec(maxSize, ttlNanos, nanos(failureTtl, "failureTtl"));
+    }
+
+    /**
+     * Max number of cached entries
+     * @return max size
+     */
+    public int maxSize() {
+        return maxSize;
+    }
+
+    long ttlNanos() {
+        return ttlNanos;
+    }
+
+    long failureTtlNanos() {
+        return failureTtlNanos;
+    }
+
+    private static long nanos(Duration duration, String name) {
+        Objects.requireNonNull(duration, "CacheSpec - " + name + " is null");
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException("CacheSpec - " + name + " has to be non negative, but: " + duration);
+        }
+        return duration.toNanos();
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Bounded concurrent cache over the Functional with single-flight computation per key.
+ * Concurrent callers of the same key wait for the same computation. Entries expire by time to live,
+ * failures are kept for the failure time to live (if it is set) so a failing key isn't recomputed by every caller.
+ * The size is bounded by the eviction in the order of computation (computations in flight are not counted),
+ * the order queue is swept from the entries removed by the expiry or the uncached failure when it grows over twice the max size
+ * @param <P> type of the key
+ * @param <R> type of the value
+ */
+final class CachingFunction<P, R> implements Function<P, R> {
+
+    private static final Object NULL_KEY = new Object();
+
+    private final Sneaky.Functional<P, R> functional;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final long failureTtlNanos;
+    private final ConcurrentHashMap<Object, Entry<R>> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry<R>> order = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger ordered = new AtomicInteger();
+
+    CachingFunction(Sneaky.Functional<P, R> functional, CacheSpec spec) {
+        this.functional = functional;
+        this.maxSize = spec.maxSize();
+        this.ttlNanos = spec.ttlNanos();
+        this.failureTtlNanos = spec.failureTtlNanos();
+    }
+
+    @Override
+    public R apply(P parameter) {
+        Object key = parameter == null ? NULL_KEY : parameter;
+        Entry<R> entry = entries.get(key);
+        if (entry != null && entry.isExpired(System.nanoTime())) {
+            entries.remove(key, entry);
+            entry = null;
+        }
+        if (entry == null) {
+            Entry<R> created = new Entry<>(key);
+            entry = entries.putIfAbsent(key, created);
+            if (entry == null) {
+                compute(created, parameter);
+                evict(created);
+                return Memoized.join(created);
+            }
+        }
+        return Memoized.join(entry);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void compute(Entry<R> entry, P parameter) {
+        R result;
+        try {
+            result = functional.apply(parameter);
+        } catch (Throwable throwable) { //NOSONAR java:S1181 Throwable and Error should not be caught
+            if (failureTtlNanos > 0) {
+                entry.expireAt(System.nanoTime() + failureTtlNanos);
+            } else {
+                entries.remove(entry.key, entry);
+            }
+            Memoized.fail(entry, throwable);
+            return;
+        }
+        if (ttlNanos > 0) {
+            entry.expireAt(System.nanoTime() + ttlNanos);
+        }
+        entry.complete(result);
+    }
+
+    // every computed entry which is still mapped is queued once, the entries which are not mapped anymore are stale
+    private void evict(Entry<R> inserted) {
+        if (isStale(inserted)) {
+            return;
+        }
+        order.offer(inserted);
+        if (ordered.incrementAndGet() > 2L * maxSize) {
+            order.removeIf(this::isStale);
+            ordered.set(order.size());
+        }
+        Entry<R> eldest;
+        while (entries.size() > maxSize && (eldest = order.poll()) != null) {
+            ordered.decrementAndGet();
+            entries.remove(eldest.key, eldest);
+        }
+    }
+
+    private boolean isStale(Entry<R> entry) {
+        return entries.get(entry.key) != entry;
+    }
+
+    private static final class Entry<R> extends CompletableFuture<R> {
+
+        private final Object key;
+        private volatile long expiresAt;
+        private volatile boolean expiring;
+
+        private Entry(Object key) {
+            this.key = key;
+        }
+
+        private void expireAt(long time) {
+            this.expiresAt = time;
+            this.expiring = true;
+        }
+
+        private boolean isExpired(long now) {
+            return expiring && now - expiresAt >= 0;
+        }
+
+    }
+
+}
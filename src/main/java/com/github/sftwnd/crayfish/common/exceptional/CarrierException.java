@@ -0,0 +1,32 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import java.util.Objects;
+
+/**
+ * Lightweight unchecked carrier of a checked exception: no own stack trace, no suppression.
+ * As a RuntimeException it is unwrapped by {@link Exceptional#cause(Throwable)} to the carried exception
+ */
+public final class CarrierException extends StacklessException {
+
+    private static final long serialVersionUID = -1394187960366315285L;
+
+    /**
+     * Create carrier of the checked exception
+     * @param cause carried exception
+     */
+    public CarrierException(@NonNull Throwable cause) {
+        super(null, Objects.requireNonNull(cause, "CarrierException::new - cause is null"));
+    }
+
+    /**
+     * Message of the carrier is built on demand from the carried exception
+     * @return carried exception text
+     */
+    @Override
+    public String getMessage() {
+        return getCause().toString();
+    }
+
+}
@@ -0,0 +1,154 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Resolver of the significant cause of an exception.
+ * Wrapper exceptions are unwrapped by the rule registered for the nearest class of the exception hierarchy,
+ * the rule lookup is cached per exception class. The walk is bounded by the max depth and stops on a cyclic cause chain.
+ * By default RuntimeException (including CompletionException and UndeclaredThrowableException),
+ * ExecutionException and InvocationTargetException are unwrapped
+ */
+public final class CauseResolver {
+
+    /**
+     * Default max depth of the cause chain walk
+     */
+    public static final int DEFAULT_MAX_DEPTH = 256;
+
+    private static final Unwrapper<Throwable> SIGNIFICANT = throwable -> null;
+    private static final CauseResolver GLOBAL = new CauseResolver(DEFAULT_MAX_DEPTH);
+
+    private final int maxDepth;
+    private final Map<Class<? extends Throwable>, Unwrapper<? super Throwable>> rules = new ConcurrentHashMap<>();
+    private volatile ClassValue<Unwrapper<? super Throwable>> cache = newCache();
+
+    /**
+     * Create resolver with the default unwrap rules
+     * @param maxDepth max number of unwrap steps
+     */
+    public CauseResolver(int maxDepth) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("CauseResolver::new - maxDepth has to be positive, but: " + maxDepth);
+        }
+        this.maxDepth = maxDepth;
+        register(RuntimeException.class, Throwable::getCause);
+        register(UndeclaredThrowableException.class, UndeclaredThrowableException::getUndeclaredThrowable);
+        register(ExecutionException.class, Throwable::getCause);
+        register(InvocationTargetException.class, InvocationTargetException::getTargetException);
+    }
+
+    /**
+     * Resolver used by {@link Exceptional#cause(Throwable, boolean)}
+     * @return global resolver
+     */
+    public static @NonNull CauseResolver global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Max number of unwrap steps
+     * @return max depth
+     */
+    public int maxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Register unwrap rule for the exception type and its subclasses without own rules
+     * @param type wrapper exception type
+     * @param unwrapper rule to get wrapped exception
+     * @return this resolver
+     * @param <T> wrapper exception type
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Throwable> @NonNull CauseResolver register(@NonNull Class<T> type, @NonNull Unwrapper<? super T> unwrapper) {
+        Objects.requireNonNull(type, "CauseResolver::register - type is null");
+        Objects.requireNonNull(unwrapper, "CauseResolver::register - unwrapper is null");
+        rules.put(type, (Unwrapper<? super Throwable>) unwrapper);
+        cache = newCache();
+        return this;
+    }
+
+    /**
+     * Mark the exception type and its subclasses without own rules as significant (never unwrapped)
+     * @param type significant exception type
+     * @return this resolver
+     */
+    public @NonNull CauseResolver significant(@NonNull Class<? extends Throwable> type) {
+        return register(type, SIGNIFICANT);
+    }
+
+    /**
+     * Getting a significant cause from a wrapper exception
+     * @param throwable An exception that could be a wrapper exception
+     * @param useLastWrapperCause if there are no non-wrapper exceptions, then take the last one
+     * @return significant cause
+     */
+    public @NonNull Throwable resolve(@NonNull Throwable throwable, boolean useLastWrapperCause) {
+        ClassValue<Unwrapper<? super Throwable>> unwrappers = this.cache;
+        Throwable result = throwable;
+        // Brent's cycle detection: no allocation on the walk
+        Throwable tortoise = throwable;
+        int power = 1;
+        int lambda = 0;
+        for (int depth = 0; ; depth++) {
+            Unwrapper<? super Throwable> unwrapper = unwrappers.get(result.getClass());
+            if (unwrapper == SIGNIFICANT) {
+                return result;
+            }
+            if (depth == maxDepth) {
+                break;
+            }
+            Throwable next = unwrapper.unwrap(result);
+            if (next == null || next == result || next == tortoise) {
+                break;
+            }
+            result = next;
+            if (++lambda == power) {
+                tortoise = result;
+                power <<= 1;
+                lambda = 0;
+            }
+        }
+        return useLastWrapperCause ? result : throwable;
+    }
+
+    private ClassValue<Unwrapper<? super Throwable>> newCache() {
+        return new ClassValue<>() {
+            @Override
+            protected Unwrapper<? super Throwable> computeValue(Class<?> type) {
+                for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                    Unwrapper<? super Throwable> unwrapper = rules.get(current);
+                    if (unwrapper != null) {
+                        return unwrapper;
+                    }
+                }
+                return SIGNIFICANT;
+            }
+        };
+    }
+
+    /**
+     * Rule to get the wrapped exception from the wrapper one
+     * @param <T> wrapper exception type
+     */
+    @FunctionalInterface
+    public interface Unwrapper<T extends Throwable> {
+        /**
+         * Get wrapped exception
+         * @param throwable wrapper exception
+         * @return wrapped exception or null if there is no one
+         */
+        @Nullable Throwable unwrap(@NonNull T throwable);
+    }
+
+}
@@ -0,0 +1,268 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Lock-free circuit breaker. The whole state (closed/open/half-open, failure count and window or open timestamp)
+ * is packed into the single atomic word, so the call in the closed state costs one volatile read and successful
+ * calls never write. Failures are counted by the significant cause resolved by {@link Exceptional#cause(Throwable, boolean)}.
+ * Calls are rejected while the breaker is open with the shared stackless {@link OpenException}, after the open duration
+ * the single probe call is let through (half-open) and its result closes or reopens the breaker. The probe which hasn't
+ * completed during the open duration loses its permit, so the next call becomes the probe
+ */
+public final class CircuitBreaker {
+
+    /**
+     * State of the breaker
+     */
+    public enum State {
+        /** calls are executed, failures are counted */
+        CLOSED,
+        /** calls are rejected */
+        OPEN,
+        /** the single probe call is executed, other calls are rejected */
+        HALF_OPEN
+    }
+
+    /**
+     * Max failure threshold which fits into the packed state
+     */
+    public static final int MAX_FAILURE_THRESHOLD = (1 << 22) - 1;
+
+    private static final Predicate<Throwable> ANY = throwable -> true;
+    private static final int STATE_SHIFT = 62;
+    private static final int FAILURES_SHIFT = 40;
+    private static final long FAILURES_MASK = MAX_FAILURE_THRESHOLD;
+    private static final long TIME_MASK = (1L << FAILURES_SHIFT) - 1;
+    private static final long CLOSED = 0;
+    private static final long OPEN = 1;
+    private static final long HALF_OPEN = 2;
+
+    private final int failureThreshold;
+    private final long windowMillis;
+    private final long openMillis;
+    private final Predicate<? super Throwable> recordable;
+    private final LongSupplier nanoTime;
+    private final long origin;
+    private final OpenException openException = new OpenException();
+    // state:2 | failures:22 | time:40 (milliseconds since the origin, window start in CLOSED, open time in OPEN/HALF_OPEN)
+    private final AtomicLong state = new AtomicLong();
+
+    /**
+     * Create breaker which counts any failure
+     * @param failureThreshold number of failures inside the window which opens the breaker
+     * @param window duration of the failure counting window
+     * @param openDuration duration of the open state before the probe call
+     */
+    public CircuitBreaker(int failureThreshold, @NonNull Duration window, @NonNull Duration openDuration) {
+        this(failureThreshold, window, openDuration, ANY);
+    }
+
+    /**
+     * Create breaker
+     * @param failureThreshold number of failures inside the window which opens the breaker
+     * @param window duration of the failure counting window
+     * @param openDuration duration of the open state before the probe call
+     * @param recordable predicate on the significant cause which selects failures to count
+     */
+    public CircuitBreaker(int failureThreshold, @NonNull Duration window, @NonNull Duration openDuration, @NonNull Predicate<? super Throwable> recordable) {
+        this(failureThreshold, window, openDuration, recordable, System::nanoTime);
+    }
+
+    CircuitBreaker(int failureThreshold, Duration window, Duration openDuration, Predicate<? super Throwable> recordable, LongSupplier nanoTime) {
+        if (failureThreshold < 1 || failureThreshold > MAX_FAILURE_THRESHOLD) {
+            throw new IllegalArgumentException("CircuitBreaker - failureThreshold has to be in range [1, " + MAX_FAILURE_THRESHOLD + "], but: " + failureThreshold);
+        }
+        Objects.requireNonNull(window, "CircuitBreaker - window is null");
+        Objects.requireNonNull(openDuration, "CircuitBreaker - openDuration is null");
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("CircuitBreaker - window has to be positive, but: " + window);
+        }
+        if (openDuration.isNegative()) {
+            throw new IllegalArgumentException("CircuitBreaker - openDuration has to be non negative, but: " + openDuration);
+        }
+        this.failureThreshold = failureThreshold;
+        this.windowMillis = window.toMillis();
+        this.openMillis = openDuration.toMillis();
+        this.recordable = Objects.requireNonNull(recordable, "CircuitBreaker - recordable is null");
+        this.nanoTime = nanoTime;
+        this.origin = nanoTime.getAsLong();
+    }
+
+    /**
+     * Current state of the breaker
+     * @return state
+     */
+    public @NonNull State state() {
+        long current = state.get();
+        if (state(current) == CLOSED) {
+            return State.CLOSED;
+        }
+        return state(current) == OPEN && now() - time(current) < openMillis ? State.OPEN : State.HALF_OPEN;
+    }
+
+    /**
+     * Number of failures counted in the current window of the closed state
+     * @return number of failures
+     */
+    public int failures() {
+        return failures(state.get());
+    }
+
+    /**
+     * Close the breaker and clear the failure count
+     */
+    public void reset() {
+        state.set(pack(CLOSED, 0, now()));
+    }
+
+    /**
+     * Call through the breaker
+     * @param call the Callable interface implementation
+     * @return result of the call
+     * @param <V> type of the result
+     */
+    public <V> V call(@NonNull Callable<V> call) {
+        Objects.requireNonNull(call, "CircuitBreaker::call - call is null");
+        long acquired = acquire();
+        V result;
+        try {
+            result = call.call();
+        } catch (Throwable throwable) { //NOSONAR java:S1181 Throwable and Error should not be caught
+            // any sneaky thrown throwable has to release the probe permit
+            failed(acquired, throwable);
+            return Exceptional.rethrow(throwable);
+        }
+        if (state(acquired) != CLOSED) {
+            succeeded(acquired);
+        }
+        return result;
+    }
+
+    /**
+     * Transform Callable to Supplier protected by the breaker with sneaky throw
+     * @param call the Callable interface implementation
+     * @return resulted Supplier
+     * @param <V> type of supplier/callable result
+     */
+    public <V> @NonNull Supplier<V> supplier(@NonNull Callable<V> call) {
+        Objects.requireNonNull(call, "CircuitBreaker::supplier - call is null");
+        return () -> call(call);
+    }
+
+    /**
+     * Transform Functional to Function protected by the breaker with sneaky throw
+     * @param functional the Functional interface implementation
+     * @return resulted Function
+     * @param <P> type of function parameter
+     * @param <R> type of function result
+     */
+    public <P, R> @NonNull Function<P, R> function(@NonNull Sneaky.Functional<P, R> functional) {
+        Objects.requireNonNull(functional, "CircuitBreaker::function - functional is null");
+        return parameter -> call(() -> functional.apply(parameter));
+    }
+
+    /**
+     * Transform Processable to Runnable protected by the breaker with sneaky throw
+     * @param processor the Processable interface implementation
+     * @return resulted Runnable
+     */
+    public @NonNull Runnable runnable(@NonNull Sneaky.Processable processor) {
+        Objects.requireNonNull(processor, "CircuitBreaker::runnable - processor is null");
+        return () -> call(() -> {
+            processor.process();
+            return null;
+        });
+    }
+
+    // Returns the state word observed (CLOSED) or installed (HALF_OPEN probe), throws OpenException otherwise.
+    // The time of HALF_OPEN is the start of the probe, the expired probe permit is taken over by the next call
+    private long acquire() {
+        long current = state.get();
+        while (state(current) != CLOSED) {
+            long now = now();
+            if (now - time(current) >= openMillis) {
+                long probe = pack(HALF_OPEN, 0, now);
+                if (state.compareAndSet(current, probe)) {
+                    return probe;
+                }
+                current = state.get();
+                continue;
+            }
+            throw openException;
+        }
+        return current;
+    }
+
+    private void failed(long acquired, Throwable throwable) {
+        boolean recorded = recordable.test(Exceptional.cause(throwable, true));
+        if (state(acquired) == HALF_OPEN) {
+            state.compareAndSet(acquired, recorded ? pack(OPEN, 0, now()) : pack(CLOSED, 0, now()));
+        } else if (recorded) {
+            record();
+        }
+    }
+
+    private void succeeded(long acquired) {
+        state.compareAndSet(acquired, pack(CLOSED, 0, now()));
+    }
+
+    private void record() {
+        long now = now();
+        for (;;) {
+            long current = state.get();
+            if (state(current) != CLOSED) {
+                return;
+            }
+            int failures = now - time(current) < windowMillis ? failures(current) + 1 : 1;
+            long windowStart = failures == 1 ? now : time(current);
+            long next = failures >= failureThreshold ? pack(OPEN, 0, now) : pack(CLOSED, failures, windowStart);
+            if (state.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    private long now() {
+        return ((nanoTime.getAsLong() - origin) / 1_000_000L) & TIME_MASK;
+    }
+
+    private static long pack(long state, long failures, long time) {
+        return (state << STATE_SHIFT) | (failures << FAILURES_SHIFT) | (time & TIME_MASK);
+    }
+
+    private static long state(long packed) {
+        return packed >>> STATE_SHIFT;
+    }
+
+    private static int failures(long packed) {
+        return (int) ((packed >>> FAILURES_SHIFT) & FAILURES_MASK);
+    }
+
+    private static long time(long packed) {
+        return packed & TIME_MASK;
+    }
+
+    /**
+     * Rejection of the call by the open breaker. The instance is shared by the breaker, it has no stack trace
+     */
+    public static final class OpenException extends StacklessException {
+
+        private static final long serialVersionUID = 4870391655273183540L;
+
+        private OpenException() {
+            super("CircuitBreaker is open");
+        }
+
+    }
+
+}
@@ -0,0 +1,253 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Lock-free collector of failures fed concurrently by many threads: the first failures are kept in full
+ * (a slot is claimed by one atomic increment), the rest are only counted per exception class,
+ * so the memory doesn't grow with the number of failures
+ */
+public final class ExceptionCollector implements Consumer<Throwable> {
+
+    /**
+     * Default number of failures kept in full
+     */
+    public static final int DEFAULT_MAX_KEPT = 16;
+
+    private final AtomicReferenceArray<Throwable> kept;
+    private final AtomicLong count = new AtomicLong();
+    private final Map<Class<?>, LongAdder> dropped = new ConcurrentHashMap<>();
+    private Aggregate built;
+    private long builtCount;
+    private int builtKept;
+    private Summary summaryException;
+
+    /**
+     * Create collector which keeps {@link #DEFAULT_MAX_KEPT} failures in full
+     */
+    public ExceptionCollector() {
+        this(DEFAULT_MAX_KEPT);
+    }
+
+    /**
+     * Create collector
+     * @param maxKept number of the first failures kept in full
+     */
+    public ExceptionCollector(int maxKept) {
+        if (maxKept < 1) {
+            throw new IllegalArgumentException("ExceptionCollector - maxKept has to be positive, but: " + maxKept);
+        }
+        this.kept = new AtomicReferenceArray<>(maxKept);
+    }
+
+    /**
+     * Collect the failure
+     * @param throwable failure
+     */
+    @Override
+    public void accept(@NonNull Throwable throwable) {
+        Objects.requireNonNull(throwable, "ExceptionCollector::accept - throwable is null");
+        long index = count.getAndIncrement();
+        if (index < kept.length()) {
+            kept.set((int) index, throwable);
+        } else {
+            dropped.computeIfAbsent(throwable.getClass(), ignored -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Transform Consumable to Consumer which collects failures instead of throwing them
+     * @param consumable the Consumable interface implementation
+     * @return resulted Consumer
+     * @param <P> type of consumer parameter
+     */
+    public <P> @NonNull Consumer<P> consumer(@NonNull Sneaky.Consumable<P> consumable) {
+        Objects.requireNonNull(consumable, "ExceptionCollector::consumer - consumable is null");
+        return parameter -> {
+            try {
+                consumable.consume(parameter);
+            } catch (Exception exception) {
+                accept(exception);
+            }
+        };
+    }
+
+    /**
+     * Total number of collected failures
+     * @return number of failures
+     */
+    public long count() {
+        return count.get();
+    }
+
+    /**
+     * Check there are no failures
+     * @return true if nothing is collected
+     */
+    public boolean isEmpty() {
+        return count.get() == 0;
+    }
+
+    /**
+     * Failures kept in full
+     * @return list of the first failures
+     */
+    public @NonNull List<Throwable> kept() {
+        List<Throwable> result = new ArrayList<>(kept.length());
+        for (int i = 0; i < kept.length(); i++) {
+            Throwable throwable = kept.get(i);
+            if (throwable != null) {
+                result.add(throwable);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Number of failures which are only counted, per exception class
+     * @return unmodifiable map of the exception class to the number of failures
+     */
+    @SuppressWarnings("unchecked")
+    public @NonNull Map<Class<? extends Throwable>, Long> dropped() {
+        Map<Class<? extends Throwable>, Long> result = new LinkedHashMap<>();
+        dropped.forEach((type, counter) -> result.put((Class<? extends Throwable>) type, counter.sum()));
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Single throwable of the collected failures: the stackless {@link Aggregate} caused by the first failure with the other
+     * kept failures attached as suppressed, the counted failures are attached as the single stackless summary.
+     * The aggregate is updated by the next calls, the collected failures are never changed.
+     * Only the published failures are used: a failure which has claimed the slot but isn't stored yet is attached by the next call
+     * @return throwable or empty if nothing is collected or published
+     */
+    public synchronized @NonNull Optional<Throwable> toThrowable() {
+        long current = count.get();
+        List<Throwable> failures = kept();
+        if (failures.isEmpty()) {
+            return Optional.empty();
+        }
+        if (built != null && builtCount == current && builtKept == failures.size()) {
+            return Optional.of(built);
+        }
+        if (built == null) {
+            built = new Aggregate(failures.get(0));
+        }
+        Throwable first = built.getCause();
+        Throwable[] suppressed = built.getSuppressed();
+        for (Throwable failure : failures) {
+            if (failure != first && !contains(suppressed, failure)) {
+                built.addSuppressed(failure);
+            }
+        }
+        if (current > kept.length()) {
+            String text = droppedSummary(current - kept.length());
+            if (summaryException == null) {
+                summaryException = new Summary(text);
+                built.addSuppressed(summaryException);
+            } else {
+                summaryException.text = text;
+            }
+        }
+        built.count = current;
+        this.builtCount = current;
+        this.builtKept = failures.size();
+        return Optional.of(built);
+    }
+
+    /**
+     * Sneaky throw the single throwable of the collected failures if there is any
+     * @see #toThrowable()
+     */
+    public void throwIfAny() {
+        toThrowable().ifPresent(Exceptional::sneakyThrow);
+    }
+
+    /**
+     * Text summary of the collected failures
+     * @return summary
+     */
+    public @NonNull String summary() {
+        long current = count.get();
+        StringBuilder summary = new StringBuilder().append(current).append(" failure(s)");
+        for (Throwable throwable : kept()) {
+            Exceptional.appendExceptionText(summary.append("\n\t"), throwable);
+        }
+        if (current > kept.length()) {
+            summary.append("\n\t").append(droppedSummary(current - kept.length()));
+        }
+        return summary.toString();
+    }
+
+    private String droppedSummary(long total) {
+        StringBuilder summary = new StringBuilder().append(total).append(" more failure(s):");
+        dropped().forEach((type, number) -> summary.append(' ').append(type.getName()).append(" x ").append(number).append(';'));
+        return summary.toString();
+    }
+
+    /**
+     * Stackless aggregate of the collected failures: the cause is the first failure, the other kept failures and the summary
+     * of the counted ones are suppressed. Suppression is enabled whatever the collected failures are (stackless and shared
+     * exceptions disable it), and as a RuntimeException it is unwrapped to the first failure by {@link Exceptional#cause(Throwable)}
+     */
+    public static final class Aggregate extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private volatile long count;
+
+        private Aggregate(Throwable first) {
+            super(null, first, true, false);
+        }
+
+        @Override
+        public String getMessage() {
+            return count + " failure(s)";
+        }
+
+    }
+
+    /**
+     * Stackless summary of the counted failures, the text is replaced on the rebuild
+     */
+    private static final class Summary extends StacklessException {
+
+        private static final long serialVersionUID = 1L;
+
+        private volatile String text;
+
+        private Summary(String text) {
+            super(null);
+            this.text = text;
+        }
+
+        @Override
+        public String getMessage() {
+            return text;
+        }
+
+    }
+
+    private static boolean contains(Throwable[] throwables, Throwable throwable) {
+        for (Throwable candidate : throwables) {
+            if (candidate == throwable) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Built-in {@link ExceptionListener} which counts exceptions per exception class.
+ * The counter of the class is found by the {@link ClassValue} and is a striped {@link LongAdder},
+ * so counting from many threads doesn't contend
+ */
+public final class ExceptionCounters implements ExceptionListener {
+
+    private final Map<Class<?>, LongAdder> counters = new ConcurrentHashMap<>();
+    private final ClassValue<LongAdder> cache = new ClassValue<>() {
+        @Override
+        protected LongAdder computeValue(Class<?> type) {
+            return counters.computeIfAbsent(type, ignored -> new LongAdder());
+        }
+    };
+
+    /**
+     * Create counters without counted exceptions
+     */
+    public ExceptionCounters() {
+        // counters are created on the first exception of the class
+    }
+
+    @Override
+    public void onException(@NonNull Throwable throwable) {
+        cache.get(throwable.getClass()).increment();
+    }
+
+    /**
+     * Number of counted exceptions of the class (subclasses are counted separately)
+     * @param type exception class
+     * @return number of exceptions
+     */
+    public long count(@NonNull Class<? extends Throwable> type) {
+        LongAdder counter = counters.get(type);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Snapshot of the counters
+     * @return unmodifiable map of the exception class to the number of exceptions
+     */
+    public @NonNull Map<Class<? extends Throwable>, Long> snapshot() {
+        return snapshot(false);
+    }
+
+    /**
+     * Snapshot of the counters with reset of the counted values
+     * @return unmodifiable map of the exception class to the number of exceptions since the previous reset
+     */
+    public @NonNull Map<Class<? extends Throwable>, Long> snapshotAndReset() {
+        return snapshot(true);
+    }
+
+    /**
+     * Reset the counters
+     */
+    public void reset() {
+        counters.values().forEach(LongAdder::reset);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Class<? extends Throwable>, Long> snapshot(boolean reset) {
+        Map<Class<? extends Throwable>, Long> snapshot = new HashMap<>();
+        counters.forEach((type, counter) -> {
+            long count = reset ? counter.sumThenReset() : counter.sum();
+            if (count > 0) {
+                snapshot.put((Class<? extends Throwable>) type, count);
+            }
+        });
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Bounded concurrent deduplication of exceptions by {@link Exceptional#fingerprint(Throwable, int)}:
+ * only the first occurrence of the fingerprint per window is emitted, repeats are counted.
+ * The number of fingerprints is bounded by the eviction in the insertion order
+ */
+public final class ExceptionDeduplicator implements Predicate<Throwable> {
+
+    /**
+     * Returned by {@link #register(Throwable)} for the repeat inside the window
+     */
+    public static final long REPEAT = -1;
+
+    private final int capacity;
+    private final long windowNanos;
+    private final int frames;
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Long> order = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger ordered = new AtomicInteger();
+
+    /**
+     * Create deduplicator with fingerprints of {@link Exceptional#DEFAULT_FINGERPRINT_FRAMES} frames
+     * @param capacity max number of tracked fingerprints
+     * @param window deduplication window
+     */
+    public ExceptionDeduplicator(int capacity, @NonNull Duration window) {
+        this(capacity, window, Exceptional.DEFAULT_FINGERPRINT_FRAMES);
+    }
+
+    /**
+     * Create deduplicator
+     * @param capacity max number of tracked fingerprints
+     * @param window deduplication window
+     * @param frames number of top frames in the fingerprint
+     */
+    public ExceptionDeduplicator(int capacity, @NonNull Duration window, int frames) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("ExceptionDeduplicator - capacity has to be positive, but: " + capacity);
+        }
+        Objects.requireNonNull(window, "ExceptionDeduplicator - window is null");
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("ExceptionDeduplicator - window has to be positive, but: " + window);
+        }
+        if (frames < 0) {
+            throw new IllegalArgumentException("ExceptionDeduplicator - frames has to be non negative, but: " + frames);
+        }
+        this.capacity = capacity;
+        this.windowNanos = window.toNanos();
+        this.frames = frames;
+    }
+
+    /**
+     * Register the occurrence of the exception
+     * @param throwable exception
+     * @return {@link #REPEAT} if the exception is a repeat inside the window and has to be dropped,
+     *         otherwise the number of repeats dropped in the previous window of the fingerprint (0 for the new one)
+     */
+    public long register(@NonNull Throwable throwable) {
+        Long fingerprint = Exceptional.fingerprint(throwable, frames);
+        long now = System.nanoTime();
+        Entry entry = entries.get(fingerprint);
+        if (entry == null) {
+            Entry created = new Entry(now);
+            entry = entries.putIfAbsent(fingerprint, created);
+            if (entry == null) {
+                evict(fingerprint);
+                return 0;
+            }
+        }
+        for (;;) {
+            long start = entry.windowStart.get();
+            if (now - start < windowNanos) {
+                entry.repeats.increment();
+                return REPEAT;
+            }
+            if (entry.windowStart.compareAndSet(start, now)) {
+                return entry.repeats.sumThenReset();
+            }
+        }
+    }
+
+    /**
+     * Check the exception has to be emitted
+     * @param throwable exception
+     * @return true for the first occurrence of the fingerprint in the window
+     */
+    @Override
+    public boolean test(@NonNull Throwable throwable) {
+        return register(throwable) != REPEAT;
+    }
+
+    /**
+     * Number of repeats of the exception fingerprint in the current window
+     * @param throwable exception
+     * @return number of dropped repeats
+     */
+    public long repeats(@NonNull Throwable throwable) {
+        Entry entry = entries.get(Exceptional.fingerprint(throwable, frames));
+        return entry == null ? 0 : entry.repeats.sum();
+    }
+
+    /**
+     * Number of tracked fingerprints
+     * @return size
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Max number of tracked fingerprints
+     * @return capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    private void evict(Long inserted) {
+        order.offer(inserted);
+        if (ordered.incrementAndGet() > capacity) {
+            Long eldest;
+            while (ordered.get() > capacity && (eldest = order.poll()) != null) {
+                ordered.decrementAndGet();
+                entries.remove(eldest);
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final AtomicLong windowStart;
+        private final LongAdder repeats = new LongAdder();
+
+        private Entry(long windowStart) {
+            this.windowStart = new AtomicLong(windowStart);
+        }
+
+    }
+
+}
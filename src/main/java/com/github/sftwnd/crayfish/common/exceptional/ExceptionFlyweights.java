@@ -0,0 +1,167 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of prebuilt exception instances keyed by exception class and message.
+ * Intended for stackless exceptions ({@link StacklessException}, {@link StacklessCheckedException}) which are
+ * immutable and could be shared between threads. When the capacity is reached new instances are created without caching
+ */
+public final class ExceptionFlyweights {
+
+    /**
+     * Default max number of cached instances
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final ExceptionFlyweights GLOBAL = new ExceptionFlyweights(DEFAULT_CAPACITY);
+
+    private final int capacity;
+    private final AtomicInteger size = new AtomicInteger();
+    private final ClassValue<Instances> instances = new ClassValue<>() {
+        @Override
+        protected Instances computeValue(Class<?> type) {
+            return new Instances();
+        }
+    };
+
+    /**
+     * Create flyweight cache
+     * @param capacity max number of cached instances
+     */
+    public ExceptionFlyweights(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("ExceptionFlyweights::new - capacity has to be non negative, but: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Shared flyweight cache
+     * @return global flyweight cache
+     */
+    public static @NonNull ExceptionFlyweights global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Get prebuilt instance created by the public (String) constructor of the type
+     * @param type exception type
+     * @param message exception message
+     * @return cached or new exception instance
+     * @param <T> exception type
+     */
+    public <T extends Throwable> @NonNull T get(@NonNull Class<T> type, @Nullable String message) {
+        return get(type, message, null);
+    }
+
+    /**
+     * Get prebuilt instance created by the factory
+     * @param type exception type
+     * @param message exception message
+     * @param factory exception factory, if null the public (String) constructor of the type is used
+     * @return cached or new exception instance
+     * @param <T> exception type
+     */
+    public <T extends Throwable> @NonNull T get(@NonNull Class<T> type, @Nullable String message, @Nullable Function<String, ? extends T> factory) {
+        Instances cached = instances.get(Objects.requireNonNull(type, "ExceptionFlyweights::get - type is null"));
+        Throwable result = message == null ? cached.nullMessage : cached.messages.get(message);
+        if (result == null) {
+            result = cached.put(this, message, factory == null ? construct(type, message) : factory.apply(message));
+        }
+        return type.cast(result);
+    }
+
+    /**
+     * Number of cached instances
+     * @return size of the cache
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Max number of cached instances
+     * @return capacity of the cache
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    // the slot is taken before the instance is published, so concurrent callers never exceed the capacity
+    private boolean reserve() {
+        for (int current = size.get(); current < capacity; current = size.get()) {
+            if (size.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void release() {
+        size.decrementAndGet();
+    }
+
+    private static <T extends Throwable> T construct(Class<T> type, String message) {
+        try {
+            return type.cast(CONSTRUCTORS.get(type).invoke(message));
+        } catch (Throwable throwable) { //NOSONAR java:S1181 Throwable and Error should not be caught
+            return Exceptional.rethrow(throwable);
+        }
+    }
+
+    private static final ClassValue<MethodHandle> CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            try {
+                return MethodHandles.publicLookup().findConstructor(type, MethodType.methodType(void.class, String.class));
+            } catch (NoSuchMethodException | IllegalAccessException exception) {
+                throw new IllegalArgumentException("ExceptionFlyweights - there is no public (String) constructor in " + type.getName(), exception);
+            }
+        }
+    };
+
+    // static: the value of the ClassValue must not reference the owner, otherwise the owner and the classes leak
+    private static final class Instances {
+
+        private final ConcurrentMap<String, Throwable> messages = new ConcurrentHashMap<>();
+        private volatile Throwable nullMessage;
+
+        private Throwable put(ExceptionFlyweights owner, String message, Throwable throwable) {
+            Objects.requireNonNull(throwable, "ExceptionFlyweights::get - factory result is null");
+            if (message == null) {
+                synchronized (this) {
+                    if (nullMessage == null && owner.reserve()) {
+                        nullMessage = throwable;
+                    }
+                    return nullMessage == null ? throwable : nullMessage;
+                }
+            }
+            Throwable previous = messages.get(message);
+            if (previous != null) {
+                return previous;
+            }
+            if (!owner.reserve()) {
+                return throwable;
+            }
+            previous = messages.putIfAbsent(message, throwable);
+            if (previous != null) {
+                owner.release();
+                return previous;
+            }
+            return throwable;
+        }
+
+    }
+
+}
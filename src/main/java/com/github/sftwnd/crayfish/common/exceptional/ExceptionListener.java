@@ -0,0 +1,19 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Hook notified on each exception thrown through {@link Exceptional#rethrow(Throwable)},
+ * {@link Exceptional#sneakyThrow(Throwable)}, {@link Exceptional#rethrowUnchecked(Throwable)}
+ * and so on each failure of the Sneaky wrappers. Listeners are installed by {@link ExceptionListeners#add(ExceptionListener)}
+ */
+@FunctionalInterface
+public interface ExceptionListener {
+
+    /**
+     * Called in the throwing thread just before the throw. Exceptions of the listener are ignored
+     * @param throwable exception to be thrown
+     */
+    void onException(@NonNull Throwable throwable);
+
+}
@@ -0,0 +1,101 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.SwitchPoint;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Registry of the installed {@link ExceptionListener}s.
+ * Until the first listener is installed the notification is a static final method handle guarded by the {@link SwitchPoint}:
+ * JIT folds it to nothing. The first installation invalidates the switch point once, after that the notification
+ * is a volatile read of the listeners array
+ */
+public final class ExceptionListeners {
+
+    private static final SwitchPoint NO_LISTENERS = new SwitchPoint();
+    private static final MethodHandle FIRE;
+    private static final ExceptionListener[] EMPTY = new ExceptionListener[0];
+    private static volatile ExceptionListener[] listeners = EMPTY;
+
+    static {
+        MethodType type = MethodType.methodType(void.class, Throwable.class);
+        try {
+            FIRE = NO_LISTENERS.guardWithTest(
+                    MethodHandles.empty(type),
+                    MethodHandles.lookup().findStatic(ExceptionListeners.class, "dispatch", type));
+        } catch (NoSuchMethodException | IllegalAccessException exception) {
+            throw new ExceptionInInitializerError(exception);
+        }
+    }
+
+    /**
+     * Install the listener
+     * @param listener the ExceptionListener interface implementation
+     */
+    public static synchronized void add(@NonNull ExceptionListener listener) {
+        Objects.requireNonNull(listener, "ExceptionListeners::add - listener is null");
+        ExceptionListener[] current = listeners;
+        ExceptionListener[] next = Arrays.copyOf(current, current.length + 1);
+        next[current.length] = listener;
+        listeners = next;
+        if (!NO_LISTENERS.hasBeenInvalidated()) {
+            SwitchPoint.invalidateAll(new SwitchPoint[] { NO_LISTENERS });
+        }
+    }
+
+    /**
+     * Uninstall the listener
+     * @param listener the installed listener
+     * @return true if the listener was installed
+     */
+    public static synchronized boolean remove(@NonNull ExceptionListener listener) {
+        Objects.requireNonNull(listener, "ExceptionListeners::remove - listener is null");
+        ExceptionListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                ExceptionListener[] next = new ExceptionListener[current.length - 1];
+                System.arraycopy(current, 0, next, 0, i);
+                System.arraycopy(current, i + 1, next, i, next.length - i);
+                listeners = next;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check there is any installed listener
+     * @return true if there is a listener
+     */
+    public static boolean isActive() {
+        return listeners.length > 0;
+    }
+
+    static void fire(Throwable throwable) {
+        try {
+            FIRE.invokeExact(throwable);
+        } catch (Throwable ignored) { //NOSONAR java:S1181 dispatch doesn't throw, invokeExact declares Throwable
+            // listeners can't break the throw
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static void dispatch(Throwable throwable) {
+        for (ExceptionListener listener : listeners) {
+            try {
+                listener.onException(throwable);
+            } catch (RuntimeException ignored) {
+                // listeners can't break the throw
+            }
+        }
+    }
+
+    private ExceptionListeners() {
+    }
+
+}
@@ -0,0 +1,374 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Asynchronous sink of failures: hot threads hand failures over in O(1) through the lock-free bounded
+ * multi-producer single-consumer ring buffer, the single background daemon thread renders their text,
+ * collects the available failures into batches and delivers them to the {@link Reporter}.
+ * Overflow of the buffer is handled by the {@link OverflowPolicy}, counters expose the backpressure
+ */
+public final class ExceptionSink implements AutoCloseable {
+
+    /**
+     * Behaviour of {@link #publish(Throwable)} on the full buffer
+     */
+    public enum OverflowPolicy {
+        /** the published failure is dropped and counted */
+        DROP,
+        /** the publishing thread waits for the free slot */
+        BLOCK
+    }
+
+    /**
+     * Receiver of the batches of rendered failures, called in the sink thread
+     */
+    @FunctionalInterface
+    public interface Reporter {
+        /**
+         * Deliver the batch
+         * @param batch failures in the order of publication
+         * @throws Exception on delivery failure, the batch is counted as failed
+         */
+        void report(@NonNull List<Report> batch) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
+
+    /**
+     * Failure published to the sink with its rendered text
+     */
+    public static final class Report {
+
+        private final Throwable throwable;
+        private final String threadName;
+        private final long timeMillis;
+        private CharSequence text;
+
+        private Report(Throwable throwable, String threadName, long timeMillis) {
+            this.throwable = throwable;
+            this.threadName = threadName;
+            this.timeMillis = timeMillis;
+        }
+
+        /**
+         * Published failure
+         * @return throwable
+         */
+        public @NonNull Throwable throwable() {
+            return throwable;
+        }
+
+        /**
+         * Name of the publishing thread
+         * @return thread name
+         */
+        public @NonNull String threadName() {
+            return threadName;
+        }
+
+        /**
+         * Time of the publication
+         * @return milliseconds since the epoch
+         */
+        public long timeMillis() {
+            return timeMillis;
+        }
+
+        /**
+         * Text rendered in the sink thread
+         * @return text of the failure
+         */
+        public @NonNull CharSequence text() {
+            return text;
+        }
+
+    }
+
+    /**
+     * Default max number of failures in the batch
+     */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final int mask;
+    private final AtomicReferenceArray<Report> buffer;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final int batchSize;
+    private final OverflowPolicy policy;
+    private final Function<? super Throwable, ? extends CharSequence> renderer;
+    private final Reporter reporter;
+    private final Thread consumer;
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private volatile boolean sleeping;
+    private volatile boolean closed;
+    private long head;
+
+    /**
+     * Create sink which drops failures on overflow and renders them by {@link Exceptional#exceptionText(Throwable)}
+     * @param capacity capacity of the buffer, rounded up to the power of 2 (at least 2)
+     * @param reporter receiver of the batches
+     */
+    public ExceptionSink(int capacity, @NonNull Reporter reporter) {
+        this(capacity, DEFAULT_BATCH_SIZE, OverflowPolicy.DROP, Exceptional::exceptionText, reporter);
+    }
+
+    /**
+     * Create sink
+     * @param capacity capacity of the buffer, rounded up to the power of 2 (at least 2)
+     * @param batchSize max number of failures in the batch
+     * @param policy behaviour of the publication on the full buffer
+     * @param renderer renderer of the failure text, called in the sink thread
+     * @param reporter receiver of the batches
+     */
+    public ExceptionSink(int capacity, int batchSize, @NonNull OverflowPolicy policy,
+                         @NonNull Function<? super Throwable, ? extends CharSequence> renderer, @NonNull Reporter reporter) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("ExceptionSink - capacity has to be in range [1, 2^30], but: " + capacity);
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("ExceptionSink - batchSize has to be positive, but: " + batchSize);
+        }
+        // at least 2 slots: with the single slot the published and the free sequences of the neighbour positions are equal
+        int size = Math.max(2, Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1);
+        this.mask = size - 1;
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.batchSize = batchSize;
+        this.policy = Objects.requireNonNull(policy, "ExceptionSink - policy is null");
+        this.renderer = Objects.requireNonNull(renderer, "ExceptionSink - renderer is null");
+        this.reporter = Objects.requireNonNull(reporter, "ExceptionSink - reporter is null");
+        this.consumer = new Thread(this::consume, "exception-sink-" + COUNTER.incrementAndGet());
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    /**
+     * Hand the failure over to the sink
+     * @param throwable failure
+     * @return true if the failure is accepted, false if it is dropped on overflow or after close
+     */
+    public boolean publish(@NonNull Throwable throwable) {
+        Objects.requireNonNull(throwable, "ExceptionSink::publish - throwable is null");
+        Report report = new Report(throwable, Thread.currentThread().getName(), System.currentTimeMillis());
+        boolean waited = false;
+        while (!closed) {
+            if (offer(report)) {
+                published.increment();
+                if (sleeping) {
+                    LockSupport.unpark(consumer);
+                }
+                return true;
+            }
+            if (policy == OverflowPolicy.DROP) {
+                break;
+            }
+            // nobody frees the slot after the sink thread is gone
+            if (!consumer.isAlive()) {
+                break;
+            }
+            if (!waited) {
+                waited = true;
+                blocked.increment();
+            }
+            LockSupport.unpark(consumer);
+            LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+        }
+        dropped.increment();
+        return false;
+    }
+
+    /**
+     * Number of failures accepted by the sink
+     * @return published failures
+     */
+    public long published() {
+        return published.sum();
+    }
+
+    /**
+     * Number of failures dropped on overflow or after close
+     * @return dropped failures
+     */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Number of publications which waited for the free slot with {@link OverflowPolicy#BLOCK}
+     * @return blocked publications
+     */
+    public long blocked() {
+        return blocked.sum();
+    }
+
+    /**
+     * Number of failures delivered to the reporter (including the failed batches)
+     * @return delivered failures
+     */
+    public long delivered() {
+        return delivered.get();
+    }
+
+    /**
+     * Number of batches delivered to the reporter
+     * @return batches
+     */
+    public long batches() {
+        return batches.get();
+    }
+
+    /**
+     * Number of batches the reporter failed on
+     * @return failed batches
+     */
+    public long failedBatches() {
+        return failedBatches.get();
+    }
+
+    /**
+     * Approximate number of failures waiting in the buffer
+     * @return pending failures
+     */
+    public long pending() {
+        return Math.max(0, published.sum() - delivered.get());
+    }
+
+    /**
+     * Stop accepting failures, deliver the buffered ones and stop the sink thread.
+     * A failure published concurrently with the close could be lost
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(consumer);
+        if (Thread.currentThread() != consumer) {
+            boolean interrupted = false;
+            while (consumer.isAlive()) {
+                try {
+                    consumer.join();
+                } catch (InterruptedException exception) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private boolean offer(Report report) {
+        long position = tail.get();
+        for (;;) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    buffer.set(index, report);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    private Report poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        Report report = buffer.get(index);
+        buffer.set(index, null);
+        sequences.set(index, head + mask + 1);
+        head++;
+        return report;
+    }
+
+    private boolean isEmpty() {
+        return sequences.get((int) (head & mask)) != head + 1;
+    }
+
+    private void consume() {
+        try {
+            consumeAll();
+        } finally {
+            // the sink thread which is gone for any reason stops the publication
+            closed = true;
+        }
+    }
+
+    private void consumeAll() {
+        List<Report> batch = new ArrayList<>(batchSize);
+        for (;;) {
+            Report report = poll();
+            if (report != null) {
+                report.text = render(report.throwable);
+                batch.add(report);
+                if (batch.size() >= batchSize) {
+                    batch = deliver(batch);
+                }
+                continue;
+            }
+            if (!batch.isEmpty()) {
+                batch = deliver(batch);
+            }
+            // the publication after close is rejected, the buffer can't be refilled once it is empty
+            if (closed && isEmpty() && tail.get() == head) {
+                return;
+            }
+            sleeping = true;
+            if (isEmpty() && !closed) {
+                LockSupport.park(this);
+            }
+            sleeping = false;
+        }
+    }
+
+    private CharSequence render(Throwable throwable) {
+        try {
+            return renderer.apply(throwable);
+        } catch (Throwable exception) { //NOSONAR java:S1181 Throwable and Error should not be caught
+            // the renderer could be the Sneaky wrapper, nothing thrown by it stops the sink thread
+            return throwable.toString();
+        }
+    }
+
+    private List<Report> deliver(List<Report> batch) {
+        try {
+            reporter.report(Collections.unmodifiableList(batch));
+        } catch (Throwable exception) { //NOSONAR java:S1181 Throwable and Error should not be caught
+            failedBatches.incrementAndGet();
+        }
+        delivered.addAndGet(batch.size());
+        batches.incrementAndGet();
+        return new ArrayList<>(batchSize);
+    }
+
+}
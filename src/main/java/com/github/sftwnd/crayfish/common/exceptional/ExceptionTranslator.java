@@ -0,0 +1,110 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of translations of exceptions to domain exceptions used by Sneaky wrappers on the way out.
+ * The translation is taken from the rule registered for the nearest class of the exception hierarchy, the rule lookup
+ * is cached per exception class, so the translation costs one lookup instead of a chain of instanceof checks.
+ * Exceptions without a rule are passed as is. By default IOException is translated to UncheckedIOException
+ */
+public final class ExceptionTranslator {
+
+    private static final Translation<Throwable> KEEP = throwable -> throwable;
+
+    private final Map<Class<? extends Throwable>, Translation<? super Throwable>> rules = new ConcurrentHashMap<>();
+    private volatile ClassValue<Translation<? super Throwable>> cache = newCache();
+
+    /**
+     * Create translator with the default rules
+     */
+    public ExceptionTranslator() {
+        register(IOException.class, UncheckedIOException::new);
+    }
+
+    /**
+     * Register translation for the exception type and its subclasses without own rules
+     * @param type exception type
+     * @param translation rule to make the domain exception
+     * @return this translator
+     * @param <T> exception type
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Throwable> @NonNull ExceptionTranslator register(@NonNull Class<T> type, @NonNull Translation<? super T> translation) {
+        Objects.requireNonNull(type, "ExceptionTranslator::register - type is null");
+        Objects.requireNonNull(translation, "ExceptionTranslator::register - translation is null");
+        rules.put(type, (Translation<? super Throwable>) translation);
+        cache = newCache();
+        return this;
+    }
+
+    /**
+     * Keep the exception type and its subclasses without own rules as is
+     * @param type exception type
+     * @return this translator
+     */
+    public @NonNull ExceptionTranslator keep(@NonNull Class<? extends Throwable> type) {
+        return register(type, KEEP);
+    }
+
+    /**
+     * Translate the exception
+     * @param throwable exception
+     * @return translated exception or the exception itself if there is no rule for it
+     */
+    public @NonNull Throwable translate(@NonNull Throwable throwable) {
+        Translation<? super Throwable> translation = cache.get(throwable.getClass());
+        if (translation == KEEP) {
+            return throwable;
+        }
+        Throwable translated = translation.translate(throwable);
+        return translated == null ? throwable : translated;
+    }
+
+    /**
+     * Translate the exception and sneaky throw the result
+     * @param throwable exception
+     * @return never returns, declared to be used as {@code return translator.rethrow(exception)}
+     * @param <R> type of the expected result
+     */
+    public <R> R rethrow(@NonNull Throwable throwable) {
+        return Exceptional.rethrow(translate(throwable));
+    }
+
+    private ClassValue<Translation<? super Throwable>> newCache() {
+        return new ClassValue<>() {
+            @Override
+            protected Translation<? super Throwable> computeValue(Class<?> type) {
+                for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                    Translation<? super Throwable> translation = rules.get(current);
+                    if (translation != null) {
+                        return translation;
+                    }
+                }
+                return KEEP;
+            }
+        };
+    }
+
+    /**
+     * Rule to make the domain exception
+     * @param <T> source exception type
+     */
+    @FunctionalInterface
+    public interface Translation<T extends Throwable> {
+        /**
+         * Make the domain exception
+         * @param throwable source exception
+         * @return domain exception or null to pass the source one
+         */
+        @Nullable Throwable translate(@NonNull T throwable);
+    }
+
+}
@@ -3,9 +3,8 @@ package com.github.sftwnd.crayfish.common.exceptional;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 
+import java.io.IOException;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 /**
@@ -14,7 +13,8 @@ import java.util.function.Supplier;
 public class Exceptional {
 
     /**
-     * A function with an expected result of a given type that always throws the passed exception
+     * A function with an expected result of a given type that always throws the passed exception.
+     * Installed {@link ExceptionListener}s are notified before the throw
      * @param throwable throwable exception
      * @return never return value (always throws exception)
      * @param <R> result type
@@ -23,7 +23,9 @@ public class Exceptional {
      */
     @SuppressWarnings("unchecked")
     public static <R, T extends Throwable> R rethrow(@NonNull Throwable throwable) throws T {
-        throw (T) Objects.requireNonNull(throwable, "Exceptional::sneakyThrow - exception is null");
+        ExceptionListeners.fire(Objects.requireNonNull(throwable, "Exceptional::sneakyThrow - exception is null"));
+        SneakyEvents.rethrow(throwable);
+        throw (T) throwable;
     }
 
     /**
@@ -34,6 +36,24 @@ public class Exceptional {
         rethrow(throwable);
     }
 
+    /**
+     * A function with an expected result of a given type that always throws unchecked exception:
+     * RuntimeException and Error are thrown as is, checked exceptions are wrapped into the stackless {@link CarrierException}
+     * @param throwable throwable exception
+     * @return never return value (always throws exception)
+     * @param <R> result type
+     */
+    public static <R> R rethrowUnchecked(@NonNull Throwable throwable) {
+        ExceptionListeners.fire(Objects.requireNonNull(throwable, "Exceptional::rethrowUnchecked - exception is null"));
+        SneakyEvents.rethrow(throwable);
+        if (throwable instanceof RuntimeException) {
+            throw (RuntimeException) throwable;
+        } else if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+        throw new CarrierException(throwable);
+    }
+
     /**
      * Rethrow if throwable is instance of InterruptedException or ignore in any other case
      * @param throwable exception to process
@@ -46,8 +66,8 @@ public class Exceptional {
     }
 
     /**
-     * Getting a significant cause from a Runtime Exception
-     * @param throwable An exception that could be a Runtime Exception
+     * Getting a significant cause from a wrapper (Runtime, Execution, InvocationTarget...) Exception
+     * @param throwable An exception that could be a wrapper Exception
      * @return significant cause
      */
     public static @NonNull Throwable cause(@NonNull Throwable throwable) {
@@ -55,20 +75,17 @@ public class Exceptional {
     }
 
     /**
-     * Getting a significant cause from a Runtime Exception
-     * @param throwable An exception that could be a Runtime Exception
-     * @param useLastRuntimeCause if there are no non-Runtime exceptions, then take the last one
+     * Getting a significant cause from a wrapper (Runtime, Execution, InvocationTarget...) Exception.
+     * Unwrap rules, depth bound and cycle detection are provided by {@link CauseResolver#global()}
+     * @param throwable An exception that could be a wrapper Exception
+     * @param useLastRuntimeCause if there are no non-wrapper exceptions, then take the last one
      * @return significant cause
      */
     public static @NonNull Throwable cause(@NonNull Throwable throwable, boolean useLastRuntimeCause) {
-        Throwable result = throwable;
-        while(result instanceof RuntimeException) {
-            if (result.getCause() == null && useLastRuntimeCause) {
-                return result;
-            }
-            result = result.getCause();
-        }
-        return Optional.ofNullable(result).orElse(throwable);
+        long start = SneakyEvents.start();
+        Throwable cause = CauseResolver.global().resolve(throwable, useLastRuntimeCause);
+        SneakyEvents.unwrap(throwable, cause, start);
+        return cause;
     }
 
     /**
@@ -87,13 +104,148 @@ public class Exceptional {
      * @return exception text representation
      */
     public static @NonNull String exceptionText(@NonNull Throwable throwable, @Nullable Supplier<String> onNull) {
-        return Optional.ofNullable(throwable.getLocalizedMessage())
-                .filter(Predicate.not(String::isBlank))
-                .orElseGet(() -> Optional.ofNullable(throwable.getMessage())
-                        .filter(Predicate.not(String::isBlank))
-                        .orElseGet(() -> Optional.ofNullable(onNull).map(Supplier::get).orElseGet(throwable::toString)));
+        String text = message(throwable);
+        if (text == null && onNull != null) {
+            text = onNull.get();
+        }
+        return text == null ? throwable.toString() : text;
+    }
+
+    /**
+     * Textual representation of Exception message text without copying the message
+     * @param throwable source exception
+     * @param onNull Supplier to make text on null
+     * @return exception text representation
+     */
+    public static @NonNull CharSequence exceptionCharSequence(@NonNull Throwable throwable, @Nullable Supplier<? extends CharSequence> onNull) {
+        CharSequence text = message(throwable);
+        if (text == null && onNull != null) {
+            text = onNull.get();
+        }
+        return text == null ? throwable.toString() : text;
+    }
+
+    /**
+     * Append textual representation of Exception message text to the sink
+     * @param appendable target sink
+     * @param throwable source exception
+     * @return the passed sink
+     * @param <A> sink type
+     */
+    public static <A extends Appendable> @NonNull A appendExceptionText(@NonNull A appendable, @NonNull Throwable throwable) {
+        return appendExceptionText(appendable, throwable, null);
+    }
+
+    /**
+     * Append textual representation of Exception message text to the sink without intermediate objects.
+     * IOException of the sink is sneaky thrown
+     * @param appendable target sink
+     * @param throwable source exception
+     * @param onNull Supplier to make text on null
+     * @return the passed sink
+     * @param <A> sink type
+     */
+    public static <A extends Appendable> @NonNull A appendExceptionText(@NonNull A appendable, @NonNull Throwable throwable, @Nullable Supplier<? extends CharSequence> onNull) {
+        try {
+            CharSequence text = message(throwable);
+            if (text == null && onNull != null) {
+                text = onNull.get();
+            }
+            if (text != null) {
+                appendable.append(text);
+            } else if (Boolean.TRUE.equals(DEFAULT_TO_STRING.get(throwable.getClass()))) {
+                // Same output as Throwable.toString() without building the String
+                appendable.append(throwable.getClass().getName());
+                String localizedMessage = throwable.getLocalizedMessage();
+                if (localizedMessage != null) {
+                    appendable.append(": ").append(localizedMessage);
+                }
+            } else {
+                appendable.append(throwable.toString());
+            }
+            return appendable;
+        } catch (IOException ioException) {
+            return rethrow(ioException);
+        }
     }
 
+    /**
+     * Default number of top frames used by {@link #fingerprint(Throwable)}
+     */
+    public static final int DEFAULT_FINGERPRINT_FRAMES = 8;
+
+    /**
+     * Stable 64-bit fingerprint of the exception: class of the exception, class of the significant cause
+     * and top {@link #DEFAULT_FINGERPRINT_FRAMES} frames of the significant cause
+     * @param throwable exception
+     * @return fingerprint
+     */
+    public static long fingerprint(@NonNull Throwable throwable) {
+        return fingerprint(throwable, DEFAULT_FINGERPRINT_FRAMES);
+    }
+
+    /**
+     * Stable 64-bit fingerprint of the exception: class of the exception, class of the significant cause
+     * and top frames (class, method, line) of the significant cause (of the exception if the cause is stackless).
+     * Only names and line numbers are hashed, so the fingerprint is the same across runs of the same build
+     * @param throwable exception
+     * @param frames number of top frames to hash
+     * @return fingerprint
+     */
+    public static long fingerprint(@NonNull Throwable throwable, int frames) {
+        Objects.requireNonNull(throwable, "Exceptional::fingerprint - throwable is null");
+        if (frames < 0) {
+            throw new IllegalArgumentException("Exceptional::fingerprint - frames has to be non negative, but: " + frames);
+        }
+        Throwable cause = cause(throwable, true);
+        long hash = mix(mix(FINGERPRINT_SEED, throwable.getClass().getName().hashCode()), cause.getClass().getName().hashCode());
+        if (frames > 0) {
+            StackTraceElement[] trace = cause.getStackTrace();
+            if (trace.length == 0 && cause != throwable) {
+                trace = throwable.getStackTrace();
+            }
+            for (int i = 0, length = Math.min(frames, trace.length); i < length; i++) {
+                StackTraceElement element = trace[i];
+                hash = mix(hash, element.getClassName().hashCode());
+                hash = mix(hash, element.getMethodName().hashCode());
+                hash = mix(hash, element.getLineNumber());
+            }
+        }
+        // murmur3 finalizer
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private static final long FINGERPRINT_SEED = 0x6a09e667f3bcc909L;
+
+    private static long mix(long hash, int value) {
+        long mixed = (hash + (value & 0xffffffffL)) * 0x9e3779b97f4a7c15L;
+        return mixed ^ (mixed >>> 29);
+    }
+
+    private static @Nullable String message(@NonNull Throwable throwable) {
+        String message = throwable.getLocalizedMessage();
+        if (message == null || message.isBlank()) {
+            message = throwable.getMessage();
+            if (message == null || message.isBlank()) {
+                return null;
+            }
+        }
+        return message;
+    }
+
+    private static final ClassValue<Boolean> DEFAULT_TO_STRING = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("toString").getDeclaringClass() == Throwable.class;
+            } catch (NoSuchMethodException | SecurityException exception) {
+                return Boolean.FALSE;
+            }
+        }
+    };
+
     private Exceptional() {
     }
 
@@ -0,0 +1,133 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Implementation of the Sneaky fan-out helpers: run tasks concurrently, cancel siblings on the first failure
+ * (invokeAll) or on the first success (invokeAny)
+ */
+final class FanOut {
+
+    static <V> List<V> invokeAll(Collection<? extends Callable<? extends V>> tasks, Executor executor) {
+        BlockingQueue<Task<V>> completions = new LinkedBlockingQueue<>();
+        List<Task<V>> futures = submit(tasks, executor, completions);
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                completions.take().get();
+            }
+            List<V> result = new ArrayList<>(futures.size());
+            for (Task<V> future : futures) {
+                result.add(future.get());
+            }
+            return result;
+        } catch (ExecutionException executionException) {
+            cancel(futures);
+            return Exceptional.rethrow(Exceptional.cause(executionException, true));
+        } catch (CancellationException cancellationException) {
+            cancel(futures);
+            throw cancellationException;
+        } catch (InterruptedException interruptedException) {
+            cancel(futures);
+            Exceptional.reInterrupt(interruptedException);
+            return Exceptional.rethrow(interruptedException);
+        }
+    }
+
+    static <V> V invokeAny(Collection<? extends Callable<? extends V>> tasks, Executor executor) {
+        if (tasks.isEmpty()) {
+            throw new IllegalArgumentException("Sneaky::invokeAny - tasks are empty");
+        }
+        BlockingQueue<Task<V>> completions = new LinkedBlockingQueue<>();
+        List<Task<V>> futures = submit(tasks, executor, completions);
+        Throwable failure = null;
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                Task<V> completed = completions.take();
+                try {
+                    V result = completed.get();
+                    cancel(futures);
+                    return result;
+                } catch (CancellationException | ExecutionException exception) {
+                    Throwable cause = Exceptional.cause(exception, true);
+                    if (failure == null) {
+                        failure = cause;
+                    } else if (failure != cause) {
+                        failure.addSuppressed(cause);
+                    }
+                }
+            }
+            return Exceptional.rethrow(Objects.requireNonNull(failure));
+        } catch (InterruptedException interruptedException) {
+            cancel(futures);
+            Exceptional.reInterrupt(interruptedException);
+            return Exceptional.rethrow(interruptedException);
+        }
+    }
+
+    static List<Callable<Void>> callables(Collection<? extends Sneaky.Processable> processables) {
+        List<Callable<Void>> result = new ArrayList<>(processables.size());
+        for (Sneaky.Processable processable : processables) {
+            Objects.requireNonNull(processable, "Sneaky::runAll - task is null");
+            result.add(() -> {
+                processable.process();
+                return null;
+            });
+        }
+        return result;
+    }
+
+    private static <V> List<Task<V>> submit(Collection<? extends Callable<? extends V>> tasks, Executor executor, BlockingQueue<Task<V>> completions) {
+        Objects.requireNonNull(tasks, "Sneaky - tasks are null");
+        Objects.requireNonNull(executor, "Sneaky - executor is null");
+        List<Task<V>> futures = new ArrayList<>(tasks.size());
+        for (Callable<? extends V> task : tasks) {
+            futures.add(new Task<>(Objects.requireNonNull(task, "Sneaky - task is null"), completions));
+        }
+        try {
+            for (Task<V> future : futures) {
+                executor.execute(future);
+            }
+        } catch (RuntimeException | Error throwable) {
+            cancel(futures);
+            throw throwable;
+        }
+        return futures;
+    }
+
+    private static <V> void cancel(List<Task<V>> futures) {
+        for (Task<V> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    private static final class Task<V> extends FutureTask<V> {
+
+        private final BlockingQueue<Task<V>> completions;
+
+        @SuppressWarnings("unchecked")
+        private Task(Callable<? extends V> callable, BlockingQueue<Task<V>> completions) {
+            super((Callable<V>) callable);
+            this.completions = completions;
+        }
+
+        @Override
+        protected void done() {
+            completions.add(this);
+        }
+
+    }
+
+    private FanOut() {
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Default executor of the fan-out helpers: daemon cached thread pool.
+ * The JDK 21+ version of the class (META-INF/versions/21) uses virtual threads
+ */
+final class FanOutExecutor {
+
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(new ThreadFactory());
+
+    static Executor executor() {
+        return EXECUTOR;
+    }
+
+    private static final class ThreadFactory implements java.util.concurrent.ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "sneaky-fan-out-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+
+    }
+
+    private FanOutExecutor() {
+    }
+
+}
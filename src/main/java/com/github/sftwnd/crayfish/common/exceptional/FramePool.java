@@ -0,0 +1,150 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Append-only intern pool of stack frames addressed by char indices, so the frame of a snapshot costs two bytes.
+ * Identical index arrays are interned too, a repeated trace costs one reference. The shared pool is held weakly:
+ * snapshots keep their pool alive, and when the pool is full the next one is started while the old one is released
+ * together with the last snapshot referencing it
+ */
+final class FramePool {
+
+    static final int CAPACITY = Character.MAX_VALUE + 1;
+    static final int MAX_TRACES = 4096;
+    static final char[] NO_FRAMES = new char[0];
+
+    private static final Object LOCK = new Object();
+    private static volatile WeakReference<FramePool> shared = new WeakReference<>(null);
+
+    private final ConcurrentMap<StackTraceElement, Character> indices = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<StackTraceElement> frames = new AtomicReferenceArray<>(CAPACITY);
+    private final AtomicInteger size = new AtomicInteger();
+    private final ConcurrentMap<Trace, Trace> traces = new ConcurrentHashMap<>();
+    private final AtomicInteger traceCount = new AtomicInteger();
+
+    /**
+     * Intern the trace into the shared pool
+     * @param trace frames of the throwable, at most {@link #CAPACITY} frames are kept
+     * @return pool holding the indices and the indices
+     */
+    static Interned intern(StackTraceElement[] trace) {
+        if (trace.length == 0) {
+            return new Interned(null, NO_FRAMES);
+        }
+        StackTraceElement[] kept = trace.length > CAPACITY ? Arrays.copyOf(trace, CAPACITY) : trace;
+        FramePool pool = shared();
+        char[] indices = pool.indices(kept);
+        while (indices == null) {
+            pool = next(pool);
+            indices = pool.indices(kept);
+        }
+        return new Interned(pool, indices);
+    }
+
+    static FramePool shared() {
+        FramePool pool = shared.get();
+        if (pool == null) {
+            synchronized (LOCK) {
+                pool = shared.get();
+                if (pool == null) {
+                    pool = new FramePool();
+                    shared = new WeakReference<>(pool);
+                }
+            }
+        }
+        return pool;
+    }
+
+    private static FramePool next(FramePool full) {
+        synchronized (LOCK) {
+            FramePool pool = shared.get();
+            if (pool == null || pool == full) {
+                pool = new FramePool();
+                shared = new WeakReference<>(pool);
+            }
+            return pool;
+        }
+    }
+
+    StackTraceElement frame(char index) {
+        return frames.get(index);
+    }
+
+    int size() {
+        return Math.min(size.get(), CAPACITY);
+    }
+
+    // null if the pool is full
+    private char[] indices(StackTraceElement[] trace) {
+        char[] result = new char[trace.length];
+        for (int i = 0; i < trace.length; i++) {
+            Character index = indices.get(trace[i]);
+            if (index == null) {
+                index = indices.computeIfAbsent(trace[i], this::add);
+                if (index == null) {
+                    return null;
+                }
+            }
+            result[i] = index;
+        }
+        Trace key = new Trace(result);
+        Trace interned = traces.get(key);
+        if (interned == null && traceCount.get() < MAX_TRACES) {
+            interned = traces.putIfAbsent(key, key);
+            if (interned == null) {
+                traceCount.incrementAndGet();
+            }
+        }
+        return interned == null ? result : interned.indices;
+    }
+
+    private Character add(StackTraceElement frame) {
+        int index = size.getAndIncrement();
+        if (index >= CAPACITY) {
+            return null;
+        }
+        frames.set(index, frame);
+        return (char) index;
+    }
+
+    static final class Interned {
+
+        final FramePool pool;
+        final char[] indices;
+
+        private Interned(FramePool pool, char[] indices) {
+            this.pool = pool;
+            this.indices = indices;
+        }
+
+    }
+
+    private static final class Trace {
+
+        private final char[] indices;
+        private final int hash;
+
+        private Trace(char[] indices) {
+            this.indices = indices;
+            this.hash = Arrays.hashCode(indices);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Trace && Arrays.equals(indices, ((Trace) other).indices);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Lazy supplier with single-flight initialization: the first caller computes the value, concurrent callers wait
+ * for the same computation and get its result or failure. The failure isn't cached: the next call computes again.
+ * After the initialization the value is returned with a single volatile read
+ * @param <V> type of the value
+ */
+final class Memoized<V> implements Supplier<V> {
+
+    private static final Object UNSET = new Object();
+
+    private final Callable<V> call;
+    private final AtomicReference<CompletableFuture<V>> flight = new AtomicReference<>();
+    private volatile Object value = UNSET;
+
+    Memoized(Callable<V> call) {
+        this.call = call;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get() {
+        Object current = value;
+        return current != UNSET ? (V) current : compute();
+    }
+
+    private V compute() {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> current = flight.compareAndExchange(null, created);
+        if (current != null) {
+            return join(current);
+        }
+        // the value could be set between the volatile read and the start of the flight
+        Object initialized = value;
+        if (initialized != UNSET) {
+            flight.set(null);
+            created.complete(cast(initialized));
+            return cast(initialized);
+        }
+        V result;
+        try {
+            result = call.call();
+        } catch (Throwable throwable) { //NOSONAR java:S1181 Throwable and Error should not be caught
+            flight.set(null);
+            fail(created, throwable);
+            return Exceptional.rethrow(throwable);
+        }
+        value = result;
+        flight.set(null);
+        created.complete(result);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V cast(Object value) {
+        return (V) value;
+    }
+
+    /**
+     * Complete the flight by the failure wrapped into the own carrier, so {@link #join(CompletableFuture)} unwraps
+     * only it and a CompletionException thrown by the computation itself is passed as is
+     */
+    static void fail(CompletableFuture<?> future, Throwable throwable) {
+        future.completeExceptionally(new Failure(throwable));
+    }
+
+    static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (Failure failure) {
+            return Exceptional.rethrow(failure.getCause());
+        }
+    }
+
+    private static final class Failure extends CompletionException {
+
+        private static final long serialVersionUID = 1L;
+
+        private Failure(Throwable cause) {
+            super(null, cause);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+
+    }
+
+}
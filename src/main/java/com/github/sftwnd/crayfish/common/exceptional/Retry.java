@@ -0,0 +1,412 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Immutable retry policy: max attempts, exponential backoff with jitter, deadline and classification of retryable failures.
+ * Failures are classified by the significant cause resolved by {@link Exceptional#cause(Throwable, boolean)},
+ * InterruptedException is never retried and is processed by {@link Exceptional#reInterrupt(Throwable)}.
+ * The first failure is sneaky thrown with the distinct failures of the next attempts attached to it as suppressed
+ */
+public final class Retry {
+
+    private static final Predicate<Throwable> ANY = throwable -> true;
+
+    private final int maxAttempts;
+    private final long initialDelayNanos;
+    private final long maxDelayNanos;
+    private final double multiplier;
+    private final double jitter;
+    private final long deadlineNanos;
+    private final Predicate<? super Throwable> retryable;
+
+    private Retry(int maxAttempts, long initialDelayNanos, long maxDelayNanos, double multiplier, double jitter, long deadlineNanos, Predicate<? super Throwable> retryable) {
+        this.maxAttempts = maxAttempts;
+        this.initialDelayNanos = initialDelayNanos;
+        this.maxDelayNanos = maxDelayNanos;
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+        this.deadlineNanos = deadlineNanos;
+        this.retryable = retryable;
+    }
+
+    /**
+     * Retry policy without delays, deadline and with retry on any failure
+     * @param maxAttempts max number of attempts (including the first one)
+     * @return retry policy
+     */
+    public static @NonNull Retry of(int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Retry::of - maxAttempts has to be positive, but: " + maxAttempts);
+        }
+        return new Retry(maxAttempts, 0, 0, 1.0, 0.0, 0, ANY);
+    }
+
+    /**
+     * Policy with fixed delay between attempts
+     * @param delay delay between attempts
+     * @return new retry policy
+     */
+    public @NonNull Retry delay(@NonNull Duration delay) {
+        return backoff(delay, delay, 1.0);
+    }
+
+    /**
+     * Policy with exponential backoff between attempts
+     * @param initialDelay delay after the first attempt
+     * @param maxDelay max delay between attempts
+     * @param multiplier multiplier of the delay for each next attempt
+     * @return new retry policy
+     */
+    public @NonNull Retry backoff(@NonNull Duration initialDelay, @NonNull Duration maxDelay, double multiplier) {
+        long initial = nanos(initialDelay, "initialDelay");
+        long max = nanos(maxDelay, "maxDelay");
+        if (max < initial) {
+            throw new IllegalArgumentException("Retry::backoff - maxDelay has to be not less than initialDelay");
+        }
+        if (!(multiplier >= 1.0)) {
+            throw new IllegalArgumentException("Retry::backoff - multiplier has to be not less than 1, but: " + multiplier);
+        }
+        return new Retry(maxAttempts, initial, max, multiplier, jitter, deadlineNanos, retryable);
+    }
+
+    /**
+     * Policy with random jitter of delays: delay is randomly reduced by up to the jitter part
+     * @param jitter part of the delay in range [0, 1]
+     * @return new retry policy
+     */
+    public @NonNull Retry jitter(double jitter) {
+        if (!(jitter >= 0.0 && jitter <= 1.0)) {
+            throw new IllegalArgumentException("Retry::jitter - jitter has to be in range [0, 1], but: " + jitter);
+        }
+        return new Retry(maxAttempts, initialDelayNanos, maxDelayNanos, multiplier, jitter, deadlineNanos, retryable);
+    }
+
+    /**
+     * Policy with deadline: no attempt is started if the delay before it ends after the deadline
+     * @param deadline max duration from the start of the first attempt
+     * @return new retry policy
+     */
+    public @NonNull Retry deadline(@NonNull Duration deadline) {
+        long nanos = nanos(deadline, "deadline");
+        if (nanos == 0) {
+            throw new IllegalArgumentException("Retry::deadline - deadline has to be positive");
+        }
+        return new Retry(maxAttempts, initialDelayNanos, maxDelayNanos, multiplier, jitter, nanos, retryable);
+    }
+
+    /**
+     * Policy with retry only if the significant cause of the failure satisfies the predicate
+     * @param retryable predicate on the significant cause
+     * @return new retry policy
+     */
+    public @NonNull Retry retryOn(@NonNull Predicate<? super Throwable> retryable) {
+        Objects.requireNonNull(retryable, "Retry::retryOn - retryable is null");
+        return new Retry(maxAttempts, initialDelayNanos, maxDelayNanos, multiplier, jitter, deadlineNanos, retryable);
+    }
+
+    /**
+     * Policy with retry only if the significant cause of the failure is an instance of one of the types
+     * @param types retryable exception types
+     * @return new retry policy
+     */
+    @SafeVarargs
+    public final @NonNull Retry retryOn(@NonNull Class<? extends Throwable>... types) {
+        List<Class<? extends Throwable>> retryableTypes = new ArrayList<>(types.length);
+        for (Class<? extends Throwable> type : types) {
+            retryableTypes.add(Objects.requireNonNull(type, "Retry::retryOn - type is null"));
+        }
+        return retryOn(throwable -> {
+            for (Class<? extends Throwable> type : retryableTypes) {
+                if (type.isInstance(throwable)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Max number of attempts
+     * @return max attempts
+     */
+    public int maxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Call with retries, the thread sleeps between attempts
+     * @param call the Callable interface implementation
+     * @return result of the successful attempt
+     * @param <V> type of the result
+     */
+    public <V> V call(@NonNull Callable<V> call) {
+        Objects.requireNonNull(call, "Retry::call - call is null");
+        long start = System.nanoTime();
+        Throwable failure = null;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.call();
+            } catch (Exception exception) {
+                failure = failed(failure, exception);
+                Throwable cause = Exceptional.cause(exception, true);
+                Exceptional.reInterrupt(cause);
+                long delay = nextDelay(attempt, start, cause);
+                if (delay < 0) {
+                    return Exceptional.rethrow(failure);
+                }
+                sleep(delay, failure);
+            }
+        }
+    }
+
+    /**
+     * Transform Callable to Supplier with retries and sneaky throw
+     * @param call the Callable interface implementation
+     * @return resulted Supplier
+     * @param <V> type of supplier/callable result
+     */
+    public <V> @NonNull Supplier<V> supplier(@NonNull Callable<V> call) {
+        Objects.requireNonNull(call, "Retry::supplier - call is null");
+        return () -> call(call);
+    }
+
+    /**
+     * Transform Functional to Function with retries and sneaky throw
+     * @param functional the Functional interface implementation
+     * @return resulted Function
+     * @param <P> type of function parameter
+     * @param <R> type of function result
+     */
+    public <P, R> @NonNull Function<P, R> function(@NonNull Sneaky.Functional<P, R> functional) {
+        Objects.requireNonNull(functional, "Retry::function - functional is null");
+        return parameter -> call(() -> functional.apply(parameter));
+    }
+
+    /**
+     * Call with retries without blocking: attempts are scheduled on the shared scheduler and executed
+     * on the default fan-out executor (virtual threads on JDK 21+)
+     * @param call the Callable interface implementation
+     * @return future of the result, cancel of the future stops the next attempts
+     * @param <V> type of the result
+     */
+    public <V> @NonNull CompletableFuture<V> callAsync(@NonNull Callable<V> call) {
+        return callAsync(call, Scheduler.SCHEDULER, FanOutExecutor.executor());
+    }
+
+    /**
+     * Call with retries without blocking: attempts are scheduled and executed on the scheduler
+     * @param call the Callable interface implementation
+     * @param scheduler scheduler of attempts
+     * @return future of the result, cancel of the future stops the next attempts
+     * @param <V> type of the result
+     */
+    public <V> @NonNull CompletableFuture<V> callAsync(@NonNull Callable<V> call, @NonNull ScheduledExecutorService scheduler) {
+        return callAsync(call, scheduler, null);
+    }
+
+    /**
+     * Call with retries without blocking: delays are timed by the scheduler and attempts are executed on the executor
+     * @param call the Callable interface implementation
+     * @param scheduler scheduler of attempts
+     * @param executor executor of attempts, if null attempts are executed on the scheduler
+     * @return future of the result, cancel of the future stops the next attempts
+     * @param <V> type of the result
+     */
+    public <V> @NonNull CompletableFuture<V> callAsync(@NonNull Callable<V> call, @NonNull ScheduledExecutorService scheduler, @Nullable Executor executor) {
+        Objects.requireNonNull(call, "Retry::callAsync - call is null");
+        Objects.requireNonNull(scheduler, "Retry::callAsync - scheduler is null");
+        CompletableFuture<V> future = new CompletableFuture<>();
+        new AsyncAttempt<>(call, scheduler, executor, future).schedule(0);
+        return future;
+    }
+
+    /**
+     * The first failure stays the primary one, the next distinct failures are attached to it as flat suppressed siblings.
+     * The failure which is already attached or refers to the primary one is skipped to avoid self and cyclic suppression
+     */
+    private static Throwable failed(Throwable primary, Throwable failure) {
+        if (primary == null) {
+            return failure;
+        }
+        if (!refers(failure, primary)) {
+            for (Throwable suppressed : primary.getSuppressed()) {
+                if (suppressed == failure) {
+                    return primary;
+                }
+            }
+            primary.addSuppressed(failure);
+        }
+        return primary;
+    }
+
+    private static boolean refers(Throwable failure, Throwable primary) {
+        int depth = 0;
+        for (Throwable current = failure; current != null && depth < CauseResolver.DEFAULT_MAX_DEPTH; current = current.getCause(), depth++) {
+            if (current == primary) {
+                return true;
+            }
+            for (Throwable suppressed : current.getSuppressed()) {
+                if (suppressed == primary) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Delay before the next attempt or -1 if there is no next attempt
+     */
+    private long nextDelay(int attempt, long start, Throwable cause) {
+        if (attempt >= maxAttempts || cause instanceof InterruptedException || !retryable.test(cause)) {
+            return -1;
+        }
+        long delay = delay(attempt);
+        if (deadlineNanos > 0 && System.nanoTime() + delay - start > deadlineNanos) {
+            return -1;
+        }
+        return delay;
+    }
+
+    private long delay(int attempt) {
+        if (maxDelayNanos == 0) {
+            return 0;
+        }
+        double delay = Math.min(initialDelayNanos * Math.pow(multiplier, attempt - 1.0), maxDelayNanos);
+        if (jitter > 0) {
+            delay -= delay * jitter * ThreadLocalRandom.current().nextDouble();
+        }
+        return (long) delay;
+    }
+
+    private static void sleep(long nanos, Throwable failure) {
+        if (nanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(nanos);
+            } catch (InterruptedException interruptedException) {
+                interruptedException.addSuppressed(failure);
+                Exceptional.reInterrupt(interruptedException);
+            }
+        }
+    }
+
+    private static long nanos(Duration duration, String name) {
+        Objects.requireNonNull(duration, "Retry - " + name + " is null");
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException("Retry - " + name + " has to be non negative, but: " + duration);
+        }
+        return duration.toNanos();
+    }
+
+    private final class AsyncAttempt<V> implements Runnable {
+
+        private final Callable<V> call;
+        private final ScheduledExecutorService scheduler;
+        private final Executor executor;
+        private final CompletableFuture<V> future;
+        private final long start = System.nanoTime();
+        private int attempt;
+        private Throwable failure;
+
+        private AsyncAttempt(Callable<V> call, ScheduledExecutorService scheduler, Executor executor, CompletableFuture<V> future) {
+            this.call = call;
+            this.scheduler = scheduler;
+            this.executor = executor;
+            this.future = future;
+        }
+
+        @Override
+        public void run() {
+            if (future.isDone()) {
+                return;
+            }
+            attempt++;
+            try {
+                future.complete(call.call());
+            } catch (Exception exception) {
+                failure = failed(failure, exception);
+                long delay;
+                try {
+                    Throwable cause = Exceptional.cause(exception, true);
+                    if (cause instanceof InterruptedException) {
+                        // the attempt is not retried, the interrupt status of the executing thread is restored
+                        future.completeExceptionally(failure);
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    delay = nextDelay(attempt, start, cause);
+                } catch (RuntimeException classifierFailure) {
+                    classifierFailure.addSuppressed(failure);
+                    future.completeExceptionally(classifierFailure);
+                    return;
+                }
+                if (delay < 0) {
+                    future.completeExceptionally(failure);
+                } else {
+                    schedule(delay);
+                }
+            } catch (Throwable throwable) { //NOSONAR java:S1181 Throwable and Error should not be caught
+                // the error is not retried, the future has to be completed anyway
+                if (failure != null && failure != throwable) {
+                    throwable.addSuppressed(failure);
+                }
+                future.completeExceptionally(throwable);
+            }
+        }
+
+        private void schedule(long delay) {
+            try {
+                if (delay == 0) {
+                    (executor == null ? scheduler : executor).execute(this);
+                } else if (executor == null) {
+                    scheduler.schedule(this, delay, TimeUnit.NANOSECONDS);
+                } else {
+                    scheduler.schedule(() -> executor.execute(this), delay, TimeUnit.NANOSECONDS);
+                }
+            } catch (RuntimeException rejected) {
+                if (failure != null) {
+                    rejected.addSuppressed(failure);
+                }
+                future.completeExceptionally(rejected);
+            }
+        }
+
+    }
+
+    private static final class Scheduler {
+
+        private static final ScheduledExecutorService SCHEDULER = scheduler();
+
+        private static ScheduledExecutorService scheduler() {
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "sneaky-retry-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+
+        private Scheduler() {
+        }
+
+    }
+
+}
@@ -2,14 +2,54 @@ package com.github.sftwnd.crayfish.common.exceptional;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongSupplier;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleBiFunction;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntBiFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongBiFunction;
+import java.util.function.ToLongFunction;
 
 import static com.github.sftwnd.crayfish.common.exceptional.Exceptional.rethrow;
+import static com.github.sftwnd.crayfish.common.exceptional.Exceptional.rethrowUnchecked;
 import static com.github.sftwnd.crayfish.common.exceptional.Exceptional.sneakyThrow;
 
 /**
@@ -27,9 +67,11 @@ public class Sneaky {
      */
     public static <V> Supplier<V> supplier(@NonNull Callable<V> call) {
         return () -> {
+            long start = SneakyEvents.start();
             try {
                 return call.call();
             } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("supplier", exception, start);
                 return rethrow(exception);
             }
         };
@@ -44,9 +86,11 @@ public class Sneaky {
      */
     public static <P,R> Function<P,R> function(@NonNull Functional<P,R> functional) {
         return parameter -> {
+            long start = SneakyEvents.start();
             try {
                 return functional.apply(parameter);
             } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("function", exception, start);
                 return rethrow(exception);
             }
         };
@@ -62,9 +106,11 @@ public class Sneaky {
      */
     public static <P, Q, R> BiFunction<P,Q,R> bifunction(@NonNull BiFunctional<P, Q, R> functional) {
         return (p, q) -> {
+            long start = SneakyEvents.start();
             try {
                 return functional.apply(p, q);
             } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("bifunction", exception, start);
                 return rethrow(exception);
             }
         };
@@ -77,9 +123,11 @@ public class Sneaky {
      */
     public static Runnable runnable(@NonNull Processable processor) {
         return () -> {
+            long start = SneakyEvents.start();
             try {
                 processor.process();
             } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("runnable", exception, start);
                 sneakyThrow(exception);
             }
         };
@@ -93,9 +141,11 @@ public class Sneaky {
      */
     public static <P> Consumer<P> consumer(@NonNull Consumable<P> consumable) {
         return p -> {
+            long start = SneakyEvents.start();
             try {
                 consumable.consume(p);
             } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("consumer", exception, start);
                 sneakyThrow(exception);
             }
         };
@@ -110,101 +160,1727 @@ public class Sneaky {
      */
     public static <P, Q> BiConsumer<P, Q> biconsumer(@NonNull BiConsumable<P, Q> consumable) {
         return (p, q) -> {
+            long start = SneakyEvents.start();
             try {
                 consumable.consume(p, q);
             } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("biconsumer", exception, start);
                 sneakyThrow(exception);
             }
         };
     }
 
+    /**
+     * Transform Callable to Supplier which throws exceptions translated by the translator
+     * @param call the Callable interface implementation
+     * @param translator translator of exceptions
+     * @return resulted Supplier
+     * @param <V> type of supplier/callable result
+     */
+    public static <V> Supplier<V> supplier(@NonNull Callable<V> call, @NonNull ExceptionTranslator translator) {
+        Objects.requireNonNull(call, "Sneaky::supplier - call is null");
+        Objects.requireNonNull(translator, "Sneaky::supplier - translator is null");
+        return () -> {
+            long start = SneakyEvents.start();
+            try {
+                return call.call();
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("supplier", exception, start);
+                return translator.rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform Functional to Function which throws exceptions translated by the translator
+     * @param functional the Functional interface implementation
+     * @param translator translator of exceptions
+     * @return resulted Function
+     * @param <P> type of function parameter
+     * @param <R> type of function result
+     */
+    public static <P,R> Function<P,R> function(@NonNull Functional<P,R> functional, @NonNull ExceptionTranslator translator) {
+        Objects.requireNonNull(functional, "Sneaky::function - functional is null");
+        Objects.requireNonNull(translator, "Sneaky::function - translator is null");
+        return parameter -> {
+            long start = SneakyEvents.start();
+            try {
+                return functional.apply(parameter);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("function", exception, start);
+                return translator.rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform BiFunctional to BiFunction which throws exceptions translated by the translator
+     * @param functional the Functional interface implementation
+     * @param translator translator of exceptions
+     * @return resulted BiFunction
+     * @param <P> type of function first parameter
+     * @param <Q> type of function second parameter
+     * @param <R> type of function result
+     */
+    public static <P, Q, R> BiFunction<P,Q,R> bifunction(@NonNull BiFunctional<P, Q, R> functional, @NonNull ExceptionTranslator translator) {
+        Objects.requireNonNull(functional, "Sneaky::bifunction - functional is null");
+        Objects.requireNonNull(translator, "Sneaky::bifunction - translator is null");
+        return (p, q) -> {
+            long start = SneakyEvents.start();
+            try {
+                return functional.apply(p, q);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("bifunction", exception, start);
+                return translator.rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform Processable to Runnable which throws exceptions translated by the translator
+     * @param processor the Processable interface implementation
+     * @param translator translator of exceptions
+     * @return resulted Runnable
+     */
+    public static Runnable runnable(@NonNull Processable processor, @NonNull ExceptionTranslator translator) {
+        Objects.requireNonNull(processor, "Sneaky::runnable - processor is null");
+        Objects.requireNonNull(translator, "Sneaky::runnable - translator is null");
+        return () -> {
+            long start = SneakyEvents.start();
+            try {
+                processor.process();
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("runnable", exception, start);
+                translator.rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform Consumable to Consumer which throws exceptions translated by the translator
+     * @param consumable the Consumable interface implementation
+     * @param translator translator of exceptions
+     * @return resulted Consumer
+     * @param <P> type of function parameter
+     */
+    public static <P> Consumer<P> consumer(@NonNull Consumable<P> consumable, @NonNull ExceptionTranslator translator) {
+        Objects.requireNonNull(consumable, "Sneaky::consumer - consumable is null");
+        Objects.requireNonNull(translator, "Sneaky::consumer - translator is null");
+        return p -> {
+            long start = SneakyEvents.start();
+            try {
+                consumable.consume(p);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("consumer", exception, start);
+                translator.rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform BiConsumable to BiConsumer which throws exceptions translated by the translator
+     * @param consumable the Consumable interface implementation
+     * @param translator translator of exceptions
+     * @return resulted BiConsumer
+     * @param <P> type of function first parameter
+     * @param <Q> type of function second parameter
+     */
+    public static <P, Q> BiConsumer<P, Q> biconsumer(@NonNull BiConsumable<P, Q> consumable, @NonNull ExceptionTranslator translator) {
+        Objects.requireNonNull(consumable, "Sneaky::biconsumer - consumable is null");
+        Objects.requireNonNull(translator, "Sneaky::biconsumer - translator is null");
+        return (p, q) -> {
+            long start = SneakyEvents.start();
+            try {
+                consumable.consume(p, q);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("biconsumer", exception, start);
+                translator.rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform Callable to timeout-bounded Supplier with sneaky throw.
+     * The call is executed in the calling thread which is interrupted on the timeout expiry by the shared hashed-wheel timer,
+     * then the stackless {@link StacklessTimeoutException} is sneaky thrown
+     * @param call the Callable interface implementation
+     * @param timeout timeout of the call
+     * @return resulted Supplier
+     * @param <V> type of supplier/callable result
+     */
+    public static <V> Supplier<V> supplier(@NonNull Callable<V> call, @NonNull Duration timeout) {
+        Objects.requireNonNull(call, "Sneaky::supplier - call is null");
+        long timeoutNanos = timeoutNanos(timeout, "Sneaky::supplier");
+        return () -> WheelTimer.global().call("supplier", call, timeoutNanos);
+    }
+
+    /**
+     * Transform Functional to timeout-bounded Function with sneaky throw
+     * @param functional the Functional interface implementation
+     * @param timeout timeout of the call
+     * @return resulted Function
+     * @param <P> type of function parameter
+     * @param <R> type of function result
+     * @see #supplier(Callable, Duration)
+     */
+    public static <P,R> Function<P,R> function(@NonNull Functional<P,R> functional, @NonNull Duration timeout) {
+        Objects.requireNonNull(functional, "Sneaky::function - functional is null");
+        long timeoutNanos = timeoutNanos(timeout, "Sneaky::function");
+        return parameter -> WheelTimer.global().call("function", () -> functional.apply(parameter), timeoutNanos);
+    }
+
+    /**
+     * Transform Processable to timeout-bounded Runnable with sneaky throw
+     * @param processor the Processable interface implementation
+     * @param timeout timeout of the call
+     * @return resulted Runnable
+     * @see #supplier(Callable, Duration)
+     */
+    public static Runnable runnable(@NonNull Processable processor, @NonNull Duration timeout) {
+        Objects.requireNonNull(processor, "Sneaky::runnable - processor is null");
+        long timeoutNanos = timeoutNanos(timeout, "Sneaky::runnable");
+        return () -> WheelTimer.global().call("runnable", () -> {
+            processor.process();
+            return null;
+        }, timeoutNanos);
+    }
+
+    private static long timeoutNanos(Duration timeout, String method) {
+        Objects.requireNonNull(timeout, method + " - timeout is null");
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException(method + " - timeout has to be positive, but: " + timeout);
+        }
+        return timeout.toNanos();
+    }
+
+    /**
+     * Lazy Supplier with thread-safe single-flight initialization: the call is made once by the first caller,
+     * concurrent callers wait for it and get its result or failure. The failure isn't cached, the next call retries
+     * @param call the Callable interface implementation
+     * @return memoized Supplier
+     * @param <V> type of supplier/callable result
+     */
+    public static <V> Supplier<V> memoize(@NonNull Callable<V> call) {
+        return new Memoized<>(Objects.requireNonNull(call, "Sneaky::memoize - call is null"));
+    }
+
+    /**
+     * Transform Functional to Function backed by the bounded concurrent cache with sneaky throw.
+     * Concurrent callers of the same key share the single computation, failures are cached for
+     * {@link CacheSpec#failureTtl(Duration)} if it is set
+     * @param functional the Functional interface implementation
+     * @param spec cache specification
+     * @return caching Function
+     * @param <P> type of function parameter
+     * @param <R> type of function result
+     */
+    public static <P,R> Function<P,R> caching(@NonNull Functional<P,R> functional, @NonNull CacheSpec spec) {
+        Objects.requireNonNull(functional, "Sneaky::caching - functional is null");
+        Objects.requireNonNull(spec, "Sneaky::caching - spec is null");
+        return new CachingFunction<>(functional, spec);
+    }
+
+    /**
+     * Transform Functional to Function with the result captured into Try instead of throw
+     * @param functional the Functional interface implementation
+     * @return resulted Function
+     * @param <P> type of function parameter
+     * @param <R> type of function result
+     */
+    public static <P,R> Function<P,Try<R>> trying(@NonNull Functional<P,R> functional) {
+        return parameter -> {
+            try {
+                return Try.success(functional.apply(parameter));
+            } catch (Exception exception) {
+                return Try.failure(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform Callable to Supplier with the result captured into Try instead of throw
+     * @param call the Callable interface implementation
+     * @return resulted Supplier
+     * @param <V> type of supplier/callable result
+     */
+    public static <V> Supplier<Try<V>> tryingSupplier(@NonNull Callable<V> call) {
+        return () -> Try.of(call);
+    }
+
+    /**
+     * Transform BiFunctional to BiFunction with the result captured into Try instead of throw
+     * @param functional the Functional interface implementation
+     * @return resulted BiFunction
+     * @param <P> type of function first parameter
+     * @param <Q> type of function second parameter
+     * @param <R> type of function result
+     */
+    public static <P, Q, R> BiFunction<P,Q,Try<R>> tryingBifunction(@NonNull BiFunctional<P, Q, R> functional) {
+        return (p, q) -> {
+            try {
+                return Try.success(functional.apply(p, q));
+            } catch (Exception exception) {
+                return Try.failure(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform Processable to Supplier with the result captured into Try instead of throw
+     * @param processor the Processable interface implementation
+     * @return resulted Supplier
+     */
+    public static Supplier<Try<Void>> tryingRunnable(@NonNull Processable processor) {
+        return () -> Try.run(processor);
+    }
+
+    /**
+     * Transform Consumable to Function with the result captured into Try instead of throw
+     * @param consumable the Consumable interface implementation
+     * @return resulted Function
+     * @param <P> type of function parameter
+     */
+    public static <P> Function<P,Try<Void>> tryingConsumer(@NonNull Consumable<P> consumable) {
+        return p -> {
+            try {
+                consumable.consume(p);
+                return Try.success();
+            } catch (Exception exception) {
+                return Try.failure(exception);
+            }
+        };
+    }
+
+    /**
+     * Start the pipeline of throwing steps fused into a single exception boundary
+     * @param functional the first step
+     * @return pipeline builder
+     * @param <P> type of pipeline parameter
+     * @param <R> type of the first step result
+     */
+    public static <P,R> SneakyPipeline<P,R> pipeline(@NonNull Functional<? super P, ? extends R> functional) {
+        return SneakyPipeline.of(functional);
+    }
+
+    /**
+     * Adapt the implementation of a throwing functional interface to the target functional interface with sneaky throw,
+     * e.g. {@code Sneaky.adapt(Comparator.class, (BiFunctional<String, String, Integer>) this::compareRemote)}.
+     * The adapter class is spun by LambdaMetafactory once per pair of interfaces and calls the implementation directly.
+     * Parameters and the result are converted as for method references (casts, boxing, unboxing). Both interfaces
+     * have to be public and visible to the class loader of this library
+     * @param target target functional interface
+     * @param implementation implementation of the functional interface with the same number of parameters
+     * @return adapter or the implementation itself if it already implements the target interface
+     * @param <I> type of the target interface
+     * @throws IllegalArgumentException if the interfaces are not functional or not compatible
+     */
+    public static <I> I adapt(@NonNull Class<I> target, @NonNull Object implementation) {
+        return SneakyAdapters.adapt(target, implementation);
+    }
+
+    /**
+     * Run tasks concurrently on the default executor (virtual threads on JDK 21+) and wait for all results.
+     * On the first failure the siblings are cancelled and the significant cause is sneaky thrown
+     * @param tasks tasks to run
+     * @return results in the order of tasks
+     * @param <V> type of task result
+     */
+    public static <V> List<V> invokeAll(@NonNull Collection<? extends Callable<? extends V>> tasks) {
+        return invokeAll(tasks, FanOutExecutor.executor());
+    }
+
+    /**
+     * Run tasks concurrently on the executor and wait for all results.
+     * On the first failure the siblings are cancelled and the significant cause is sneaky thrown
+     * @param tasks tasks to run
+     * @param executor executor to run tasks
+     * @return results in the order of tasks
+     * @param <V> type of task result
+     */
+    public static <V> List<V> invokeAll(@NonNull Collection<? extends Callable<? extends V>> tasks, @NonNull Executor executor) {
+        return FanOut.invokeAll(tasks, executor);
+    }
+
+    /**
+     * Run tasks concurrently on the default executor (virtual threads on JDK 21+) and wait for all of them.
+     * On the first failure the siblings are cancelled and the significant cause is sneaky thrown
+     * @param tasks tasks to run
+     */
+    public static void runAll(@NonNull Collection<? extends Processable> tasks) {
+        runAll(tasks, FanOutExecutor.executor());
+    }
+
+    /**
+     * Run tasks concurrently on the executor and wait for all of them.
+     * On the first failure the siblings are cancelled and the significant cause is sneaky thrown
+     * @param tasks tasks to run
+     * @param executor executor to run tasks
+     */
+    public static void runAll(@NonNull Collection<? extends Processable> tasks, @NonNull Executor executor) {
+        FanOut.invokeAll(FanOut.callables(tasks), executor);
+    }
+
+    /**
+     * Run tasks concurrently on the default executor (virtual threads on JDK 21+) and return the first successful result.
+     * The siblings are cancelled on the first success. If all tasks fail the significant cause of the first failure is sneaky thrown
+     * @param tasks tasks to run
+     * @return result of the first successful task
+     * @param <V> type of task result
+     */
+    public static <V> V invokeAny(@NonNull Collection<? extends Callable<? extends V>> tasks) {
+        return invokeAny(tasks, FanOutExecutor.executor());
+    }
+
+    /**
+     * Run tasks concurrently on the executor and return the first successful result.
+     * The siblings are cancelled on the first success. If all tasks fail the significant cause of the first failure is sneaky thrown
+     * @param tasks tasks to run
+     * @param executor executor to run tasks
+     * @return result of the first successful task
+     * @param <V> type of task result
+     */
+    public static <V> V invokeAny(@NonNull Collection<? extends Callable<? extends V>> tasks, @NonNull Executor executor) {
+        return FanOut.invokeAny(tasks, executor);
+    }
+
+    /**
+     * Transform BooleanSuppliable to BooleanSupplier with sneaky throw
+     * @param functional the BooleanSuppliable interface implementation
+     * @return resulted BooleanSupplier
+     */
+    public static BooleanSupplier booleanSupplier(@NonNull BooleanSuppliable functional) {
+        return () -> {
+            long start = SneakyEvents.start();
+            try {
+                return functional.getAsBoolean();
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("booleanSupplier", exception, start);
+                return rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform IntSuppliable to IntSupplier with sneaky throw
+     * @param functional the IntSuppliable interface implementation
+     * @return resulted IntSupplier
+     */
+    public static IntSupplier intSupplier(@NonNull IntSuppliable functional) {
+        return () -> {
+            long start = SneakyEvents.start();
+            try {
+                return functional.getAsInt();
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("intSupplier", exception, start);
+                return rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform IntFunctional to IntFunction with sneaky throw
+     * @param functional the IntFunctional interface implementation
+     * @return resulted IntFunction
+     * @param <R> type of function result
+     */
+    public static <R> IntFunction<R> intFunction(@NonNull IntFunctional<R> functional) {
+        return value -> {
+            long start = SneakyEvents.start();
+            try {
+                return functional.apply(value);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("intFunction", exception, start);
+                return rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform IntTestable to IntPredicate with sneaky throw
+     * @param functional the IntTestable interface implementation
+     * @return resulted IntPredicate
+     */
+    public static IntPredicate intPredicate(@NonNull IntTestable functional) {
+        return value -> {
+            long start = SneakyEvents.start();
+            try {
+                return functional.test(value);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("intPredicate", exception, start);
+                return rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform IntConsumable to IntConsumer with sneaky throw
+     * @param functional the IntConsumable interface implementation
+     * @return resulted IntConsumer
+     */
+    public static IntConsumer intConsumer(@NonNull IntConsumable functional) {
+        return value -> {
+            long start = SneakyEvents.start();
+            try {
+                functional.consume(value);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("intConsumer", exception, start);
+                sneakyThrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform IntUnaryOperable to IntUnaryOperator with sneaky throw
+     * @param functional the IntUnaryOperable interface implementation
+     * @return resulted IntUnaryOperator
+     */
+    public static IntUnaryOperator intUnaryOperator(@NonNull IntUnaryOperable functional) {
+        return operand -> {
+            long start = SneakyEvents.start();
+            try {
+                return functional.applyAsInt(operand);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("intUnaryOperator", exception, start);
+                return rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform IntBinaryOperable to IntBinaryOperator with sneaky throw
+     * @param functional the IntBinaryOperable interface implementation
+     * @return resulted IntBinaryOperator
+     */
+    public static IntBinaryOperator intBinaryOperator(@NonNull IntBinaryOperable functional) {
+        return (left, right) -> {
+            long start = SneakyEvents.start();
+            try {
+                return functional.applyAsInt(left, right);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("intBinaryOperator", exception, start);
+                return rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform IntToLongFunctional to IntToLongFunction with sneaky throw
+     * @param functional the IntToLongFunctional interface implementation
+     * @return resulted IntToLongFunction
+     */
+    public static IntToLongFunction intToLongFunction(@NonNull IntToLongFunctional functional) {
+        return value -> {
+            long start = SneakyEvents.start();
+            try {
+                return functional.applyAsLong(value);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("intToLongFunction", exception, start);
+                return rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform IntToDoubleFunctional to IntToDoubleFunction with sneaky throw
+     * @param functional the IntToDoubleFunctional interface implementation
+     * @return resulted IntToDoubleFunction
+     */
+    public static IntToDoubleFunction intToDoubleFunction(@NonNull IntToDoubleFunctional functional) {
+        return value -> {
+            long start = SneakyEvents.start();
+            try {
+                return functional.applyAsDouble(value);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("intToDoubleFunction", exception, start);
+                return rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform ToIntFunctional to ToIntFunction with sneaky throw
+     * @param functional the ToIntFunctional interface implementation
+     * @return resulted ToIntFunction
+     * @param <P> type of function parameter
+     */
+    public static <P> ToIntFunction<P> toIntFunction(@NonNull ToIntFunctional<P> functional) {
+        return p -> {
+            long start = SneakyEvents.start();
+            try {
+                return functional.applyAsInt(p);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("toIntFunction", exception, start);
+                return rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform ToIntBiFunctional to ToIntBiFunction with sneaky throw
+     * @param functional the ToIntBiFunctional interface implementation
+     * @return resulted ToIntBiFunction
+     * @param <P> type of function first parameter
+     * @param <Q> type of function second parameter
+     */
+    public static <P, Q> ToIntBiFunction<P,Q> toIntBiFunction(@NonNull ToIntBiFunctional<P,Q> functional) {
+        return (p, q) -> {
+            long start = SneakyEvents.start();
+            try {
+                return functional.applyAsInt(p, q);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("toIntBiFunction", exception, start);
+                return rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform ObjIntConsumable to ObjIntConsumer with sneaky throw
+     * @param functional the ObjIntConsumable interface implementation
+     * @return resulted ObjIntConsumer
+     * @param <P> type of function parameter
+     */
+    public static <P> ObjIntConsumer<P> objIntConsumer(@NonNull ObjIntConsumable<P> functional) {
+        return (p, value) -> {
+            long start = SneakyEvents.start();
+            try {
+                functional.consume(p, value);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("objIntConsumer", exception, start);
+                sneakyThrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform LongSuppliable to LongSupplier with sneaky throw
+     * @param functional the LongSuppliable interface implementation
+     * @return resulted LongSupplier
+     */
+    public static LongSupplier longSupplier(@NonNull LongSuppliable functional) {
+        return () -> {
+            long start = SneakyEvents.start();
+            try {
+                return functional.getAsLong();
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("longSupplier", exception, start);
+                return rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform LongFunctional to LongFunction with sneaky throw
+     * @param functional the LongFunctional interface implementation
+     * @return resulted LongFunction
+     * @param <R> type of function result
+     */
+    public static <R> LongFunction<R> longFunction(@NonNull LongFunctional<R> functional) {
+        return value -> {
+            long start = SneakyEvents.start();
+            try {
+                return functional.apply(value);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("longFunction", exception, start);
+                return rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform LongTestable to LongPredicate with sneaky throw
+     * @param functional the LongTestable interface implementation
+     * @return resulted LongPredicate
+     */
+    public static LongPredicate longPredicate(@NonNull LongTestable functional) {
+        return value -> {
+            long start = SneakyEvents.start();
+            try {
+                return functional.test(value);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("longPredicate", exception, start);
+                return rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform LongConsumable to LongConsumer with sneaky throw
+     * @param functional the LongConsumable interface implementation
+     * @return resulted LongConsumer
+     */
+    public static LongConsumer longConsumer(@NonNull LongConsumable functional) {
+        return value -> {
+            long start = SneakyEvents.start();
+            try {
+                functional.consume(value);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("longConsumer", exception, start);
+                sneakyThrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform LongUnaryOperable to LongUnaryOperator with sneaky throw
+     * @param functional the LongUnaryOperable interface implementation
+     * @return resulted LongUnaryOperator
+     */
+    public static LongUnaryOperator longUnaryOperator(@NonNull LongUnaryOperable functional) {
+        return operand -> {
+            long start = SneakyEvents.start();
+            try {
+                return functional.applyAsLong(operand);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("longUnaryOperator", exception, start);
+                return rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform LongBinaryOperable to LongBinaryOperator with sneaky throw
+     * @param functional the LongBinaryOperable interface implementation
+     * @return resulted LongBinaryOperator
+     */
+    public static LongBinaryOperator longBinaryOperator(@NonNull LongBinaryOperable functional) {
+        return (left, right) -> {
+            long start = SneakyEvents.start();
+            try {
+                return functional.applyAsLong(left, right);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("longBinaryOperator", exception, start);
+                return rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform LongToIntFunctional to LongToIntFunction with sneaky throw
+     * @param functional the LongToIntFunctional interface implementation
+     * @return resulted LongToIntFunction
+     */
+    public static LongToIntFunction longToIntFunction(@NonNull LongToIntFunctional functional) {
+        return value -> {
+            long start = SneakyEvents.start();
+            try {
+                return functional.applyAsInt(value);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("longToIntFunction", exception, start);
+                return rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform LongToDoubleFunctional to LongToDoubleFunction with sneaky throw
+     * @param functional the LongToDoubleFunctional interface implementation
+     * @return resulted LongToDoubleFunction
+     */
+    public static LongToDoubleFunction longToDoubleFunction(@NonNull LongToDoubleFunctional functional) {
+        return value -> {
+            long start = SneakyEvents.start();
+            try {
+                return functional.applyAsDouble(value);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("longToDoubleFunction", exception, start);
+                return rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform ToLongFunctional to ToLongFunction with sneaky throw
+     * @param functional the ToLongFunctional interface implementation
+     * @return resulted ToLongFunction
+     * @param <P> type of function parameter
+     */
+    public static <P> ToLongFunction<P> toLongFunction(@NonNull ToLongFunctional<P> functional) {
+        return p -> {
+            long start = SneakyEvents.start();
+            try {
+                return functional.applyAsLong(p);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("toLongFunction", exception, start);
+                return rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform ToLongBiFunctional to ToLongBiFunction with sneaky throw
+     * @param functional the ToLongBiFunctional interface implementation
+     * @return resulted ToLongBiFunction
+     * @param <P> type of function first parameter
+     * @param <Q> type of function second parameter
+     */
+    public static <P, Q> ToLongBiFunction<P,Q> toLongBiFunction(@NonNull ToLongBiFunctional<P,Q> functional) {
+        return (p, q) -> {
+            long start = SneakyEvents.start();
+            try {
+                return functional.applyAsLong(p, q);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("toLongBiFunction", exception, start);
+                return rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform ObjLongConsumable to ObjLongConsumer with sneaky throw
+     * @param functional the ObjLongConsumable interface implementation
+     * @return resulted ObjLongConsumer
+     * @param <P> type of function parameter
+     */
+    public static <P> ObjLongConsumer<P> objLongConsumer(@NonNull ObjLongConsumable<P> functional) {
+        return (p, value) -> {
+            long start = SneakyEvents.start();
+            try {
+                functional.consume(p, value);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("objLongConsumer", exception, start);
+                sneakyThrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform DoubleSuppliable to DoubleSupplier with sneaky throw
+     * @param functional the DoubleSuppliable interface implementation
+     * @return resulted DoubleSupplier
+     */
+    public static DoubleSupplier doubleSupplier(@NonNull DoubleSuppliable functional) {
+        return () -> {
+            long start = SneakyEvents.start();
+            try {
+                return functional.getAsDouble();
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("doubleSupplier", exception, start);
+                return rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform DoubleFunctional to DoubleFunction with sneaky throw
+     * @param functional the DoubleFunctional interface implementation
+     * @return resulted DoubleFunction
+     * @param <R> type of function result
+     */
+    public static <R> DoubleFunction<R> doubleFunction(@NonNull DoubleFunctional<R> functional) {
+        return value -> {
+            long start = SneakyEvents.start();
+            try {
+                return functional.apply(value);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("doubleFunction", exception, start);
+                return rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform DoubleTestable to DoublePredicate with sneaky throw
+     * @param functional the DoubleTestable interface implementation
+     * @return resulted DoublePredicate
+     */
+    public static DoublePredicate doublePredicate(@NonNull DoubleTestable functional) {
+        return value -> {
+            long start = SneakyEvents.start();
+            try {
+                return functional.test(value);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("doublePredicate", exception, start);
+                return rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform DoubleConsumable to DoubleConsumer with sneaky throw
+     * @param functional the DoubleConsumable interface implementation
+     * @return resulted DoubleConsumer
+     */
+    public static DoubleConsumer doubleConsumer(@NonNull DoubleConsumable functional) {
+        return value -> {
+            long start = SneakyEvents.start();
+            try {
+                functional.consume(value);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("doubleConsumer", exception, start);
+                sneakyThrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform DoubleUnaryOperable to DoubleUnaryOperator with sneaky throw
+     * @param functional the DoubleUnaryOperable interface implementation
+     * @return resulted DoubleUnaryOperator
+     */
+    public static DoubleUnaryOperator doubleUnaryOperator(@NonNull DoubleUnaryOperable functional) {
+        return operand -> {
+            long start = SneakyEvents.start();
+            try {
+                return functional.applyAsDouble(operand);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("doubleUnaryOperator", exception, start);
+                return rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform DoubleBinaryOperable to DoubleBinaryOperator with sneaky throw
+     * @param functional the DoubleBinaryOperable interface implementation
+     * @return resulted DoubleBinaryOperator
+     */
+    public static DoubleBinaryOperator doubleBinaryOperator(@NonNull DoubleBinaryOperable functional) {
+        return (left, right) -> {
+            long start = SneakyEvents.start();
+            try {
+                return functional.applyAsDouble(left, right);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("doubleBinaryOperator", exception, start);
+                return rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform DoubleToIntFunctional to DoubleToIntFunction with sneaky throw
+     * @param functional the DoubleToIntFunctional interface implementation
+     * @return resulted DoubleToIntFunction
+     */
+    public static DoubleToIntFunction doubleToIntFunction(@NonNull DoubleToIntFunctional functional) {
+        return value -> {
+            long start = SneakyEvents.start();
+            try {
+                return functional.applyAsInt(value);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("doubleToIntFunction", exception, start);
+                return rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform DoubleToLongFunctional to DoubleToLongFunction with sneaky throw
+     * @param functional the DoubleToLongFunctional interface implementation
+     * @return resulted DoubleToLongFunction
+     */
+    public static DoubleToLongFunction doubleToLongFunction(@NonNull DoubleToLongFunctional functional) {
+        return value -> {
+            long start = SneakyEvents.start();
+            try {
+                return functional.applyAsLong(value);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("doubleToLongFunction", exception, start);
+                return rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform ToDoubleFunctional to ToDoubleFunction with sneaky throw
+     * @param functional the ToDoubleFunctional interface implementation
+     * @return resulted ToDoubleFunction
+     * @param <P> type of function parameter
+     */
+    public static <P> ToDoubleFunction<P> toDoubleFunction(@NonNull ToDoubleFunctional<P> functional) {
+        return p -> {
+            long start = SneakyEvents.start();
+            try {
+                return functional.applyAsDouble(p);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("toDoubleFunction", exception, start);
+                return rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform ToDoubleBiFunctional to ToDoubleBiFunction with sneaky throw
+     * @param functional the ToDoubleBiFunctional interface implementation
+     * @return resulted ToDoubleBiFunction
+     * @param <P> type of function first parameter
+     * @param <Q> type of function second parameter
+     */
+    public static <P, Q> ToDoubleBiFunction<P,Q> toDoubleBiFunction(@NonNull ToDoubleBiFunctional<P,Q> functional) {
+        return (p, q) -> {
+            long start = SneakyEvents.start();
+            try {
+                return functional.applyAsDouble(p, q);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("toDoubleBiFunction", exception, start);
+                return rethrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Transform ObjDoubleConsumable to ObjDoubleConsumer with sneaky throw
+     * @param functional the ObjDoubleConsumable interface implementation
+     * @return resulted ObjDoubleConsumer
+     * @param <P> type of function parameter
+     */
+    public static <P> ObjDoubleConsumer<P> objDoubleConsumer(@NonNull ObjDoubleConsumable<P> functional) {
+        return (p, value) -> {
+            long start = SneakyEvents.start();
+            try {
+                functional.consume(p, value);
+            } catch (Exception exception) {
+                SneakyEvents.wrapperFailure("objDoubleConsumer", exception, start);
+                sneakyThrow(exception);
+            }
+        };
+    }
+
+    /**
+     * Sneaky adapters which throw checked exceptions wrapped into the lightweight stackless {@link CarrierException}
+     * instead of rethrowing the originals. {@link Exceptional#cause(Throwable)} unwraps the carrier to the original exception
+     */
+    public static final class Carrying {
+
+        /**
+         * Transform Callable to Supplier with carried throw
+         * @param call the Callable interface implementation
+         * @return resulted Supplier
+         * @param <V> type of supplier/callable result
+         */
+        public static <V> Supplier<V> supplier(@NonNull Callable<V> call) {
+            return () -> {
+                long start = SneakyEvents.start();
+                try {
+                    return call.call();
+                } catch (Exception exception) {
+                    SneakyEvents.wrapperFailure("carrying.supplier", exception, start);
+                    return rethrowUnchecked(exception);
+                }
+            };
+        }
+
+        /**
+         * Transform Functional to Function with carried throw
+         * @param functional the Functional interface implementation
+         * @return resulted Function
+         * @param <P> type of function parameter
+         * @param <R> type of function result
+         */
+        public static <P,R> Function<P,R> function(@NonNull Functional<P,R> functional) {
+            return parameter -> {
+                long start = SneakyEvents.start();
+                try {
+                    return functional.apply(parameter);
+                } catch (Exception exception) {
+                    SneakyEvents.wrapperFailure("carrying.function", exception, start);
+                    return rethrowUnchecked(exception);
+                }
+            };
+        }
+
+        /**
+         * Transform BiFunctional to BiFunction with carried throw
+         * @param functional the Functional interface implementation
+         * @return resulted BiFunction
+         * @param <P> type of function first parameter
+         * @param <Q> type of function second parameter
+         * @param <R> type of function result
+         */
+        public static <P, Q, R> BiFunction<P,Q,R> bifunction(@NonNull BiFunctional<P, Q, R> functional) {
+            return (p, q) -> {
+                long start = SneakyEvents.start();
+                try {
+                    return functional.apply(p, q);
+                } catch (Exception exception) {
+                    SneakyEvents.wrapperFailure("carrying.bifunction", exception, start);
+                    return rethrowUnchecked(exception);
+                }
+            };
+        }
+
+        /**
+         * Transform Processable to Runnable with carried throw
+         * @param processor the Processable interface implementation
+         * @return resulted Runnable
+         */
+        public static Runnable runnable(@NonNull Processable processor) {
+            return () -> {
+                long start = SneakyEvents.start();
+                try {
+                    processor.process();
+                } catch (Exception exception) {
+                    SneakyEvents.wrapperFailure("carrying.runnable", exception, start);
+                    rethrowUnchecked(exception);
+                }
+            };
+        }
+
+        /**
+         * Transform Consumable to Consumer with carried throw
+         * @param consumable the Consumable interface implementation
+         * @return resulted Consumer
+         * @param <P> type of function parameter
+         */
+        public static <P> Consumer<P> consumer(@NonNull Consumable<P> consumable) {
+            return p -> {
+                long start = SneakyEvents.start();
+                try {
+                    consumable.consume(p);
+                } catch (Exception exception) {
+                    SneakyEvents.wrapperFailure("carrying.consumer", exception, start);
+                    rethrowUnchecked(exception);
+                }
+            };
+        }
+
+        /**
+         * Transform BiConsumable to BiConsumer with carried throw
+         * @param consumable the Consumable interface implementation
+         * @return resulted BiConsumer
+         * @param <P> type of function first parameter
+         * @param <Q> type of function second parameter
+         */
+        public static <P, Q> BiConsumer<P, Q> biconsumer(@NonNull BiConsumable<P, Q> consumable) {
+            return (p, q) -> {
+                long start = SneakyEvents.start();
+                try {
+                    consumable.consume(p, q);
+                } catch (Exception exception) {
+                    SneakyEvents.wrapperFailure("carrying.biconsumer", exception, start);
+                    rethrowUnchecked(exception);
+                }
+            };
+        }
+
+        private Carrying() {
+        }
+
+    }
+
     /**
      * Runnable analogue of functional interface in which a method can throw a declared exception
      */
     @FunctionalInterface
-    public interface Processable {
+    public interface Processable {
+        /**
+         * The general contract of the method <code>process</code> is that it may
+         * take any action whatsoever.
+         * @throws Exception able to throw Any exception
+         */
+        void process() throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+
+    }
+
+    /**
+     * Consumer analogue of functional interface in which a method can throw a declared exception
+     *
+     * @param <P> parameter type
+     */
+    @FunctionalInterface
+    public interface Consumable<P> {
+        /**
+         * Performs this operation on the given argument.
+         *
+         * @param p the input argument
+         * @throws Exception able to throw Any exception
+         */
+        void consume(P p) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
+
+    /**
+     * BiConsumer analogue of functional interface in which a method can throw a declared exception
+     *
+     * @param <P> first parameter type
+     * @param <Q> second parameter type
+     */
+    @FunctionalInterface
+    public interface BiConsumable<P,Q> {
+        /**
+         * Performs this operation on the given arguments.
+         *
+         * @param p the first input argument
+         * @param q the second input argument
+         * @throws Exception able to throw Any exception
+         */
+        void consume(P p, Q q) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
+
+    /**
+     * Function analogue of functional interface in which a method can throw a declared exception
+     *
+     * @param <P> parameter type
+     * @param <R> result type
+     */
+    @FunctionalInterface
+    public interface Functional<P, R> {
+
+        /**
+         * Applies this function to the given argument.
+         *
+         * @param p the function argument
+         * @return the function result
+         * @throws Exception able to throw Any exception
+         */
+        R apply(P p) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+
+    }
+
+    /**
+     * BiFunction analogue of functional interface in which a method can throw a declared exception
+     *
+     * @param <P> first parameter type
+     * @param <Q> second parameter type
+     * @param <R> result type
+     */
+    @FunctionalInterface
+    public interface BiFunctional<P, Q, R> {
+
+        /**
+         * Applies this function to the given arguments.
+         *
+         * @param p the first function argument
+         * @param q the second function argument
+         * @return the function result
+         * @throws Exception able to throw Any exception
+         */
+        R apply(P p, Q q) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
+
+    /**
+     * BooleanSupplier analogue of functional interface in which a method can throw a declared exception
+     */
+    @FunctionalInterface
+    public interface BooleanSuppliable {
+        /**
+         * Gets a result.
+         *
+         * @return the result
+         * @throws Exception able to throw Any exception
+         */
+        boolean getAsBoolean() throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
+
+    /**
+     * IntSupplier analogue of functional interface in which a method can throw a declared exception
+     */
+    @FunctionalInterface
+    public interface IntSuppliable {
+        /**
+         * Gets a result.
+         *
+         * @return the result
+         * @throws Exception able to throw Any exception
+         */
+        int getAsInt() throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
+
+    /**
+     * IntFunction analogue of functional interface in which a method can throw a declared exception
+     *
+     * @param <R> result type
+     */
+    @FunctionalInterface
+    public interface IntFunctional<R> {
+        /**
+         * Applies this function to the given argument.
+         *
+         * @param value the input argument
+         * @return the result
+         * @throws Exception able to throw Any exception
+         */
+        R apply(int value) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
+
+    /**
+     * IntPredicate analogue of functional interface in which a method can throw a declared exception
+     */
+    @FunctionalInterface
+    public interface IntTestable {
+        /**
+         * Evaluates this predicate on the given argument.
+         *
+         * @param value the input argument
+         * @return the result
+         * @throws Exception able to throw Any exception
+         */
+        boolean test(int value) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
+
+    /**
+     * IntConsumer analogue of functional interface in which a method can throw a declared exception
+     */
+    @FunctionalInterface
+    public interface IntConsumable {
+        /**
+         * Performs this operation on the given argument.
+         *
+         * @param value the input argument
+         * @throws Exception able to throw Any exception
+         */
+        void consume(int value) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
+
+    /**
+     * IntUnaryOperator analogue of functional interface in which a method can throw a declared exception
+     */
+    @FunctionalInterface
+    public interface IntUnaryOperable {
+        /**
+         * Applies this function to the given argument.
+         *
+         * @param operand the input argument
+         * @return the result
+         * @throws Exception able to throw Any exception
+         */
+        int applyAsInt(int operand) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
+
+    /**
+     * IntBinaryOperator analogue of functional interface in which a method can throw a declared exception
+     */
+    @FunctionalInterface
+    public interface IntBinaryOperable {
+        /**
+         * Applies this function to the given arguments.
+         *
+         * @param left the first input argument
+         * @param right the second input argument
+         * @return the result
+         * @throws Exception able to throw Any exception
+         */
+        int applyAsInt(int left, int right) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
+
+    /**
+     * IntToLongFunction analogue of functional interface in which a method can throw a declared exception
+     */
+    @FunctionalInterface
+    public interface IntToLongFunctional {
+        /**
+         * Applies this function to the given argument.
+         *
+         * @param value the input argument
+         * @return the result
+         * @throws Exception able to throw Any exception
+         */
+        long applyAsLong(int value) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
+
+    /**
+     * IntToDoubleFunction analogue of functional interface in which a method can throw a declared exception
+     */
+    @FunctionalInterface
+    public interface IntToDoubleFunctional {
         /**
-         * The general contract of the method <code>process</code> is that it may
-         * take any action whatsoever.
+         * Applies this function to the given argument.
+         *
+         * @param value the input argument
+         * @return the result
          * @throws Exception able to throw Any exception
          */
-        void process() throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
-
+        double applyAsDouble(int value) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
     }
 
     /**
-     * Consumer analogue of functional interface in which a method can throw a declared exception
+     * ToIntFunction analogue of functional interface in which a method can throw a declared exception
      *
      * @param <P> parameter type
      */
     @FunctionalInterface
-    public interface Consumable<P> {
+    public interface ToIntFunctional<P> {
         /**
-         * Performs this operation on the given argument.
+         * Applies this function to the given argument.
          *
          * @param p the input argument
+         * @return the result
          * @throws Exception able to throw Any exception
          */
-        void consume(P p) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+        int applyAsInt(P p) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
     }
 
     /**
-     * BiConsumer analogue of functional interface in which a method can throw a declared exception
+     * ToIntBiFunction analogue of functional interface in which a method can throw a declared exception
      *
      * @param <P> first parameter type
      * @param <Q> second parameter type
      */
     @FunctionalInterface
-    public interface BiConsumable<P,Q> {
+    public interface ToIntBiFunctional<P, Q> {
         /**
-         * Performs this operation on the given arguments.
+         * Applies this function to the given arguments.
          *
          * @param p the first input argument
          * @param q the second input argument
+         * @return the result
          * @throws Exception able to throw Any exception
          */
-        void consume(P p, Q q) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+        int applyAsInt(P p, Q q) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
     }
 
     /**
-     * Function analogue of functional interface in which a method can throw a declared exception
+     * ObjIntConsumer analogue of functional interface in which a method can throw a declared exception
+     *
+     * @param <P> first parameter type
+     */
+    @FunctionalInterface
+    public interface ObjIntConsumable<P> {
+        /**
+         * Performs this operation on the given arguments.
+         *
+         * @param p the first input argument
+         * @param value the second input argument
+         * @throws Exception able to throw Any exception
+         */
+        void consume(P p, int value) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
+
+    /**
+     * LongSupplier analogue of functional interface in which a method can throw a declared exception
+     */
+    @FunctionalInterface
+    public interface LongSuppliable {
+        /**
+         * Gets a result.
+         *
+         * @return the result
+         * @throws Exception able to throw Any exception
+         */
+        long getAsLong() throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
+
+    /**
+     * LongFunction analogue of functional interface in which a method can throw a declared exception
      *
-     * @param <P> parameter type
      * @param <R> result type
      */
     @FunctionalInterface
-    public interface Functional<P, R> {
+    public interface LongFunctional<R> {
+        /**
+         * Applies this function to the given argument.
+         *
+         * @param value the input argument
+         * @return the result
+         * @throws Exception able to throw Any exception
+         */
+        R apply(long value) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
+
+    /**
+     * LongPredicate analogue of functional interface in which a method can throw a declared exception
+     */
+    @FunctionalInterface
+    public interface LongTestable {
+        /**
+         * Evaluates this predicate on the given argument.
+         *
+         * @param value the input argument
+         * @return the result
+         * @throws Exception able to throw Any exception
+         */
+        boolean test(long value) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
+
+    /**
+     * LongConsumer analogue of functional interface in which a method can throw a declared exception
+     */
+    @FunctionalInterface
+    public interface LongConsumable {
+        /**
+         * Performs this operation on the given argument.
+         *
+         * @param value the input argument
+         * @throws Exception able to throw Any exception
+         */
+        void consume(long value) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
 
+    /**
+     * LongUnaryOperator analogue of functional interface in which a method can throw a declared exception
+     */
+    @FunctionalInterface
+    public interface LongUnaryOperable {
         /**
          * Applies this function to the given argument.
          *
-         * @param p the function argument
-         * @return the function result
+         * @param operand the input argument
+         * @return the result
          * @throws Exception able to throw Any exception
          */
-        R apply(P p) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+        long applyAsLong(long operand) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
+
+    /**
+     * LongBinaryOperator analogue of functional interface in which a method can throw a declared exception
+     */
+    @FunctionalInterface
+    public interface LongBinaryOperable {
+        /**
+         * Applies this function to the given arguments.
+         *
+         * @param left the first input argument
+         * @param right the second input argument
+         * @return the result
+         * @throws Exception able to throw Any exception
+         */
+        long applyAsLong(long left, long right) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
 
+    /**
+     * LongToIntFunction analogue of functional interface in which a method can throw a declared exception
+     */
+    @FunctionalInterface
+    public interface LongToIntFunctional {
+        /**
+         * Applies this function to the given argument.
+         *
+         * @param value the input argument
+         * @return the result
+         * @throws Exception able to throw Any exception
+         */
+        int applyAsInt(long value) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
     }
 
     /**
-     * BiFunction analogue of functional interface in which a method can throw a declared exception
+     * LongToDoubleFunction analogue of functional interface in which a method can throw a declared exception
+     */
+    @FunctionalInterface
+    public interface LongToDoubleFunctional {
+        /**
+         * Applies this function to the given argument.
+         *
+         * @param value the input argument
+         * @return the result
+         * @throws Exception able to throw Any exception
+         */
+        double applyAsDouble(long value) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
+
+    /**
+     * ToLongFunction analogue of functional interface in which a method can throw a declared exception
+     *
+     * @param <P> parameter type
+     */
+    @FunctionalInterface
+    public interface ToLongFunctional<P> {
+        /**
+         * Applies this function to the given argument.
+         *
+         * @param p the input argument
+         * @return the result
+         * @throws Exception able to throw Any exception
+         */
+        long applyAsLong(P p) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
+
+    /**
+     * ToLongBiFunction analogue of functional interface in which a method can throw a declared exception
      *
      * @param <P> first parameter type
      * @param <Q> second parameter type
+     */
+    @FunctionalInterface
+    public interface ToLongBiFunctional<P, Q> {
+        /**
+         * Applies this function to the given arguments.
+         *
+         * @param p the first input argument
+         * @param q the second input argument
+         * @return the result
+         * @throws Exception able to throw Any exception
+         */
+        long applyAsLong(P p, Q q) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
+
+    /**
+     * ObjLongConsumer analogue of functional interface in which a method can throw a declared exception
+     *
+     * @param <P> first parameter type
+     */
+    @FunctionalInterface
+    public interface ObjLongConsumable<P> {
+        /**
+         * Performs this operation on the given arguments.
+         *
+         * @param p the first input argument
+         * @param value the second input argument
+         * @throws Exception able to throw Any exception
+         */
+        void consume(P p, long value) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
+
+    /**
+     * DoubleSupplier analogue of functional interface in which a method can throw a declared exception
+     */
+    @FunctionalInterface
+    public interface DoubleSuppliable {
+        /**
+         * Gets a result.
+         *
+         * @return the result
+         * @throws Exception able to throw Any exception
+         */
+        double getAsDouble() throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
+
+    /**
+     * DoubleFunction analogue of functional interface in which a method can throw a declared exception
+     *
      * @param <R> result type
      */
     @FunctionalInterface
-    public interface BiFunctional<P, Q, R> {
+    public interface DoubleFunctional<R> {
+        /**
+         * Applies this function to the given argument.
+         *
+         * @param value the input argument
+         * @return the result
+         * @throws Exception able to throw Any exception
+         */
+        R apply(double value) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
+
+    /**
+     * DoublePredicate analogue of functional interface in which a method can throw a declared exception
+     */
+    @FunctionalInterface
+    public interface DoubleTestable {
+        /**
+         * Evaluates this predicate on the given argument.
+         *
+         * @param value the input argument
+         * @return the result
+         * @throws Exception able to throw Any exception
+         */
+        boolean test(double value) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
+
+    /**
+     * DoubleConsumer analogue of functional interface in which a method can throw a declared exception
+     */
+    @FunctionalInterface
+    public interface DoubleConsumable {
+        /**
+         * Performs this operation on the given argument.
+         *
+         * @param value the input argument
+         * @throws Exception able to throw Any exception
+         */
+        void consume(double value) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
+
+    /**
+     * DoubleUnaryOperator analogue of functional interface in which a method can throw a declared exception
+     */
+    @FunctionalInterface
+    public interface DoubleUnaryOperable {
+        /**
+         * Applies this function to the given argument.
+         *
+         * @param operand the input argument
+         * @return the result
+         * @throws Exception able to throw Any exception
+         */
+        double applyAsDouble(double operand) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
 
+    /**
+     * DoubleBinaryOperator analogue of functional interface in which a method can throw a declared exception
+     */
+    @FunctionalInterface
+    public interface DoubleBinaryOperable {
         /**
          * Applies this function to the given arguments.
          *
-         * @param p the first function argument
-         * @param q the second function argument
-         * @return the function result
+         * @param left the first input argument
+         * @param right the second input argument
+         * @return the result
          * @throws Exception able to throw Any exception
          */
-        R apply(P p, Q q) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+        double applyAsDouble(double left, double right) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
+
+    /**
+     * DoubleToIntFunction analogue of functional interface in which a method can throw a declared exception
+     */
+    @FunctionalInterface
+    public interface DoubleToIntFunctional {
+        /**
+         * Applies this function to the given argument.
+         *
+         * @param value the input argument
+         * @return the result
+         * @throws Exception able to throw Any exception
+         */
+        int applyAsInt(double value) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
+
+    /**
+     * DoubleToLongFunction analogue of functional interface in which a method can throw a declared exception
+     */
+    @FunctionalInterface
+    public interface DoubleToLongFunctional {
+        /**
+         * Applies this function to the given argument.
+         *
+         * @param value the input argument
+         * @return the result
+         * @throws Exception able to throw Any exception
+         */
+        long applyAsLong(double value) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
+
+    /**
+     * ToDoubleFunction analogue of functional interface in which a method can throw a declared exception
+     *
+     * @param <P> parameter type
+     */
+    @FunctionalInterface
+    public interface ToDoubleFunctional<P> {
+        /**
+         * Applies this function to the given argument.
+         *
+         * @param p the input argument
+         * @return the result
+         * @throws Exception able to throw Any exception
+         */
+        double applyAsDouble(P p) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
+
+    /**
+     * ToDoubleBiFunction analogue of functional interface in which a method can throw a declared exception
+     *
+     * @param <P> first parameter type
+     * @param <Q> second parameter type
+     */
+    @FunctionalInterface
+    public interface ToDoubleBiFunctional<P, Q> {
+        /**
+         * Applies this function to the given arguments.
+         *
+         * @param p the first input argument
+         * @param q the second input argument
+         * @return the result
+         * @throws Exception able to throw Any exception
+         */
+        double applyAsDouble(P p, Q q) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
+    }
+
+    /**
+     * ObjDoubleConsumer analogue of functional interface in which a method can throw a declared exception
+     *
+     * @param <P> first parameter type
+     */
+    @FunctionalInterface
+    public interface ObjDoubleConsumable<P> {
+        /**
+         * Performs this operation on the given arguments.
+         *
+         * @param p the first input argument
+         * @param value the second input argument
+         * @throws Exception able to throw Any exception
+         */
+        void consume(P p, double value) throws Exception; //NOSONAR java:S112 Generic exceptions should never be thrown
     }
 
     private Sneaky() {
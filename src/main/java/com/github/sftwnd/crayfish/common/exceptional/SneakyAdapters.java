@@ -0,0 +1,179 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Adapters of throwing functional interfaces to arbitrary functional interfaces spun by {@link LambdaMetafactory}.
+ * The adapter class calls the single abstract method of the implementation directly (no reflection, no argument arrays),
+ * checked exceptions pass through sneakily. Adapter factories are spun once per pair of the implementation interface
+ * and the target interface and cached per implementation class
+ */
+final class SneakyAdapters {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType FACTORY_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    // implementation interface -> target interface -> adapter factory
+    private static final ClassValue<ConcurrentMap<Class<?>, MethodHandle>> PAIRS = new ClassValue<>() {
+        @Override
+        protected ConcurrentMap<Class<?>, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    // implementation class -> target interface -> adapter factory
+    private static final ClassValue<ConcurrentMap<Class<?>, MethodHandle>> FACTORIES = new ClassValue<>() {
+        @Override
+        protected ConcurrentMap<Class<?>, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private SneakyAdapters() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <I> I adapt(Class<I> target, Object implementation) {
+        Objects.requireNonNull(target, "Sneaky::adapt - target is null");
+        Objects.requireNonNull(implementation, "Sneaky::adapt - implementation is null");
+        if (!target.isInterface()) {
+            throw new IllegalArgumentException("Sneaky::adapt - " + target.getName() + " has to be an interface");
+        }
+        if (target.isInstance(implementation)) {
+            return (I) implementation;
+        }
+        ConcurrentMap<Class<?>, MethodHandle> factories = FACTORIES.get(implementation.getClass());
+        MethodHandle factory = factories.get(target);
+        if (factory == null) {
+            factory = factories.computeIfAbsent(target, type -> factory(type, implementation.getClass()));
+        }
+        try {
+            return (I) factory.invokeExact(implementation);
+        } catch (Throwable throwable) {
+            return Exceptional.rethrow(throwable);
+        }
+    }
+
+    private static MethodHandle factory(Class<?> target, Class<?> implementationClass) {
+        Method targetMethod = abstractMethod(target);
+        Class<?> source = sourceInterface(implementationClass, targetMethod.getParameterCount());
+        return PAIRS.get(source).computeIfAbsent(target, type -> spin(type, targetMethod, source));
+    }
+
+    private static MethodHandle spin(Class<?> target, Method targetMethod, Class<?> source) {
+        Method sourceMethod = abstractMethod(source);
+        // the spun class is defined in this module, it has to read modules of both interfaces
+        SneakyAdapters.class.getModule().addReads(target.getModule()).addReads(source.getModule());
+        try {
+            MethodHandle implementation = LOOKUP.findVirtual(source, sourceMethod.getName(),
+                    MethodType.methodType(sourceMethod.getReturnType(), sourceMethod.getParameterTypes()));
+            MethodType samType = MethodType.methodType(targetMethod.getReturnType(), targetMethod.getParameterTypes());
+            // reference parameters are narrowed by casts to the parameter types of the implementation
+            Class<?>[] parameters = targetMethod.getParameterTypes();
+            for (int i = 0; i < parameters.length; i++) {
+                Class<?> parameter = sourceMethod.getParameterTypes()[i];
+                if (!parameters[i].isPrimitive() && !parameter.isPrimitive() && parameters[i].isAssignableFrom(parameter)) {
+                    parameters[i] = parameter;
+                }
+            }
+            CallSite site = LambdaMetafactory.metafactory(LOOKUP, targetMethod.getName(), MethodType.methodType(target, source),
+                    samType, implementation, MethodType.methodType(targetMethod.getReturnType(), parameters));
+            return site.getTarget().asType(FACTORY_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException | LambdaConversionException | LinkageError exception) {
+            throw new IllegalArgumentException("Sneaky::adapt - unable to adapt " + source.getName() + " to " + target.getName() + ": " + exception.getMessage(), exception);
+        }
+    }
+
+    // the functional interface of the implementation with the same number of parameters as the target one
+    private static Class<?> sourceInterface(Class<?> implementationClass, int parameterCount) {
+        List<Class<?>> candidates = new ArrayList<>(1);
+        for (Class<?> type : interfaces(implementationClass)) {
+            Method method = findAbstractMethod(type);
+            if (method != null && method.getParameterCount() == parameterCount) {
+                candidates.add(type);
+            }
+        }
+        if (candidates.size() != 1) {
+            throw new IllegalArgumentException("Sneaky::adapt - " + implementationClass.getName() + " has to implement exactly one functional interface with "
+                    + parameterCount + " parameter(s), but: " + candidates);
+        }
+        return candidates.get(0);
+    }
+
+    private static Set<Class<?>> interfaces(Class<?> type) {
+        Set<Class<?>> result = new LinkedHashSet<>();
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            collect(current.getInterfaces(), result);
+        }
+        // superinterfaces of a functional interface are not the candidates if the interface itself is
+        Set<Class<?>> direct = new LinkedHashSet<>(result);
+        for (Class<?> candidate : result) {
+            if (findAbstractMethod(candidate) != null) {
+                for (Class<?> parent : candidate.getInterfaces()) {
+                    direct.remove(parent);
+                }
+            }
+        }
+        return direct;
+    }
+
+    private static void collect(Class<?>[] types, Set<Class<?>> result) {
+        for (Class<?> type : types) {
+            if (result.add(type)) {
+                collect(type.getInterfaces(), result);
+            }
+        }
+    }
+
+    private static Method abstractMethod(Class<?> type) {
+        if (!type.isInterface()) {
+            throw new IllegalArgumentException("Sneaky::adapt - " + type.getName() + " has to be an interface");
+        }
+        Method method = findAbstractMethod(type);
+        if (method == null) {
+            throw new IllegalArgumentException("Sneaky::adapt - " + type.getName() + " has to be a functional interface");
+        }
+        return method;
+    }
+
+    // the single abstract method of the interface or null
+    private static Method findAbstractMethod(Class<?> type) {
+        if (!type.isInterface()) {
+            return null;
+        }
+        Method result = null;
+        for (Method method : type.getMethods()) {
+            if (Modifier.isAbstract(method.getModifiers()) && !isObjectMethod(method)) {
+                if (result != null && !(result.getName().equals(method.getName()) && Arrays.equals(result.getParameterTypes(), method.getParameterTypes()))) {
+                    return null;
+                }
+                result = method;
+            }
+        }
+        return result;
+    }
+
+    private static boolean isObjectMethod(Method method) {
+        try {
+            return Modifier.isPublic(Object.class.getMethod(method.getName(), method.getParameterTypes()).getModifiers());
+        } catch (NoSuchMethodException exception) {
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,353 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Batching stage: elements are collected by the own thread and passed to the throwing batch consumer when the batch
+ * size is reached or the max delay since the first element of the batch is expired. The failed batch is retried by
+ * the {@link Retry} policy, then bisected until the failing (poison) elements are isolated and passed to the poison handler.
+ * A single poison element costs about 2*log2(batchSize) extra calls instead of the per-element delivery of the whole batch,
+ * each other poison element adds up to the same number. Only the element specific failures selected by the bisectable
+ * predicate are bisected, on any other failure (unavailable target and so on) all elements of the failed batch are passed
+ * to the poison handler at once.
+ * InterruptedException of the consumer stops the stage promptly: it is processed by {@link Exceptional#reInterrupt(Throwable)}
+ * and the elements not delivered yet are returned by {@link #shutdownNow()}. Any other throwable escaping the delivery
+ * (Error of the consumer, failure of the bisectable predicate) stops the stage the same way and is thrown by the batcher thread,
+ * waiting submissions and close are released
+ * @param <P> type of the elements
+ */
+public final class SneakyBatcher<P> implements AutoCloseable {
+
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+    private static final Object FLUSH = new Object();
+    private static final Object CLOSE = new Object();
+    private static final Retry NO_RETRY = Retry.of(1);
+    private static final Predicate<Throwable> ANY = throwable -> true;
+    private static final long WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final int batchSize;
+    private final long maxDelayNanos;
+    private final Retry retry;
+    private final Sneaky.Consumable<List<P>> consumer;
+    private final Sneaky.BiConsumable<? super P, ? super Throwable> poisonHandler;
+    private final Predicate<? super Throwable> bisectable;
+    private final BlockingQueue<Object> queue;
+    private final Thread worker;
+    private final LongAdder submitted = new LongAdder();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong poisoned = new AtomicLong();
+    private final List<P> leftovers = new ArrayList<>();
+    private volatile boolean closed;
+    // accessed by the worker only: number of elements of the current batch which are delivered or poisoned
+    private int processed;
+
+    /**
+     * Create batcher without retries which drops poison elements (they are counted by {@link #poisoned()}).
+     * The capacity of the queue is four batches
+     * @param batchSize max number of elements in the batch
+     * @param maxDelay max delay of the first element of the batch
+     * @param consumer throwing batch consumer
+     */
+    public SneakyBatcher(int batchSize, @NonNull Duration maxDelay, @NonNull Sneaky.Consumable<List<P>> consumer) {
+        this(batchSize * 4, batchSize, maxDelay, NO_RETRY, consumer, (element, failure) -> { });
+    }
+
+    /**
+     * Create batcher which bisects any failed batch
+     * @param capacity max number of elements waiting in the queue, submission blocks on the full queue
+     * @param batchSize max number of elements in the batch
+     * @param maxDelay max delay of the first element of the batch
+     * @param retry retry policy of each batch and bisected part
+     * @param consumer throwing batch consumer, the passed list is unmodifiable
+     * @param poisonHandler receiver of the isolated failing element and its failure
+     */
+    public SneakyBatcher(int capacity, int batchSize, @NonNull Duration maxDelay, @NonNull Retry retry,
+                         @NonNull Sneaky.Consumable<List<P>> consumer, @NonNull Sneaky.BiConsumable<? super P, ? super Throwable> poisonHandler) {
+        this(capacity, batchSize, maxDelay, retry, consumer, poisonHandler, ANY);
+    }
+
+    /**
+     * Create batcher
+     * @param capacity max number of elements waiting in the queue, submission blocks on the full queue
+     * @param batchSize max number of elements in the batch
+     * @param maxDelay max delay of the first element of the batch
+     * @param retry retry policy of each batch and bisected part
+     * @param consumer throwing batch consumer, the passed list is unmodifiable
+     * @param poisonHandler receiver of the failing element and its failure
+     * @param bisectable predicate on the significant cause which selects element specific failures to bisect,
+     *                   the other failures are passed to the poison handler with each element of the failed batch
+     */
+    public SneakyBatcher(int capacity, int batchSize, @NonNull Duration maxDelay, @NonNull Retry retry,
+                         @NonNull Sneaky.Consumable<List<P>> consumer, @NonNull Sneaky.BiConsumable<? super P, ? super Throwable> poisonHandler,
+                         @NonNull Predicate<? super Throwable> bisectable) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("SneakyBatcher - batchSize has to be positive, but: " + batchSize);
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("SneakyBatcher - capacity has to be positive, but: " + capacity);
+        }
+        Objects.requireNonNull(maxDelay, "SneakyBatcher - maxDelay is null");
+        if (maxDelay.isNegative()) {
+            throw new IllegalArgumentException("SneakyBatcher - maxDelay has to be non negative, but: " + maxDelay);
+        }
+        this.batchSize = batchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.retry = Objects.requireNonNull(retry, "SneakyBatcher - retry is null");
+        this.consumer = Objects.requireNonNull(consumer, "SneakyBatcher - consumer is null");
+        this.poisonHandler = Objects.requireNonNull(poisonHandler, "SneakyBatcher - poisonHandler is null");
+        this.bisectable = Objects.requireNonNull(bisectable, "SneakyBatcher - bisectable is null");
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.worker = new Thread(this::work, "sneaky-batcher-" + COUNTER.incrementAndGet());
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Submit the element, waits for the free space in the queue while the batcher thread is alive.
+     * InterruptedException of the wait is sneaky thrown with the interrupt flag restored
+     * @param element element
+     * @return true if the element is accepted, false after close or stop of the batcher thread
+     */
+    public boolean submit(@NonNull P element) {
+        Objects.requireNonNull(element, "SneakyBatcher::submit - element is null");
+        if (closed) {
+            return false;
+        }
+        try {
+            if (!put(element)) {
+                return false;
+            }
+        } catch (InterruptedException interruptedException) {
+            Exceptional.reInterrupt(interruptedException);
+        }
+        submitted.increment();
+        return true;
+    }
+
+    /**
+     * Ask to pass the collected elements to the consumer without waiting for the batch size or the delay
+     */
+    public void flush() {
+        queue.offer(FLUSH);
+    }
+
+    /**
+     * Number of accepted elements
+     * @return submitted elements
+     */
+    public long submitted() {
+        return submitted.sum();
+    }
+
+    /**
+     * Number of elements accepted by the consumer
+     * @return delivered elements
+     */
+    public long delivered() {
+        return delivered.get();
+    }
+
+    /**
+     * Number of successful calls of the consumer (including the bisected parts)
+     * @return batches
+     */
+    public long batches() {
+        return batches.get();
+    }
+
+    /**
+     * Number of failing elements passed to the poison handler
+     * @return poisoned elements
+     */
+    public long poisoned() {
+        return poisoned.get();
+    }
+
+    /**
+     * Approximate number of elements waiting in the queue
+     * @return pending elements
+     */
+    public int pending() {
+        return queue.size();
+    }
+
+    /**
+     * Stop accepting elements, deliver the submitted ones and stop the batcher thread.
+     * If the calling thread is interrupted while waiting, the batcher is stopped as by {@link #shutdownNow()}
+     * and the interrupt flag is restored. An element submitted concurrently with the close could be lost
+     */
+    @Override
+    public void close() {
+        if (Thread.currentThread() == worker) {
+            closed = true;
+            return;
+        }
+        try {
+            if (!closed) {
+                closed = true;
+                put(CLOSE);
+            }
+            worker.join();
+        } catch (InterruptedException interruptedException) {
+            shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stop accepting elements, interrupt the delivery in progress and stop the batcher thread
+     * @return elements which are not delivered or poisoned yet
+     */
+    public @NonNull List<P> shutdownNow() {
+        closed = true;
+        worker.interrupt();
+        boolean interrupted = false;
+        while (worker.isAlive()) {
+            try {
+                worker.join();
+            } catch (InterruptedException interruptedException) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        List<P> result;
+        synchronized (leftovers) {
+            result = new ArrayList<>(leftovers);
+            leftovers.clear();
+        }
+        drainTo(result);
+        return result;
+    }
+
+    private void work() {
+        List<P> batch = new ArrayList<>(batchSize);
+        try {
+            boolean closing = false;
+            while (!closing) {
+                // the interrupt of the collection returns the whole batch
+                processed = 0;
+                Object first = queue.take();
+                if (first == CLOSE) {
+                    break;
+                }
+                if (first == FLUSH) {
+                    continue;
+                }
+                batch.add(element(first));
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < batchSize) {
+                    Object next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null || next == FLUSH) {
+                        break;
+                    }
+                    if (next == CLOSE) {
+                        closing = true;
+                        break;
+                    }
+                    batch.add(element(next));
+                }
+                deliver(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+            // elements submitted concurrently with the close
+            processed = 0;
+            drainTo(batch);
+            if (!batch.isEmpty()) {
+                deliver(batch);
+            }
+        } catch (InterruptedException interruptedException) {
+            keep(batch);
+        } catch (Throwable throwable) { //NOSONAR java:S1181 Throwable and Error should not be caught
+            keep(batch);
+            Exceptional.sneakyThrow(throwable);
+        } finally {
+            closed = true;
+        }
+    }
+
+    private void keep(List<P> batch) {
+        synchronized (leftovers) {
+            leftovers.addAll(batch.subList(Math.min(processed, batch.size()), batch.size()));
+        }
+    }
+
+    // the stopped batcher thread never frees the space, so the wait ends with it
+    private boolean put(Object element) throws InterruptedException {
+        while (!queue.offer(element, WAIT_NANOS, TimeUnit.NANOSECONDS)) {
+            if (!worker.isAlive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // InterruptedException of the consumer or of the retry delay stops the delivery
+    private void deliver(List<P> batch) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException("SneakyBatcher is interrupted");
+        }
+        List<P> view = Collections.unmodifiableList(batch);
+        Throwable failure;
+        try {
+            retry.call(() -> {
+                consumer.consume(view);
+                return null;
+            });
+            delivered.addAndGet(batch.size());
+            batches.incrementAndGet();
+            processed += batch.size();
+            return;
+        } catch (Exception exception) {
+            failure = exception;
+        }
+        Throwable significant = Exceptional.cause(failure, true);
+        Exceptional.reInterrupt(significant);
+        if (batch.size() == 1 || !bisectable.test(significant)) {
+            for (P element : batch) {
+                poisoned.incrementAndGet();
+                processed++;
+                try {
+                    poisonHandler.consume(element, failure);
+                } catch (Exception exception) {
+                    Exceptional.reInterrupt(exception);
+                }
+            }
+            return;
+        }
+        int middle = batch.size() >>> 1;
+        deliver(batch.subList(0, middle));
+        deliver(batch.subList(middle, batch.size()));
+    }
+
+    private void drainTo(List<P> target) {
+        List<Object> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        for (Object element : rest) {
+            if (element != FLUSH && element != CLOSE) {
+                target.add(element(element));
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <P> P element(Object element) {
+        return (P) element;
+    }
+
+}
@@ -0,0 +1,199 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR events of the exception boundaries: sneaky rethrows, cause unwraps and failures of the Sneaky wrappers.
+ * Events are disabled by default and are enabled by JFR settings, e.g.
+ * {@code com.github.sftwnd.crayfish.exceptional.WrapperFailure#enabled=true}.
+ * While no recording enables them the check is a single read of the flag refreshed on the recording state changes,
+ * the duration of the wrapped call isn't measured.
+ * The jdk.jfr module is optional: the JFR types are used by the nested {@link Jfr} class only, which is loaded
+ * if the module is present in the runtime image and is readable, otherwise events stay disabled
+ */
+final class SneakyEvents {
+
+    private static final String CATEGORY = "Crayfish";
+    private static final String SUBCATEGORY = "Exceptional";
+    private static final String JFR_MODULE = "jdk.jfr";
+
+    private static volatile boolean enabled;
+
+    static {
+        Module module = SneakyEvents.class.getModule();
+        if (ModuleLayer.boot().findModule(JFR_MODULE).filter(module::canRead).isPresent()) {
+            try {
+                Jfr.install();
+            } catch (LinkageError | RuntimeException ignored) {
+                // JFR isn't accessible: events stay disabled
+            }
+        }
+    }
+
+    /**
+     * Start of the wrapped call
+     * @return nanoTime if events are enabled, otherwise 0
+     */
+    static long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    static void wrapperFailure(String kind, Throwable throwable, long start) {
+        if (enabled) {
+            Jfr.wrapperFailure(kind, throwable, start);
+        }
+    }
+
+    static void rethrow(Throwable throwable) {
+        if (enabled) {
+            Jfr.rethrow(throwable);
+        }
+    }
+
+    static void unwrap(Throwable throwable, Throwable cause, long start) {
+        if (enabled) {
+            Jfr.unwrap(throwable, cause, start);
+        }
+    }
+
+    static boolean isEnabled() {
+        return enabled;
+    }
+
+    private static final class Jfr {
+
+        private static void install() {
+            if (FlightRecorder.isAvailable()) {
+                FlightRecorder.addListener(new Listener());
+            }
+        }
+
+        private static void wrapperFailure(String kind, Throwable throwable, long start) {
+            WrapperFailureEvent event = new WrapperFailureEvent();
+            if (event.shouldCommit()) {
+                event.kind = kind;
+                event.exceptionClass = throwable.getClass();
+                event.causeClass = CauseResolver.global().resolve(throwable, true).getClass();
+                event.callDuration = start == 0L ? 0L : System.nanoTime() - start;
+                event.commit();
+            }
+        }
+
+        private static void rethrow(Throwable throwable) {
+            RethrowEvent event = new RethrowEvent();
+            if (event.shouldCommit()) {
+                event.exceptionClass = throwable.getClass();
+                event.causeClass = CauseResolver.global().resolve(throwable, true).getClass();
+                event.commit();
+            }
+        }
+
+        private static void unwrap(Throwable throwable, Throwable cause, long start) {
+            CauseUnwrapEvent event = new CauseUnwrapEvent();
+            if (event.shouldCommit()) {
+                event.exceptionClass = throwable.getClass();
+                event.causeClass = cause.getClass();
+                event.unwrapDuration = start == 0L ? 0L : System.nanoTime() - start;
+                event.commit();
+            }
+        }
+
+        private static void refresh() {
+            enabled = EventType.getEventType(WrapperFailureEvent.class).isEnabled()
+                    || EventType.getEventType(RethrowEvent.class).isEnabled()
+                    || EventType.getEventType(CauseUnwrapEvent.class).isEnabled();
+        }
+
+        private Jfr() {
+        }
+
+    }
+
+    private static final class Listener implements FlightRecorderListener {
+
+        @Override
+        public void recorderInitialized(FlightRecorder recorder) {
+            Jfr.refresh();
+        }
+
+        @Override
+        public void recordingStateChanged(Recording recording) {
+            Jfr.refresh();
+        }
+
+    }
+
+    @Name("com.github.sftwnd.crayfish.exceptional.WrapperFailure")
+    @Label("Sneaky Wrapper Failure")
+    @Description("Failure of the call wrapped by Sneaky")
+    @Category({CATEGORY, SUBCATEGORY})
+    @Enabled(false)
+    @StackTrace(false)
+    static final class WrapperFailureEvent extends Event {
+
+        @Label("Wrapper Kind")
+        String kind;
+
+        @Label("Exception Class")
+        Class<?> exceptionClass;
+
+        @Label("Significant Cause Class")
+        Class<?> causeClass;
+
+        @Label("Call Duration")
+        @Timespan(Timespan.NANOSECONDS)
+        long callDuration;
+
+    }
+
+    @Name("com.github.sftwnd.crayfish.exceptional.Rethrow")
+    @Label("Sneaky Rethrow")
+    @Description("Exception thrown by Exceptional.rethrow")
+    @Category({CATEGORY, SUBCATEGORY})
+    @Enabled(false)
+    @StackTrace(false)
+    static final class RethrowEvent extends Event {
+
+        @Label("Exception Class")
+        Class<?> exceptionClass;
+
+        @Label("Significant Cause Class")
+        Class<?> causeClass;
+
+    }
+
+    @Name("com.github.sftwnd.crayfish.exceptional.CauseUnwrap")
+    @Label("Cause Unwrap")
+    @Description("Resolution of the significant cause by Exceptional.cause")
+    @Category({CATEGORY, SUBCATEGORY})
+    @Enabled(false)
+    @StackTrace(false)
+    static final class CauseUnwrapEvent extends Event {
+
+        @Label("Exception Class")
+        Class<?> exceptionClass;
+
+        @Label("Significant Cause Class")
+        Class<?> causeClass;
+
+        @Label("Unwrap Duration")
+        @Timespan(Timespan.NANOSECONDS)
+        long unwrapDuration;
+
+    }
+
+    private SneakyEvents() {
+    }
+
+}
@@ -0,0 +1,617 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Flow.Publisher facade which accepts Sneaky throwing functions directly and honors the demand of subscribers.
+ * Failures of the functions are not thrown out of {@code onNext}: the upstream is cancelled and the significant cause
+ * resolved by {@link Exceptional#cause(Throwable, boolean)} is signalled by {@code onError}.
+ * Each subscription creates its own chain of operator stages, buffering is bounded by the prefetch of flatMap
+ * @param <T> type of the published elements
+ */
+public final class SneakyFlow<T> implements Flow.Publisher<T> {
+
+    /**
+     * Default number of elements requested by flatMap from each inner publisher
+     */
+    public static final int DEFAULT_PREFETCH = Flow.defaultBufferSize();
+
+    private static final Object SKIP = new Object();
+
+    private final Flow.Publisher<T> source;
+
+    private SneakyFlow(Flow.Publisher<T> source) {
+        this.source = source;
+    }
+
+    /**
+     * Create flow over the publisher
+     * @param publisher source publisher
+     * @return SneakyFlow
+     * @param <T> type of the published elements
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> @NonNull SneakyFlow<T> of(@NonNull Flow.Publisher<? extends T> publisher) {
+        Objects.requireNonNull(publisher, "SneakyFlow::of - publisher is null");
+        return publisher instanceof SneakyFlow ? (SneakyFlow<T>) publisher : new SneakyFlow<>((Flow.Publisher<T>) publisher);
+    }
+
+    /**
+     * Transform elements with throwing function
+     * @param functional the Functional interface implementation, null result is signalled as NullPointerException
+     * @return SneakyFlow of transformed elements
+     * @param <R> type of result elements
+     */
+    public <R> @NonNull SneakyFlow<R> map(@NonNull Sneaky.Functional<? super T, ? extends R> functional) {
+        Objects.requireNonNull(functional, "SneakyFlow::map - functional is null");
+        return new SneakyFlow<>(subscriber -> source.subscribe(new Step<T, R>(subscriber, functional)));
+    }
+
+    /**
+     * Filter elements with throwing predicate, the dropped element is compensated by the request of one more
+     * @param predicate the Functional interface implementation returns true for the elements to keep
+     * @return SneakyFlow of filtered elements
+     */
+    public @NonNull SneakyFlow<T> filter(@NonNull Sneaky.Functional<? super T, Boolean> predicate) {
+        Objects.requireNonNull(predicate, "SneakyFlow::filter - predicate is null");
+        return new SneakyFlow<>(subscriber -> source.subscribe(new Step<T, T>(subscriber,
+                element -> Boolean.TRUE.equals(predicate.apply(element)) ? element : SKIP)));
+    }
+
+    /**
+     * Perform throwing action on elements as they are published
+     * @param consumable the Consumable interface implementation
+     * @return SneakyFlow of the same elements
+     */
+    public @NonNull SneakyFlow<T> peek(@NonNull Sneaky.Consumable<? super T> consumable) {
+        Objects.requireNonNull(consumable, "SneakyFlow::peek - consumable is null");
+        return new SneakyFlow<>(subscriber -> source.subscribe(new Step<T, T>(subscriber, element -> {
+            consumable.consume(element);
+            return element;
+        })));
+    }
+
+    /**
+     * Replace elements with the elements of publishers produced by throwing function
+     * @param functional the Functional interface implementation
+     * @param concurrency max number of inner publishers subscribed at the same time
+     * @return SneakyFlow of produced elements
+     * @param <R> type of result elements
+     */
+    public <R> @NonNull SneakyFlow<R> flatMap(@NonNull Sneaky.Functional<? super T, ? extends Flow.Publisher<? extends R>> functional, int concurrency) {
+        return flatMap(functional, concurrency, DEFAULT_PREFETCH);
+    }
+
+    /**
+     * Replace elements with the elements of publishers produced by throwing function.
+     * At most concurrency * prefetch elements are buffered, elements of inner publishers are interleaved
+     * @param functional the Functional interface implementation
+     * @param concurrency max number of inner publishers subscribed at the same time
+     * @param prefetch number of elements requested from each inner publisher ahead of the downstream demand
+     * @return SneakyFlow of produced elements
+     * @param <R> type of result elements
+     */
+    public <R> @NonNull SneakyFlow<R> flatMap(@NonNull Sneaky.Functional<? super T, ? extends Flow.Publisher<? extends R>> functional, int concurrency, int prefetch) {
+        Objects.requireNonNull(functional, "SneakyFlow::flatMap - functional is null");
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("SneakyFlow::flatMap - concurrency has to be positive, but: " + concurrency);
+        }
+        if (prefetch < 1) {
+            throw new IllegalArgumentException("SneakyFlow::flatMap - prefetch has to be positive, but: " + prefetch);
+        }
+        return new SneakyFlow<>(subscriber -> source.subscribe(new Merge<T, R>(subscriber, functional, concurrency, prefetch)));
+    }
+
+    /**
+     * Continue with the publisher produced by throwing function on the failure of this flow.
+     * The function gets the significant cause, the outstanding demand is passed to the fallback publisher
+     * @param fallback the Functional interface implementation
+     * @return SneakyFlow which resumes on the failure once
+     */
+    public @NonNull SneakyFlow<T> onErrorResume(@NonNull Sneaky.Functional<? super Throwable, ? extends Flow.Publisher<? extends T>> fallback) {
+        Objects.requireNonNull(fallback, "SneakyFlow::onErrorResume - fallback is null");
+        return new SneakyFlow<>(subscriber -> source.subscribe(new Resume<>(subscriber, fallback)));
+    }
+
+    /**
+     * Subscribe to the flow
+     * @param subscriber subscriber
+     */
+    @Override
+    public void subscribe(@NonNull Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "SneakyFlow::subscribe - subscriber is null");
+        source.subscribe(subscriber);
+    }
+
+    private static Throwable significant(Throwable throwable) {
+        return Exceptional.cause(throwable, true);
+    }
+
+    private static long addCap(AtomicLong requested, long n) {
+        for (;;) {
+            long current = requested.get();
+            long next = current + n < 0 ? Long.MAX_VALUE : current + n;
+            if (current == Long.MAX_VALUE || requested.compareAndSet(current, next)) {
+                return current;
+            }
+        }
+    }
+
+    private static IllegalArgumentException wrongRequest(long n) {
+        return new IllegalArgumentException("SneakyFlow - request has to be positive (rule 3.9), but: " + n);
+    }
+
+    /**
+     * Stage of map, filter and peek: the step returns the element to publish or SKIP
+     */
+    private static final class Step<T, R> implements Flow.Subscriber<T>, Flow.Subscription {
+
+        private final Flow.Subscriber<? super R> downstream;
+        private final Sneaky.Functional<? super T, ?> step;
+        private Flow.Subscription upstream;
+        private boolean done;
+
+        private Step(Flow.Subscriber<? super R> downstream, Sneaky.Functional<? super T, ?> step) {
+            this.downstream = downstream;
+            this.step = step;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            if (upstream != null) {
+                subscription.cancel();
+                return;
+            }
+            upstream = subscription;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            Object result;
+            try {
+                result = step.apply(item);
+            } catch (Exception exception) {
+                fail(exception);
+                return;
+            }
+            if (result == SKIP) {
+                upstream.request(1);
+            } else if (result == null) {
+                fail(new NullPointerException("SneakyFlow::map - functional returned null"));
+            } else {
+                downstream.onNext((R) result);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!done) {
+                done = true;
+                downstream.onError(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            upstream.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            upstream.cancel();
+        }
+
+        private void fail(Throwable throwable) {
+            done = true;
+            upstream.cancel();
+            downstream.onError(significant(throwable));
+        }
+
+    }
+
+    /**
+     * Arbiter which switches the subscriber to the fallback publisher with the outstanding demand.
+     * Demand, the switch and cancellation are queued and applied by the single drain loop, so the calls to the upstream
+     * subscriptions are serial (rule 2.7) and the outstanding demand is handed over to the fallback once.
+     * The failure of the wrong request is signalled through the emitting counter, so it never overlaps the signals of the upstream (rule 1.3)
+     */
+    private static final class Resume<T> implements Flow.Subscriber<T>, Flow.Subscription {
+
+        private final Flow.Subscriber<? super T> downstream;
+        private final Sneaky.Functional<? super Throwable, ? extends Flow.Publisher<? extends T>> fallback;
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicLong missedRequested = new AtomicLong();
+        private final AtomicLong missedProduced = new AtomicLong();
+        private final AtomicReference<Flow.Subscription> missedSubscription = new AtomicReference<>();
+        // zero while nobody signals the downstream, the terminal signal leaves it non-zero
+        private final AtomicInteger emitting = new AtomicInteger();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private volatile boolean cancelled;
+        private volatile boolean resumed;
+        // signals of the upstream are serial, the fallback is subscribed after the terminated upstream
+        private boolean subscribed;
+        private boolean switched;
+        private long produced;
+        // accessed by the drain loop only
+        private Flow.Subscription current;
+        private long requested;
+
+        private Resume(Flow.Subscriber<? super T> downstream, Sneaky.Functional<? super Throwable, ? extends Flow.Publisher<? extends T>> fallback) {
+            this.downstream = downstream;
+            this.fallback = fallback;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            if (subscribed && (!resumed || switched)) {
+                subscription.cancel();
+                return;
+            }
+            boolean first = !subscribed;
+            subscribed = true;
+            switched = !first;
+            missedSubscription.set(subscription);
+            drain();
+            if (first) {
+                downstream.onSubscribe(this);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            produced++;
+            if (!emitting.compareAndSet(0, 1)) {
+                return;
+            }
+            downstream.onNext(item);
+            if (emitting.decrementAndGet() != 0) {
+                // the wrong request has failed the flow while the element was signalled
+                downstream.onError(error.get());
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (resumed || cancelled) {
+                terminate(significant(throwable));
+                return;
+            }
+            Flow.Publisher<? extends T> publisher;
+            try {
+                publisher = Objects.requireNonNull(fallback.apply(significant(throwable)), "SneakyFlow::onErrorResume - fallback returned null");
+            } catch (Exception exception) {
+                Throwable failure = significant(exception);
+                if (failure != throwable) {
+                    failure.addSuppressed(throwable);
+                }
+                terminate(failure);
+                return;
+            }
+            resumed = true;
+            // elements of the failed upstream are taken from the demand handed over to the fallback
+            missedProduced.addAndGet(produced);
+            produced = 0;
+            publisher.subscribe(this);
+        }
+
+        @Override
+        public void onComplete() {
+            terminate(null);
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                if (error.compareAndSet(null, wrongRequest(n))) {
+                    terminate(error.get());
+                }
+                return;
+            }
+            addCap(missedRequested, n);
+            drain();
+        }
+
+        // the terminal signal is sent once by the side which has found nobody signalling
+        private void terminate(Throwable failure) {
+            if (emitting.getAndIncrement() != 0) {
+                return;
+            }
+            if (failure == null) {
+                downstream.onComplete();
+            } else {
+                downstream.onError(failure);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                Flow.Subscription next = missedSubscription.getAndSet(null);
+                long demand = missedRequested.getAndSet(0);
+                long consumed = missedProduced.getAndSet(0);
+                if (requested != Long.MAX_VALUE) {
+                    requested = requested + demand < 0 ? Long.MAX_VALUE : requested + demand;
+                    if (requested != Long.MAX_VALUE) {
+                        requested = Math.max(requested - consumed, 0);
+                    }
+                }
+                if (cancelled) {
+                    if (next != null) {
+                        next.cancel();
+                    }
+                    if (current != null) {
+                        current.cancel();
+                        current = null;
+                    }
+                } else if (next != null) {
+                    current = next;
+                    if (requested > 0) {
+                        next.request(requested);
+                    }
+                } else if (demand > 0 && current != null) {
+                    current.request(demand);
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+    }
+
+    /**
+     * Stage of flatMap: inner elements are queued per inner publisher and merged by the drain loop
+     */
+    private static final class Merge<T, R> implements Flow.Subscriber<T>, Flow.Subscription {
+
+        private final Flow.Subscriber<? super R> downstream;
+        private final Sneaky.Functional<? super T, ? extends Flow.Publisher<? extends R>> mapper;
+        private final int concurrency;
+        private final int prefetch;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final Queue<Inner<R>> inners = new ConcurrentLinkedQueue<>();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private volatile Flow.Subscription upstream;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        // accessed by the drain loop only
+        private long emitted;
+
+        private Merge(Flow.Subscriber<? super R> downstream, Sneaky.Functional<? super T, ? extends Flow.Publisher<? extends R>> mapper,
+                      int concurrency, int prefetch) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+            this.concurrency = concurrency;
+            this.prefetch = prefetch;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            if (upstream != null) {
+                subscription.cancel();
+                return;
+            }
+            upstream = subscription;
+            downstream.onSubscribe(this);
+            if (!cancelled) {
+                subscription.request(concurrency);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done || cancelled) {
+                return;
+            }
+            Flow.Publisher<? extends R> publisher;
+            try {
+                publisher = Objects.requireNonNull(mapper.apply(item), "SneakyFlow::flatMap - functional returned null");
+            } catch (Exception exception) {
+                done = true;
+                fail(significant(exception));
+                return;
+            }
+            Inner<R> inner = new Inner<>(this);
+            inners.add(inner);
+            publisher.subscribe(inner);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!done) {
+                done = true;
+                fail(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(wrongRequest(n));
+                return;
+            }
+            addCap(requested, n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        private void fail(Throwable throwable) {
+            error.compareAndSet(null, throwable);
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                if (cancelled) {
+                    // wip is left non-zero, the stage is terminated
+                    cancelAll();
+                    return;
+                }
+                Throwable failure = error.get();
+                if (failure != null) {
+                    cancelled = true;
+                    cancelAll();
+                    downstream.onError(failure);
+                    return;
+                }
+                boolean upstreamDone = done;
+                long limit = requested.get();
+                long count = emitted;
+                int completed = 0;
+                for (Inner<R> inner : inners) {
+                    while (count != limit && !cancelled && error.get() == null) {
+                        R item = inner.queue.poll();
+                        if (item == null) {
+                            break;
+                        }
+                        downstream.onNext(item);
+                        count++;
+                        inner.consumed();
+                    }
+                    if (inner.done && inner.queue.isEmpty()) {
+                        inners.remove(inner);
+                        completed++;
+                    }
+                }
+                emitted = count;
+                if (upstreamDone && inners.isEmpty() && error.get() == null && !cancelled) {
+                    cancelled = true;
+                    downstream.onComplete();
+                    return;
+                }
+                if (completed > 0 && !upstreamDone) {
+                    upstream.request(completed);
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void cancelAll() {
+            Flow.Subscription subscription = upstream;
+            if (subscription != null) {
+                subscription.cancel();
+            }
+            Inner<R> inner;
+            while ((inner = inners.poll()) != null) {
+                inner.cancel();
+            }
+        }
+
+    }
+
+    private static final class Inner<R> implements Flow.Subscriber<R> {
+
+        private final Merge<?, R> parent;
+        private final Queue<R> queue = new ConcurrentLinkedQueue<>();
+        private final int limit;
+        private volatile Flow.Subscription subscription;
+        private volatile boolean done;
+        // accessed by the drain loop only
+        private int consumed;
+
+        private Inner(Merge<?, R> parent) {
+            this.parent = parent;
+            this.limit = parent.prefetch - (parent.prefetch >> 2);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            if (this.subscription != null) {
+                subscription.cancel();
+                return;
+            }
+            this.subscription = subscription;
+            if (parent.cancelled) {
+                subscription.cancel();
+            } else {
+                subscription.request(parent.prefetch);
+            }
+        }
+
+        @Override
+        public void onNext(R item) {
+            if (item == null) {
+                parent.fail(new NullPointerException("SneakyFlow::flatMap - inner publisher emitted null"));
+                return;
+            }
+            queue.offer(item);
+            parent.drain();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            done = true;
+            parent.fail(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            parent.drain();
+        }
+
+        private void consumed() {
+            if (++consumed == limit) {
+                consumed = 0;
+                subscription.request(limit);
+            }
+        }
+
+        private void cancel() {
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Immutable builder of a chain of throwing steps fused into a flat loop with a single exception boundary,
+ * instead of one wrapper lambda and one try/catch frame per step as with
+ * {@code Sneaky.function(a).andThen(Sneaky.function(b))}
+ * @param <P> type of the pipeline parameter
+ * @param <R> type of the pipeline result
+ */
+public final class SneakyPipeline<P, R> {
+
+    private final Sneaky.Functional<Object, Object>[] steps;
+
+    private SneakyPipeline(Sneaky.Functional<Object, Object>[] steps) {
+        this.steps = steps;
+    }
+
+    /**
+     * Start pipeline with the first step
+     * @param functional the first step
+     * @return pipeline
+     * @param <P> type of the pipeline parameter
+     * @param <R> type of the first step result
+     */
+    @SuppressWarnings("unchecked") // steps are applied to the values of the previous step type only
+    public static <P, R> @NonNull SneakyPipeline<P, R> of(@NonNull Sneaky.Functional<? super P, ? extends R> functional) {
+        Objects.requireNonNull(functional, "SneakyPipeline::of - functional is null");
+        return new SneakyPipeline<>((Sneaky.Functional<Object, Object>[]) new Sneaky.Functional<?, ?>[] { functional });
+    }
+
+    /**
+     * Append the next step
+     * @param functional the next step
+     * @return new pipeline with the appended step
+     * @param <S> type of the next step result
+     */
+    @SuppressWarnings("unchecked")
+    public <S> @NonNull SneakyPipeline<P, S> then(@NonNull Sneaky.Functional<? super R, ? extends S> functional) {
+        Objects.requireNonNull(functional, "SneakyPipeline::then - functional is null");
+        Sneaky.Functional<Object, Object>[] next = Arrays.copyOf(steps, steps.length + 1);
+        next[steps.length] = (Sneaky.Functional<Object, Object>) functional;
+        return new SneakyPipeline<>(next);
+    }
+
+    /**
+     * Number of steps
+     * @return number of steps in the pipeline
+     */
+    public int size() {
+        return steps.length;
+    }
+
+    /**
+     * Fuse steps into the throwing function
+     * @return Functional which applies all steps in order
+     */
+    @SuppressWarnings("unchecked")
+    public @NonNull Sneaky.Functional<P, R> toFunctional() {
+        Sneaky.Functional<Object, Object>[] fused = steps;
+        return parameter -> {
+            Object value = parameter;
+            for (Sneaky.Functional<Object, Object> step : fused) {
+                value = step.apply(value);
+            }
+            return (R) value;
+        };
+    }
+
+    /**
+     * Fuse steps into the function with sneaky throw
+     * @return Function which applies all steps in order inside the single try/catch
+     */
+    @SuppressWarnings("unchecked")
+    public @NonNull Function<P, R> build() {
+        Sneaky.Functional<Object, Object>[] fused = steps;
+        return parameter -> {
+            Object value = parameter;
+            try {
+                for (Sneaky.Functional<Object, Object> step : fused) {
+                    value = step.apply(value);
+                }
+            } catch (Exception exception) {
+                return Exceptional.rethrow(exception);
+            }
+            return (R) value;
+        };
+    }
+
+    /**
+     * Fuse steps into the function with the result captured into Try instead of throw
+     * @return Function which applies all steps in order inside the single try/catch
+     */
+    @SuppressWarnings("unchecked")
+    public @NonNull Function<P, Try<R>> buildTrying() {
+        Sneaky.Functional<Object, Object>[] fused = steps;
+        return parameter -> {
+            Object value = parameter;
+            try {
+                for (Sneaky.Functional<Object, Object> step : fused) {
+                    value = step.apply(value);
+                }
+            } catch (Exception exception) {
+                return Try.failure(exception);
+            }
+            return Try.success((R) value);
+        };
+    }
+
+}
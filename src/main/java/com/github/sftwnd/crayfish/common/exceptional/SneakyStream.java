@@ -0,0 +1,365 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Stream facade which accepts Sneaky throwing functions directly and fails fast.
+ * On the first failure all remaining splits (including the parallel ones) stop consuming elements,
+ * the terminal operation sneaky throws the first failure with later failures attached as suppressed (bounded)
+ * @param <T> type of the stream elements
+ */
+public final class SneakyStream<T> implements AutoCloseable {
+
+    /**
+     * Default max number of later failures attached to the first one as suppressed
+     */
+    public static final int DEFAULT_MAX_SUPPRESSED = 16;
+
+    private final Stream<T> stream;
+    private final FailFast failFast;
+
+    private SneakyStream(Stream<T> stream, FailFast failFast) {
+        this.stream = stream;
+        this.failFast = failFast;
+    }
+
+    /**
+     * Create fail fast stream over the stream
+     * @param stream source stream
+     * @return SneakyStream
+     * @param <T> type of the stream elements
+     */
+    public static <T> @NonNull SneakyStream<T> of(@NonNull Stream<T> stream) {
+        return of(stream, DEFAULT_MAX_SUPPRESSED);
+    }
+
+    /**
+     * Create fail fast stream over the stream
+     * @param stream source stream
+     * @param maxSuppressed max number of later failures attached to the first one as suppressed
+     * @return SneakyStream
+     * @param <T> type of the stream elements
+     */
+    public static <T> @NonNull SneakyStream<T> of(@NonNull Stream<T> stream, int maxSuppressed) {
+        Objects.requireNonNull(stream, "SneakyStream::of - stream is null");
+        if (maxSuppressed < 0) {
+            throw new IllegalArgumentException("SneakyStream::of - maxSuppressed has to be non negative, but: " + maxSuppressed);
+        }
+        FailFast failFast = new FailFast(maxSuppressed);
+        return new SneakyStream<>(
+                StreamSupport.stream(new FailFastSpliterator<>(stream.spliterator(), failFast), stream.isParallel())
+                        .onClose(stream::close),
+                failFast);
+    }
+
+    /**
+     * Create fail fast stream over the collection
+     * @param collection source collection
+     * @return SneakyStream
+     * @param <T> type of the stream elements
+     */
+    public static <T> @NonNull SneakyStream<T> of(@NonNull Collection<T> collection) {
+        return of(collection.stream());
+    }
+
+    /**
+     * Create parallel fail fast stream over the collection
+     * @param collection source collection
+     * @return SneakyStream
+     * @param <T> type of the stream elements
+     */
+    public static <T> @NonNull SneakyStream<T> parallel(@NonNull Collection<T> collection) {
+        return of(collection.parallelStream());
+    }
+
+    /**
+     * Switch stream to parallel mode
+     * @return parallel SneakyStream
+     */
+    public @NonNull SneakyStream<T> parallel() {
+        return new SneakyStream<>(stream.parallel(), failFast);
+    }
+
+    /**
+     * Switch stream to sequential mode
+     * @return sequential SneakyStream
+     */
+    public @NonNull SneakyStream<T> sequential() {
+        return new SneakyStream<>(stream.sequential(), failFast);
+    }
+
+    /**
+     * Check stream is parallel
+     * @return true if the terminal operation would execute in parallel
+     */
+    public boolean isParallel() {
+        return stream.isParallel();
+    }
+
+    /**
+     * Transform elements with throwing function
+     * @param functional the Functional interface implementation
+     * @return SneakyStream of transformed elements
+     * @param <R> type of result elements
+     */
+    public <R> @NonNull SneakyStream<R> map(@NonNull Sneaky.Functional<? super T, ? extends R> functional) {
+        Objects.requireNonNull(functional, "SneakyStream::map - functional is null");
+        return new SneakyStream<>(stream.map(element -> {
+            failFast.check();
+            try {
+                return functional.apply(element);
+            } catch (Exception exception) {
+                throw failFast.fail(exception);
+            }
+        }), failFast);
+    }
+
+    /**
+     * Filter elements with throwing predicate
+     * @param predicate the Functional interface implementation returns true for the elements to keep
+     * @return SneakyStream of filtered elements
+     */
+    public @NonNull SneakyStream<T> filter(@NonNull Sneaky.Functional<? super T, Boolean> predicate) {
+        Objects.requireNonNull(predicate, "SneakyStream::filter - predicate is null");
+        return new SneakyStream<>(stream.filter(element -> {
+            failFast.check();
+            try {
+                return predicate.apply(element);
+            } catch (Exception exception) {
+                throw failFast.fail(exception);
+            }
+        }), failFast);
+    }
+
+    /**
+     * Replace elements with the content of streams produced by throwing function
+     * @param functional the Functional interface implementation
+     * @return SneakyStream of produced elements
+     * @param <R> type of result elements
+     */
+    public <R> @NonNull SneakyStream<R> flatMap(@NonNull Sneaky.Functional<? super T, ? extends Stream<? extends R>> functional) {
+        Objects.requireNonNull(functional, "SneakyStream::flatMap - functional is null");
+        return new SneakyStream<>(stream.flatMap(element -> {
+            failFast.check();
+            try {
+                return functional.apply(element);
+            } catch (Exception exception) {
+                throw failFast.fail(exception);
+            }
+        }), failFast);
+    }
+
+    /**
+     * Perform throwing action on elements as they are consumed
+     * @param consumable the Consumable interface implementation
+     * @return SneakyStream of the same elements
+     */
+    public @NonNull SneakyStream<T> peek(@NonNull Sneaky.Consumable<? super T> consumable) {
+        return new SneakyStream<>(stream.peek(consumer(consumable)), failFast);
+    }
+
+    /**
+     * Sort elements
+     * @param comparator elements comparator
+     * @return SneakyStream of sorted elements
+     */
+    public @NonNull SneakyStream<T> sorted(@NonNull Comparator<? super T> comparator) {
+        return new SneakyStream<>(stream.sorted(comparator), failFast);
+    }
+
+    /**
+     * Perform throwing action for each element
+     * @param consumable the Consumable interface implementation
+     */
+    public void forEach(@NonNull Sneaky.Consumable<? super T> consumable) {
+        Consumer<T> consumer = consumer(consumable);
+        terminal(current -> {
+            current.forEach(consumer);
+            return null;
+        });
+    }
+
+    /**
+     * Perform throwing action for each element in the encounter order
+     * @param consumable the Consumable interface implementation
+     */
+    public void forEachOrdered(@NonNull Sneaky.Consumable<? super T> consumable) {
+        Consumer<T> consumer = consumer(consumable);
+        terminal(current -> {
+            current.forEachOrdered(consumer);
+            return null;
+        });
+    }
+
+    /**
+     * Collect elements
+     * @param collector elements collector
+     * @return collected result
+     * @param <R> type of the result
+     * @param <A> intermediate accumulation type of the collector
+     */
+    public <R, A> R collect(@NonNull Collector<? super T, A, R> collector) {
+        return terminal(current -> current.collect(collector));
+    }
+
+    /**
+     * Collect elements to the list
+     * @return list of elements
+     */
+    public @NonNull List<T> toList() {
+        return collect(Collectors.toList());
+    }
+
+    /**
+     * Count elements
+     * @return number of elements
+     */
+    public long count() {
+        return terminal(Stream::count);
+    }
+
+    /**
+     * Close the stream
+     */
+    @Override
+    public void close() {
+        stream.close();
+    }
+
+    private Consumer<T> consumer(Sneaky.Consumable<? super T> consumable) {
+        Objects.requireNonNull(consumable, "SneakyStream - consumable is null");
+        return element -> {
+            failFast.check();
+            try {
+                consumable.consume(element);
+            } catch (Exception exception) {
+                throw failFast.fail(exception);
+            }
+        };
+    }
+
+    private <R> R terminal(Function<Stream<T>, R> operation) {
+        R result;
+        try {
+            result = operation.apply(stream);
+        } catch (RuntimeException | Error throwable) {
+            failFast.rethrowFailure();
+            throw throwable;
+        }
+        failFast.rethrowFailure();
+        return result;
+    }
+
+    private static final class FailFast {
+
+        private final int maxSuppressed;
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final AtomicInteger suppressed = new AtomicInteger();
+
+        private FailFast(int maxSuppressed) {
+            this.maxSuppressed = maxSuppressed;
+        }
+
+        private boolean failed() {
+            return failure.get() != null;
+        }
+
+        private void check() {
+            if (failed()) {
+                throw CancelledException.INSTANCE;
+            }
+        }
+
+        private RuntimeException fail(Throwable throwable) {
+            if (!failure.compareAndSet(null, throwable)) {
+                Throwable first = failure.get();
+                if (first != throwable && suppressed.incrementAndGet() <= maxSuppressed) {
+                    first.addSuppressed(throwable);
+                }
+            }
+            return CancelledException.INSTANCE;
+        }
+
+        private void rethrowFailure() {
+            Throwable throwable = failure.get();
+            if (throwable != null) {
+                Exceptional.sneakyThrow(throwable);
+            }
+        }
+
+    }
+
+    private static final class FailFastSpliterator<T> implements Spliterator<T> {
+
+        private final Spliterator<T> spliterator;
+        private final FailFast failFast;
+
+        private FailFastSpliterator(Spliterator<T> spliterator, FailFast failFast) {
+            this.spliterator = spliterator;
+            this.failFast = failFast;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            return !failFast.failed() && spliterator.tryAdvance(action);
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            while (tryAdvance(action)) {
+                // the check of failure is done on each element
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (failFast.failed()) {
+                return null;
+            }
+            Spliterator<T> split = spliterator.trySplit();
+            return split == null ? null : new FailFastSpliterator<>(split, failFast);
+        }
+
+        @Override
+        public long estimateSize() {
+            return spliterator.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return spliterator.characteristics();
+        }
+
+        @Override
+        public Comparator<? super T> getComparator() {
+            return spliterator.getComparator();
+        }
+
+    }
+
+    private static final class CancelledException extends StacklessException {
+
+        private static final long serialVersionUID = -5370581569123604926L;
+        private static final CancelledException INSTANCE = new CancelledException();
+
+        private CancelledException() {
+            super("SneakyStream is cancelled by the failure");
+        }
+
+    }
+
+}
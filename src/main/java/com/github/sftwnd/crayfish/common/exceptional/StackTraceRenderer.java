@@ -0,0 +1,277 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable renderer of the stack trace into the Appendable in the format of {@link Throwable#printStackTrace()}
+ * with limits on frames per throwable, depth of the cause chain, number of suppressed exceptions and total characters.
+ * Frames shared with the enclosing trace are collapsed into {@code ... n more}, frames of the excluded packages
+ * (reflection and stream internals by default) are skipped and counted. Rendering stops as soon as the character limit is reached
+ */
+public final class StackTraceRenderer {
+
+    /**
+     * Packages excluded by default: reflection and stream internals
+     */
+    private static final String[] DEFAULT_EXCLUDED = {
+            "java.lang.reflect.", "jdk.internal.reflect.", "sun.reflect.", "java.lang.invoke.", "java.util.stream."
+    };
+    private static final String TRUNCATED = "... truncated";
+    private static final StackTraceRenderer DEFAULT = new StackTraceRenderer(32, 16, 8, 16 * 1024, DEFAULT_EXCLUDED);
+
+    private final int maxFrames;
+    private final int maxDepth;
+    private final int maxSuppressed;
+    private final int maxChars;
+    private final String[] excluded;
+
+    private StackTraceRenderer(int maxFrames, int maxDepth, int maxSuppressed, int maxChars, String[] excluded) {
+        this.maxFrames = maxFrames;
+        this.maxDepth = maxDepth;
+        this.maxSuppressed = maxSuppressed;
+        this.maxChars = maxChars;
+        this.excluded = excluded;
+    }
+
+    /**
+     * Renderer with default limits: 32 frames per throwable, 16 causes, 8 suppressed, 16K characters,
+     * reflection and stream internals excluded
+     * @return default renderer
+     */
+    public static @NonNull StackTraceRenderer defaults() {
+        return DEFAULT;
+    }
+
+    /**
+     * Renderer with the limit of frames rendered per throwable
+     * @param maxFrames max number of frames
+     * @return new renderer
+     */
+    public @NonNull StackTraceRenderer maxFrames(int maxFrames) {
+        return new StackTraceRenderer(nonNegative(maxFrames, "maxFrames"), maxDepth, maxSuppressed, maxChars, excluded);
+    }
+
+    /**
+     * Renderer with the limit of the cause chain depth
+     * @param maxDepth max number of rendered causes
+     * @return new renderer
+     */
+    public @NonNull StackTraceRenderer maxDepth(int maxDepth) {
+        return new StackTraceRenderer(maxFrames, nonNegative(maxDepth, "maxDepth"), maxSuppressed, maxChars, excluded);
+    }
+
+    /**
+     * Renderer with the limit of suppressed exceptions rendered per throwable
+     * @param maxSuppressed max number of suppressed exceptions
+     * @return new renderer
+     */
+    public @NonNull StackTraceRenderer maxSuppressed(int maxSuppressed) {
+        return new StackTraceRenderer(maxFrames, maxDepth, nonNegative(maxSuppressed, "maxSuppressed"), maxChars, excluded);
+    }
+
+    /**
+     * Renderer with the limit of the total characters
+     * @param maxChars max number of characters (the truncation mark is appended above the limit)
+     * @return new renderer
+     */
+    public @NonNull StackTraceRenderer maxChars(int maxChars) {
+        return new StackTraceRenderer(maxFrames, maxDepth, maxSuppressed, nonNegative(maxChars, "maxChars"), excluded);
+    }
+
+    /**
+     * Renderer with the excluded packages instead of the default ones
+     * @param packages prefixes of the excluded class names, e.g. {@code "java.util.stream."}
+     * @return new renderer
+     */
+    public @NonNull StackTraceRenderer exclude(@NonNull String... packages) {
+        String[] prefixes = packages.clone();
+        for (String prefix : prefixes) {
+            Objects.requireNonNull(prefix, "StackTraceRenderer::exclude - package is null");
+        }
+        return new StackTraceRenderer(maxFrames, maxDepth, maxSuppressed, maxChars, prefixes);
+    }
+
+    /**
+     * Render the stack trace to the string
+     * @param throwable exception
+     * @return rendered stack trace
+     */
+    public @NonNull String render(@NonNull Throwable throwable) {
+        return render(new StringBuilder(Math.min(maxChars, 1024) + TRUNCATED.length() + 1), throwable).toString();
+    }
+
+    /**
+     * Render the stack trace to the appendable
+     * @param appendable target of the text
+     * @param throwable exception
+     * @return appendable
+     * @param <A> type of the appendable
+     */
+    public <A extends Appendable> @NonNull A render(@NonNull A appendable, @NonNull Throwable throwable) {
+        Objects.requireNonNull(appendable, "StackTraceRenderer::render - appendable is null");
+        Objects.requireNonNull(throwable, "StackTraceRenderer::render - throwable is null");
+        Output output = new Output(appendable, maxChars);
+        try {
+            Set<Throwable> rendered = Collections.newSetFromMap(new IdentityHashMap<>());
+            rendered.add(throwable);
+            StackTraceElement[] trace = throwable.getStackTrace();
+            output.append(throwable.toString()).newLine();
+            renderFrames(output, trace, trace.length, 0, "");
+            renderBody(output, throwable, trace, "", 0, rendered);
+        } catch (Truncated truncated) {
+            output.truncate();
+        } catch (IOException exception) {
+            return Exceptional.rethrow(exception);
+        }
+        return appendable;
+    }
+
+    private void renderBody(Output output, Throwable throwable, StackTraceElement[] trace, String prefix, int depth, Set<Throwable> rendered) throws IOException {
+        Throwable[] suppressed = throwable.getSuppressed();
+        for (int i = 0; i < suppressed.length; i++) {
+            if (i >= maxSuppressed) {
+                output.append(prefix).append("\t... ").append(suppressed.length - i).append(" more suppressed").newLine();
+                break;
+            }
+            renderEnclosed(output, suppressed[i], trace, "Suppressed: ", prefix + "\t", depth, rendered);
+        }
+        Throwable cause = throwable.getCause();
+        if (cause != null) {
+            if (depth >= maxDepth) {
+                output.append(prefix).append("Caused by: ... ").append(causes(cause, rendered)).append(" more cause(s)").newLine();
+            } else {
+                renderEnclosed(output, cause, trace, "Caused by: ", prefix, depth + 1, rendered);
+            }
+        }
+    }
+
+    private void renderEnclosed(Output output, Throwable throwable, StackTraceElement[] enclosing, String caption, String prefix, int depth, Set<Throwable> rendered) throws IOException {
+        if (!rendered.add(throwable)) {
+            output.append(prefix).append(caption).append("[CIRCULAR REFERENCE: ").append(throwable.toString()).append(']').newLine();
+            return;
+        }
+        StackTraceElement[] trace = throwable.getStackTrace();
+        int last = trace.length - 1;
+        for (int enclosed = enclosing.length - 1; last >= 0 && enclosed >= 0 && trace[last].equals(enclosing[enclosed]); enclosed--) {
+            last--;
+        }
+        output.append(prefix).append(caption).append(throwable.toString()).newLine();
+        renderFrames(output, trace, last + 1, trace.length - 1 - last, prefix);
+        renderBody(output, throwable, trace, prefix, depth, rendered);
+    }
+
+    private void renderFrames(Output output, StackTraceElement[] trace, int length, int inCommon, String prefix) throws IOException {
+        int frames = 0;
+        int filtered = 0;
+        int index = 0;
+        for (; index < length && frames < maxFrames; index++) {
+            if (isExcluded(trace[index].getClassName())) {
+                filtered++;
+            } else {
+                output.append(prefix).append("\tat ").append(trace[index].toString()).newLine();
+                frames++;
+            }
+        }
+        if (filtered > 0) {
+            output.append(prefix).append("\t... ").append(filtered).append(" filtered").newLine();
+        }
+        int more = length - index + inCommon;
+        if (more > 0) {
+            output.append(prefix).append("\t... ").append(more).append(" more").newLine();
+        }
+    }
+
+    private boolean isExcluded(String className) {
+        for (String prefix : excluded) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int causes(Throwable cause, Set<Throwable> rendered) {
+        int count = 0;
+        Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Throwable current = cause; current != null && !rendered.contains(current) && seen.add(current); current = current.getCause()) {
+            count++;
+        }
+        return count;
+    }
+
+    private static int nonNegative(int value, String name) {
+        if (value < 0) {
+            throw new IllegalArgumentException("StackTraceRenderer - " + name + " has to be non negative, but: " + value);
+        }
+        return value;
+    }
+
+    /**
+     * Appendable with the character limit: the append above the limit writes the part up to the limit and stops rendering
+     */
+    private static final class Output {
+
+        private final Appendable appendable;
+        private int remaining;
+
+        private Output(Appendable appendable, int maxChars) {
+            this.appendable = appendable;
+            this.remaining = maxChars;
+        }
+
+        private Output append(CharSequence text) throws IOException {
+            if (text.length() > remaining) {
+                appendable.append(text, 0, remaining);
+                remaining = 0;
+                throw Truncated.INSTANCE;
+            }
+            appendable.append(text);
+            remaining -= text.length();
+            return this;
+        }
+
+        private Output append(char character) throws IOException {
+            if (remaining == 0) {
+                throw Truncated.INSTANCE;
+            }
+            appendable.append(character);
+            remaining--;
+            return this;
+        }
+
+        private Output append(int number) throws IOException {
+            return append(Integer.toString(number));
+        }
+
+        private void newLine() throws IOException {
+            append('\n');
+        }
+
+        private void truncate() {
+            try {
+                appendable.append(TRUNCATED);
+            } catch (IOException exception) {
+                Exceptional.sneakyThrow(exception);
+            }
+        }
+
+    }
+
+    private static final class Truncated extends StacklessException {
+
+        private static final long serialVersionUID = 3921740538813540264L;
+        private static final Truncated INSTANCE = new Truncated();
+
+        private Truncated() {
+            super("StackTraceRenderer output is truncated");
+        }
+
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Checked exception without stack trace and without suppression.
+ * Cheap to create and safe to share as a prebuilt instance in hot control flow
+ */
+public class StacklessCheckedException extends Exception {
+
+    private static final long serialVersionUID = 6480447263518357316L;
+
+    /**
+     * Create stackless checked exception with message
+     * @param message the detail message
+     */
+    public StacklessCheckedException(@Nullable String message) {
+        this(message, null);
+    }
+
+    /**
+     * Create stackless checked exception with message and cause
+     * @param message the detail message
+     * @param cause the cause
+     */
+    public StacklessCheckedException(@Nullable String message, @Nullable Throwable cause) {
+        super(message, cause, false, false);
+    }
+
+}
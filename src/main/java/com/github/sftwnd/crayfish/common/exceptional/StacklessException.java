@@ -0,0 +1,30 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Runtime exception without stack trace and without suppression.
+ * Cheap to create and safe to share as a prebuilt instance in hot control flow (timeouts, retries, cancellation)
+ */
+public class StacklessException extends RuntimeException {
+
+    private static final long serialVersionUID = -2207950834326513740L;
+
+    /**
+     * Create stackless exception with message
+     * @param message the detail message
+     */
+    public StacklessException(@Nullable String message) {
+        this(message, null);
+    }
+
+    /**
+     * Create stackless exception with message and cause
+     * @param message the detail message
+     * @param cause the cause
+     */
+    public StacklessException(@Nullable String message, @Nullable Throwable cause) {
+        super(message, cause, false, false);
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * TimeoutException without stack trace: cheap to create on the expiry of the timeout-bounded calls
+ * and still caught as {@link TimeoutException}
+ */
+public class StacklessTimeoutException extends TimeoutException {
+
+    private static final long serialVersionUID = -2297810314826245131L;
+
+    /**
+     * Create stackless timeout exception with message
+     * @param message the detail message
+     */
+    public StacklessTimeoutException(@Nullable String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+
+}
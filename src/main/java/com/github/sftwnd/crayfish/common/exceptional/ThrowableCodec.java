@@ -0,0 +1,652 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Compact binary codec of throwable chains: class names, messages, frames, suppressed exceptions and causes.
+ * Strings and frames are interned per stream, so a repeated name or frame costs one or two bytes, and frames shared
+ * with the enclosing trace are written as a single count. Decoding produces {@link ThrowableSnapshot} instances and
+ * never loads exception classes, sizes, nesting and the total number of frames of the message are bounded, so the data
+ * of other nodes is safe to decode: frames shared with the enclosing trace are counted for each throwable, so a few bytes
+ * claiming the long shared trace can't make the decoder copy and intern it over and over.
+ * Circular references are cut, causes and suppressed exceptions deeper than {@link #MAX_DEPTH} or over {@link #MAX_TOTAL_FRAMES}
+ * are dropped
+ */
+public final class ThrowableCodec {
+
+    /**
+     * Format version written at the start of each stream
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Max number of interned strings and of interned frames per stream, later entries are written inline
+     */
+    public static final int MAX_TABLE_SIZE = 1 << 16;
+
+    /**
+     * Max nesting of causes and suppressed exceptions
+     */
+    public static final int MAX_DEPTH = 256;
+
+    /**
+     * Max number of frames and of suppressed exceptions per throwable
+     */
+    public static final int MAX_COUNT = 1 << 16;
+
+    /**
+     * Max total number of frames of the throwable chain (including the frames shared with the enclosing trace),
+     * each throwable is counted as at least one frame
+     */
+    public static final int MAX_TOTAL_FRAMES = 1 << 20;
+
+    /**
+     * Max length of the encoded string in bytes, longer strings are truncated by the encoder
+     */
+    public static final int MAX_STRING_BYTES = 1 << 22;
+
+    private static final StackTraceElement[] NO_FRAMES = new StackTraceElement[0];
+    private static final int NULL_STRING = 0;
+    private static final int NEW_STRING = 1;
+    private static final int NEW_FRAME = 0;
+    private static final int NO_CAUSE = 0;
+    private static final int HAS_CAUSE = 1;
+    private static final int BUFFER_SIZE = 8192;
+
+    private ThrowableCodec() {
+    }
+
+    /**
+     * Encode the throwable chain as the single message stream
+     * @param throwable exception
+     * @return encoded bytes
+     */
+    public static @NonNull byte[] encode(@NonNull Throwable throwable) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try {
+            encoder(bytes).write(throwable);
+        } catch (IOException ioException) {
+            return Exceptional.rethrow(ioException);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Encode the throwable chain as the single message stream into the buffer
+     * @param throwable exception
+     * @param buffer target buffer, its position is left unchanged if the message does not fit
+     * @throws BufferOverflowException if the message does not fit the remaining space
+     */
+    public static void encode(@NonNull Throwable throwable, @NonNull ByteBuffer buffer) {
+        Objects.requireNonNull(buffer, "ThrowableCodec::encode - buffer is null");
+        int position = buffer.position();
+        try {
+            new Encoder(new BufferOutput(buffer)).write(throwable);
+        } catch (BufferOverflowException overflow) {
+            buffer.position(position);
+            throw overflow;
+        } catch (IOException ioException) {
+            Exceptional.sneakyThrow(ioException);
+        }
+    }
+
+    /**
+     * Decode the single message stream
+     * @param bytes encoded bytes
+     * @return snapshot of the throwable chain
+     * @throws IllegalArgumentException if the data is malformed or truncated
+     */
+    public static @NonNull ThrowableSnapshot decode(@NonNull byte[] bytes) {
+        Objects.requireNonNull(bytes, "ThrowableCodec::decode - bytes is null");
+        return decode(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Decode the single message stream from the buffer
+     * @param buffer source buffer, its position is moved behind the message
+     * @return snapshot of the throwable chain
+     * @throws IllegalArgumentException if the data is malformed or truncated
+     */
+    public static @NonNull ThrowableSnapshot decode(@NonNull ByteBuffer buffer) {
+        Objects.requireNonNull(buffer, "ThrowableCodec::decode - buffer is null");
+        ThrowableSnapshot snapshot;
+        try {
+            snapshot = new Decoder(new BufferInput(buffer)).read();
+        } catch (IOException ioException) {
+            throw new IllegalArgumentException("ThrowableCodec::decode - malformed data: " + ioException.getMessage(), ioException);
+        }
+        if (snapshot == null) {
+            throw new IllegalArgumentException("ThrowableCodec::decode - no data");
+        }
+        return snapshot;
+    }
+
+    /**
+     * Create encoder of the stream of throwable chains sharing the intern tables
+     * @param outputStream target stream
+     * @return encoder
+     */
+    public static @NonNull Encoder encoder(@NonNull OutputStream outputStream) {
+        Objects.requireNonNull(outputStream, "ThrowableCodec::encoder - outputStream is null");
+        return new Encoder(new StreamOutput(outputStream));
+    }
+
+    /**
+     * Create decoder of the stream of throwable chains. The decoder reads ahead, so the stream belongs to the decoder
+     * @param inputStream source stream
+     * @return decoder
+     */
+    public static @NonNull Decoder decoder(@NonNull InputStream inputStream) {
+        Objects.requireNonNull(inputStream, "ThrowableCodec::decoder - inputStream is null");
+        return new Decoder(new StreamInput(inputStream));
+    }
+
+    /**
+     * Streaming encoder. Each written throwable is passed to the target stream as soon as it is encoded,
+     * strings and frames are interned for the whole stream. The encoder is not thread safe
+     */
+    public static final class Encoder implements Flushable {
+
+        private final Output output;
+        private final Map<String, Integer> strings = new HashMap<>();
+        private final Map<StackTraceElement, Integer> frames = new HashMap<>();
+        private boolean started;
+        private int budget;
+
+        private Encoder(Output output) {
+            this.output = output;
+        }
+
+        /**
+         * Encode the throwable chain
+         * @param throwable exception
+         * @throws IOException on failure of the target stream
+         */
+        public void write(@NonNull Throwable throwable) throws IOException {
+            Objects.requireNonNull(throwable, "ThrowableCodec.Encoder::write - throwable is null");
+            if (!started) {
+                output.write(VERSION);
+                started = true;
+            }
+            budget = MAX_TOTAL_FRAMES - cost(trace(throwable));
+            writeThrowable(throwable, NO_FRAMES, Collections.newSetFromMap(new IdentityHashMap<>()), 0);
+            output.drain();
+        }
+
+        /**
+         * Flush the target stream
+         * @throws IOException on failure of the target stream
+         */
+        @Override
+        public void flush() throws IOException {
+            output.drain();
+            output.flush();
+        }
+
+        private void writeThrowable(Throwable throwable, StackTraceElement[] enclosing, Set<Throwable> written, int depth) throws IOException {
+            written.add(throwable);
+            writeString(throwable.getClass().getName());
+            writeString(throwable.getMessage());
+            StackTraceElement[] trace = trace(throwable);
+            int common = commonFrames(trace, enclosing);
+            int unique = trace.length - common;
+            writeVarint(unique);
+            writeVarint(common);
+            for (int i = 0; i < unique; i++) {
+                writeFrame(trace[i]);
+            }
+            boolean nested = depth + 1 < MAX_DEPTH;
+            List<Throwable> suppressed = new ArrayList<>(0);
+            if (nested) {
+                for (Throwable candidate : throwable.getSuppressed()) {
+                    if (suppressed.size() < MAX_COUNT && !written.contains(candidate) && !suppressed.contains(candidate) && reserve(candidate)) {
+                        suppressed.add(candidate);
+                    }
+                }
+            }
+            writeVarint(suppressed.size());
+            for (Throwable element : suppressed) {
+                writeThrowable(element, trace, written, depth + 1);
+            }
+            Throwable cause = throwable.getCause();
+            if (cause != null && nested && !written.contains(cause) && reserve(cause)) {
+                output.write(HAS_CAUSE);
+                writeThrowable(cause, trace, written, depth + 1);
+            } else {
+                output.write(NO_CAUSE);
+            }
+        }
+
+        // the frames of the throwable are taken from the budget before it's written, its own nested throwables are
+        // reserved when it's written, so the message never exceeds the budget checked by the decoder
+        private boolean reserve(Throwable throwable) {
+            int cost = cost(trace(throwable));
+            if (cost > budget) {
+                return false;
+            }
+            budget -= cost;
+            return true;
+        }
+
+        private static StackTraceElement[] trace(Throwable throwable) {
+            StackTraceElement[] trace = throwable.getStackTrace();
+            return trace.length > MAX_COUNT ? Arrays.copyOf(trace, MAX_COUNT) : trace;
+        }
+
+        private static int cost(StackTraceElement[] trace) {
+            return Math.max(trace.length, 1);
+        }
+
+        private void writeFrame(StackTraceElement frame) throws IOException {
+            Integer index = frames.get(frame);
+            if (index != null) {
+                writeVarint(index + 1);
+                return;
+            }
+            writeVarint(NEW_FRAME);
+            if (frames.size() < MAX_TABLE_SIZE) {
+                frames.put(frame, frames.size());
+            }
+            writeString(frame.getClassLoaderName());
+            writeString(frame.getModuleName());
+            writeString(frame.getModuleVersion());
+            writeString(frame.getClassName());
+            writeString(frame.getMethodName());
+            writeString(frame.getFileName());
+            int line = frame.getLineNumber();
+            writeVarint((line << 1) ^ (line >> 31));
+        }
+
+        private void writeString(String string) throws IOException {
+            if (string == null) {
+                writeVarint(NULL_STRING);
+                return;
+            }
+            Integer index = strings.get(string);
+            if (index != null) {
+                writeVarint(index + 2);
+                return;
+            }
+            writeVarint(NEW_STRING);
+            if (strings.size() < MAX_TABLE_SIZE) {
+                strings.put(string, strings.size());
+            }
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > MAX_STRING_BYTES) {
+                // at most 3 bytes per UTF-16 char, the surrogate pair is not split
+                int end = MAX_STRING_BYTES / 3;
+                bytes = string.substring(0, Character.isHighSurrogate(string.charAt(end - 1)) ? end - 1 : end).getBytes(StandardCharsets.UTF_8);
+            }
+            writeVarint(bytes.length);
+            output.write(bytes, 0, bytes.length);
+        }
+
+        private void writeVarint(int value) throws IOException {
+            while ((value & ~0x7f) != 0) {
+                output.write((value & 0x7f) | 0x80);
+                value >>>= 7;
+            }
+            output.write(value);
+        }
+
+        private static int commonFrames(StackTraceElement[] trace, StackTraceElement[] enclosing) {
+            int m = trace.length - 1;
+            int n = enclosing.length - 1;
+            while (m >= 0 && n >= 0 && trace[m].equals(enclosing[n])) {
+                m--;
+                n--;
+            }
+            return trace.length - 1 - m;
+        }
+
+    }
+
+    /**
+     * Streaming decoder. The decoder is not thread safe
+     */
+    public static final class Decoder {
+
+        private final Input input;
+        private final List<String> strings = new ArrayList<>();
+        private final List<StackTraceElement> frames = new ArrayList<>();
+        private boolean started;
+        private int budget;
+
+        private Decoder(Input input) {
+            this.input = input;
+        }
+
+        /**
+         * Decode the next throwable chain
+         * @return snapshot of the throwable chain or null at the end of the stream
+         * @throws IOException on failure of the source stream
+         * @throws StreamCorruptedException if the data is malformed
+         * @throws EOFException if the data is truncated
+         */
+        public @Nullable ThrowableSnapshot read() throws IOException {
+            if (!started) {
+                int version = input.read();
+                if (version < 0) {
+                    return null;
+                }
+                if (version != VERSION) {
+                    throw new StreamCorruptedException("unsupported version: " + version);
+                }
+                started = true;
+            }
+            budget = MAX_TOTAL_FRAMES;
+            return input.atEnd() ? null : readThrowable(NO_FRAMES, 0);
+        }
+
+        private ThrowableSnapshot readThrowable(StackTraceElement[] enclosing, int depth) throws IOException {
+            if (depth >= MAX_DEPTH) {
+                throw new StreamCorruptedException("nesting is deeper than " + MAX_DEPTH);
+            }
+            String className = required(readString(), "class name");
+            String message = readString();
+            int unique = readCount();
+            int common = readVarint();
+            if (common < 0 || common > enclosing.length || unique + common > MAX_COUNT) {
+                throw new StreamCorruptedException("wrong number of frames: " + unique + " + " + common);
+            }
+            // the shared frames are charged too, they are copied and interned for each throwable
+            budget -= Math.max(unique + common, 1);
+            if (budget < 0) {
+                throw new StreamCorruptedException("more than " + MAX_TOTAL_FRAMES + " frames in the message");
+            }
+            StackTraceElement[] trace = new StackTraceElement[unique + common];
+            for (int i = 0; i < unique; i++) {
+                trace[i] = readFrame();
+            }
+            System.arraycopy(enclosing, enclosing.length - common, trace, unique, common);
+            int count = readCount();
+            List<ThrowableSnapshot> suppressed = count == 0 ? List.of() : new ArrayList<>(Math.min(count, 16));
+            for (int i = 0; i < count; i++) {
+                suppressed.add(readThrowable(trace, depth + 1));
+            }
+            int flag = readByte();
+            ThrowableSnapshot cause;
+            if (flag == HAS_CAUSE) {
+                cause = readThrowable(trace, depth + 1);
+            } else if (flag == NO_CAUSE) {
+                cause = null;
+            } else {
+                throw new StreamCorruptedException("wrong cause flag: " + flag);
+            }
+            return new ThrowableSnapshot(className, message, trace, suppressed, cause);
+        }
+
+        private StackTraceElement readFrame() throws IOException {
+            int reference = readVarint();
+            if (reference != NEW_FRAME) {
+                if (reference < 0 || reference > frames.size()) {
+                    throw new StreamCorruptedException("wrong frame reference: " + reference);
+                }
+                return frames.get(reference - 1);
+            }
+            String classLoaderName = readString();
+            String moduleName = readString();
+            String moduleVersion = readString();
+            String className = required(readString(), "frame class name");
+            String methodName = required(readString(), "frame method name");
+            String fileName = readString();
+            int line = readVarint();
+            StackTraceElement frame = new StackTraceElement(classLoaderName, moduleName, moduleVersion,
+                    className, methodName, fileName, (line >>> 1) ^ -(line & 1));
+            if (frames.size() < MAX_TABLE_SIZE) {
+                frames.add(frame);
+            }
+            return frame;
+        }
+
+        private String readString() throws IOException {
+            int reference = readVarint();
+            if (reference == NULL_STRING) {
+                return null;
+            }
+            if (reference != NEW_STRING) {
+                if (reference < 0 || reference - 2 >= strings.size()) {
+                    throw new StreamCorruptedException("wrong string reference: " + reference);
+                }
+                return strings.get(reference - 2);
+            }
+            int length = readVarint();
+            if (length < 0 || length > MAX_STRING_BYTES) {
+                throw new StreamCorruptedException("wrong string length: " + length);
+            }
+            byte[] bytes = new byte[length];
+            input.readFully(bytes, length);
+            String string = new String(bytes, StandardCharsets.UTF_8);
+            if (strings.size() < MAX_TABLE_SIZE) {
+                strings.add(string);
+            }
+            return string;
+        }
+
+        private int readCount() throws IOException {
+            int count = readVarint();
+            if (count < 0 || count > MAX_COUNT) {
+                throw new StreamCorruptedException("wrong count: " + count);
+            }
+            return count;
+        }
+
+        private int readVarint() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = readByte();
+                value |= (b & 0x7f) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new StreamCorruptedException("malformed varint");
+        }
+
+        private int readByte() throws IOException {
+            int b = input.read();
+            if (b < 0) {
+                throw new EOFException("unexpected end of data");
+            }
+            return b;
+        }
+
+        private static String required(String value, String name) throws StreamCorruptedException {
+            if (value == null) {
+                throw new StreamCorruptedException(name + " is null");
+            }
+            return value;
+        }
+
+    }
+
+    private abstract static class Output {
+
+        abstract void write(int b) throws IOException;
+
+        abstract void write(byte[] bytes, int offset, int length) throws IOException;
+
+        void drain() throws IOException {
+        }
+
+        void flush() throws IOException {
+        }
+
+    }
+
+    private static final class BufferOutput extends Output {
+
+        private final ByteBuffer buffer;
+
+        private BufferOutput(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        void write(int b) {
+            buffer.put((byte) b);
+        }
+
+        @Override
+        void write(byte[] bytes, int offset, int length) {
+            buffer.put(bytes, offset, length);
+        }
+
+    }
+
+    private static final class StreamOutput extends Output {
+
+        private final OutputStream outputStream;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+
+        private StreamOutput(OutputStream outputStream) {
+            this.outputStream = outputStream;
+        }
+
+        @Override
+        void write(int b) throws IOException {
+            if (position == buffer.length) {
+                drain();
+            }
+            buffer[position++] = (byte) b;
+        }
+
+        @Override
+        void write(byte[] bytes, int offset, int length) throws IOException {
+            if (length > buffer.length - position) {
+                drain();
+                if (length > buffer.length) {
+                    outputStream.write(bytes, offset, length);
+                    return;
+                }
+            }
+            System.arraycopy(bytes, offset, buffer, position, length);
+            position += length;
+        }
+
+        @Override
+        void drain() throws IOException {
+            if (position > 0) {
+                outputStream.write(buffer, 0, position);
+                position = 0;
+            }
+        }
+
+        @Override
+        void flush() throws IOException {
+            outputStream.flush();
+        }
+
+    }
+
+    private abstract static class Input {
+
+        abstract int read() throws IOException;
+
+        abstract void readFully(byte[] bytes, int length) throws IOException;
+
+        abstract boolean atEnd() throws IOException;
+
+    }
+
+    private static final class BufferInput extends Input {
+
+        private final ByteBuffer buffer;
+
+        private BufferInput(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        void readFully(byte[] bytes, int length) throws EOFException {
+            if (buffer.remaining() < length) {
+                throw new EOFException("unexpected end of data");
+            }
+            buffer.get(bytes, 0, length);
+        }
+
+        @Override
+        boolean atEnd() {
+            return !buffer.hasRemaining();
+        }
+
+    }
+
+    private static final class StreamInput extends Input {
+
+        private final InputStream inputStream;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+        private int limit;
+
+        private StreamInput(InputStream inputStream) {
+            this.inputStream = inputStream;
+        }
+
+        @Override
+        int read() throws IOException {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            return buffer[position++] & 0xff;
+        }
+
+        @Override
+        void readFully(byte[] bytes, int length) throws IOException {
+            int offset = 0;
+            while (offset < length) {
+                if (position == limit && !fill()) {
+                    throw new EOFException("unexpected end of data");
+                }
+                int chunk = Math.min(length - offset, limit - position);
+                System.arraycopy(buffer, position, bytes, offset, chunk);
+                position += chunk;
+                offset += chunk;
+            }
+        }
+
+        @Override
+        boolean atEnd() throws IOException {
+            return position == limit && !fill();
+        }
+
+        private boolean fill() throws IOException {
+            int read = inputStream.read(buffer, 0, buffer.length);
+            if (read <= 0) {
+                return false;
+            }
+            position = 0;
+            limit = read;
+            return true;
+        }
+
+    }
+
+}
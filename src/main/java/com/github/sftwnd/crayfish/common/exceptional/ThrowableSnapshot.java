@@ -0,0 +1,177 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable memory-compact copy of the throwable: class name, message, frames, suppressed and cause snapshots.
+ * Frames are stored as char indices into the shared weakly held intern pool, so the frame costs two bytes
+ * and a repeated trace costs one reference. The snapshot does not hold the original throwable and never loads
+ * or instantiates exception classes, so it is safe to build from data received from other nodes
+ */
+public final class ThrowableSnapshot {
+
+    private static final int MAX_DEPTH = CauseResolver.DEFAULT_MAX_DEPTH;
+
+    private final String className;
+    private final String message;
+    // null when the text is the message or the class name with the message
+    private final String text;
+    private final FramePool pool;
+    private final char[] frames;
+    private final List<ThrowableSnapshot> suppressed;
+    private final ThrowableSnapshot cause;
+    // null when the snapshot is significant itself
+    private final ThrowableSnapshot significant;
+
+    ThrowableSnapshot(@NonNull String className, @Nullable String message, @NonNull StackTraceElement[] frames,
+                      @NonNull List<ThrowableSnapshot> suppressed, @Nullable ThrowableSnapshot cause) {
+        this(className, message, null, FramePool.intern(frames), suppressed, cause, null);
+    }
+
+    private ThrowableSnapshot(String className, String message, String text, FramePool.Interned frames,
+                              List<ThrowableSnapshot> suppressed, ThrowableSnapshot cause, ThrowableSnapshot significant) {
+        this.className = className;
+        this.message = message;
+        this.pool = frames.pool;
+        this.frames = frames.indices;
+        this.suppressed = List.copyOf(suppressed);
+        this.cause = cause;
+        this.significant = significant;
+        this.text = text == null || text.equals(derivedText()) ? null : text;
+    }
+
+    /**
+     * Create snapshot of the throwable with its suppressed exceptions and causes. Circular references are cut,
+     * causes and suppressed exceptions deeper than {@link CauseResolver#DEFAULT_MAX_DEPTH} are dropped
+     * @param throwable exception
+     * @return snapshot
+     */
+    public static @NonNull ThrowableSnapshot of(@NonNull Throwable throwable) {
+        Objects.requireNonNull(throwable, "ThrowableSnapshot::of - throwable is null");
+        return snapshot(throwable, new IdentityHashMap<>(), 0);
+    }
+
+    private static ThrowableSnapshot snapshot(Throwable throwable, Map<Throwable, ThrowableSnapshot> built, int depth) {
+        // the placeholder cuts circular references
+        built.put(throwable, null);
+        boolean nested = depth + 1 < MAX_DEPTH;
+        List<ThrowableSnapshot> suppressed = new ArrayList<>(0);
+        if (nested) {
+            for (Throwable element : throwable.getSuppressed()) {
+                if (!built.containsKey(element)) {
+                    suppressed.add(snapshot(element, built, depth + 1));
+                }
+            }
+        }
+        Throwable cause = throwable.getCause();
+        ThrowableSnapshot causeSnapshot = cause != null && nested && !built.containsKey(cause) ? snapshot(cause, built, depth + 1) : null;
+        Throwable significant = Exceptional.cause(throwable, true);
+        ThrowableSnapshot significantSnapshot = significant == throwable ? null : built.get(significant);
+        ThrowableSnapshot snapshot = new ThrowableSnapshot(throwable.getClass().getName(), throwable.getMessage(),
+                Exceptional.exceptionText(throwable), FramePool.intern(throwable.getStackTrace()),
+                suppressed, causeSnapshot, significantSnapshot);
+        built.put(throwable, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Name of the exception class
+     * @return class name
+     */
+    public @NonNull String className() {
+        return className;
+    }
+
+    /**
+     * Message of the exception
+     * @return message or null
+     */
+    public @Nullable String message() {
+        return message;
+    }
+
+    /**
+     * Text of the exception as {@link Exceptional#exceptionText(Throwable)}: the message if it is not blank
+     * or the text in the format of {@link Throwable#toString()}
+     * @return exception text
+     */
+    public @NonNull String text() {
+        return text == null ? derivedText() : text;
+    }
+
+    /**
+     * Snapshot of the significant cause resolved by {@link Exceptional#cause(Throwable, boolean)} with the last wrapper
+     * cause taken. Snapshots decoded by {@link ThrowableCodec} and causes outside the chain resolve to the snapshot itself
+     * @return significant cause snapshot
+     */
+    public @NonNull ThrowableSnapshot significantCause() {
+        return significant == null ? this : significant;
+    }
+
+    /**
+     * Stack trace of the exception
+     * @return frames resolved from the intern pool
+     */
+    public @NonNull StackTraceElement[] frames() {
+        StackTraceElement[] result = new StackTraceElement[frames.length];
+        for (int i = 0; i < frames.length; i++) {
+            result[i] = pool.frame(frames[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Frame of the stack trace
+     * @param index index of the frame, 0 is the top one
+     * @return frame
+     */
+    public @NonNull StackTraceElement frame(int index) {
+        Objects.checkIndex(index, frames.length);
+        return pool.frame(frames[index]);
+    }
+
+    /**
+     * Number of frames
+     * @return number of frames in the stack trace
+     */
+    public int frameCount() {
+        return frames.length;
+    }
+
+    /**
+     * Suppressed exceptions
+     * @return unmodifiable list of suppressed snapshots
+     */
+    public @NonNull List<ThrowableSnapshot> suppressed() {
+        return suppressed;
+    }
+
+    /**
+     * Cause of the exception
+     * @return cause snapshot or null
+     */
+    public @Nullable ThrowableSnapshot cause() {
+        return cause;
+    }
+
+    /**
+     * Text in the format of {@link Throwable#toString()}
+     * @return class name and message
+     */
+    @Override
+    public String toString() {
+        return message == null ? className : className + ": " + message;
+    }
+
+    private String derivedText() {
+        return message == null || message.isBlank() ? toString() : message;
+    }
+
+}
@@ -0,0 +1,366 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Result of a call which could fail: success with a value or failure with an exception.
+ * Failures are handled as values without throwing. Void and null successes are shared singletons.
+ * Only {@link Exception} is captured, errors are propagated as is
+ * @param <V> type of the value
+ */
+public abstract class Try<V> {
+
+    private static final Try<Void> VOID = new Success<>(null);
+    private static final Try<Object> NULL = new Success<>(null);
+
+    /**
+     * Successful result without value
+     * @return void success singleton
+     */
+    public static @NonNull Try<Void> success() {
+        return VOID;
+    }
+
+    /**
+     * Successful result
+     * @param value result value
+     * @return success
+     * @param <V> type of the value
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> @NonNull Try<V> success(@Nullable V value) {
+        return value == null ? (Try<V>) NULL : new Success<>(value);
+    }
+
+    /**
+     * Failed result
+     * @param throwable failure
+     * @return failure
+     * @param <V> type of the value
+     */
+    public static <V> @NonNull Try<V> failure(@NonNull Throwable throwable) {
+        return new Failure<>(Objects.requireNonNull(throwable, "Try::failure - throwable is null"));
+    }
+
+    /**
+     * Result of the Callable call
+     * @param call the Callable interface implementation
+     * @return success with call result or failure with thrown exception
+     * @param <V> type of the value
+     */
+    public static <V> @NonNull Try<V> of(@NonNull Callable<V> call) {
+        try {
+            return success(call.call());
+        } catch (Exception exception) {
+            return new Failure<>(exception);
+        }
+    }
+
+    /**
+     * Result of the Processable process
+     * @param processor the Processable interface implementation
+     * @return void success or failure with thrown exception
+     */
+    public static @NonNull Try<Void> run(@NonNull Sneaky.Processable processor) {
+        try {
+            processor.process();
+            return VOID;
+        } catch (Exception exception) {
+            return new Failure<>(exception);
+        }
+    }
+
+    /**
+     * Check result is success
+     * @return true on success
+     */
+    public abstract boolean isSuccess();
+
+    /**
+     * Check result is failure
+     * @return true on failure
+     */
+    public final boolean isFailure() {
+        return !isSuccess();
+    }
+
+    /**
+     * Value of the success or sneaky throw of the failure
+     * @return value
+     */
+    public abstract @Nullable V get();
+
+    /**
+     * Exception of the failure
+     * @return exception of the failure or empty on success
+     */
+    public abstract @NonNull Optional<Throwable> failure();
+
+    /**
+     * Value of the success or the other value on failure
+     * @param other value on failure
+     * @return value
+     */
+    public abstract @Nullable V orElse(@Nullable V other);
+
+    /**
+     * Value of the success or the function result on failure
+     * @param other function to make value from failure
+     * @return value
+     */
+    public abstract @Nullable V orElseGet(@NonNull Function<? super Throwable, ? extends V> other);
+
+    /**
+     * Transform the value of success
+     * @param functional the Functional interface implementation
+     * @return success with transformed value, failure with thrown exception or this failure
+     * @param <R> type of the result
+     */
+    public abstract <R> @NonNull Try<R> map(@NonNull Sneaky.Functional<? super V, ? extends R> functional);
+
+    /**
+     * Transform the value of success to another result
+     * @param functional the Functional interface implementation
+     * @return result of the functional, failure with thrown exception or this failure
+     * @param <R> type of the result
+     */
+    public abstract <R> @NonNull Try<R> flatMap(@NonNull Sneaky.Functional<? super V, Try<R>> functional);
+
+    /**
+     * Transform the failure to the value
+     * @param functional the Functional interface implementation
+     * @return this success, success with recovered value or failure with thrown exception
+     */
+    public abstract @NonNull Try<V> recover(@NonNull Sneaky.Functional<? super Throwable, ? extends V> functional);
+
+    /**
+     * Transform the failure to another result
+     * @param functional the Functional interface implementation
+     * @return this success, result of the functional or failure with thrown exception
+     */
+    public abstract @NonNull Try<V> recoverWith(@NonNull Sneaky.Functional<? super Throwable, Try<V>> functional);
+
+    /**
+     * Fold success or failure to the single value
+     * @param onSuccess function to apply to the value
+     * @param onFailure function to apply to the exception
+     * @return function result
+     * @param <R> type of the result
+     */
+    public abstract <R> R fold(@NonNull Function<? super V, ? extends R> onSuccess, @NonNull Function<? super Throwable, ? extends R> onFailure);
+
+    /**
+     * Perform action on success
+     * @param consumer action on value
+     * @return this result
+     */
+    public abstract @NonNull Try<V> onSuccess(@NonNull Consumer<? super V> consumer);
+
+    /**
+     * Perform action on failure
+     * @param consumer action on exception
+     * @return this result
+     */
+    public abstract @NonNull Try<V> onFailure(@NonNull Consumer<? super Throwable> consumer);
+
+    private Try() {
+    }
+
+    private static final class Success<V> extends Try<V> {
+
+        private final V value;
+
+        private Success(V value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean isSuccess() {
+            return true;
+        }
+
+        @Override
+        public V get() {
+            return value;
+        }
+
+        @Override
+        public Optional<Throwable> failure() {
+            return Optional.empty();
+        }
+
+        @Override
+        public V orElse(V other) {
+            return value;
+        }
+
+        @Override
+        public V orElseGet(Function<? super Throwable, ? extends V> other) {
+            return value;
+        }
+
+        @Override
+        public <R> Try<R> map(Sneaky.Functional<? super V, ? extends R> functional) {
+            try {
+                return success(functional.apply(value));
+            } catch (Exception exception) {
+                return new Failure<>(exception);
+            }
+        }
+
+        @Override
+        public <R> Try<R> flatMap(Sneaky.Functional<? super V, Try<R>> functional) {
+            try {
+                return Objects.requireNonNull(functional.apply(value), "Try::flatMap - functional result is null");
+            } catch (Exception exception) {
+                return new Failure<>(exception);
+            }
+        }
+
+        @Override
+        public Try<V> recover(Sneaky.Functional<? super Throwable, ? extends V> functional) {
+            return this;
+        }
+
+        @Override
+        public Try<V> recoverWith(Sneaky.Functional<? super Throwable, Try<V>> functional) {
+            return this;
+        }
+
+        @Override
+        public <R> R fold(Function<? super V, ? extends R> onSuccess, Function<? super Throwable, ? extends R> onFailure) {
+            return onSuccess.apply(value);
+        }
+
+        @Override
+        public Try<V> onSuccess(Consumer<? super V> consumer) {
+            consumer.accept(value);
+            return this;
+        }
+
+        @Override
+        public Try<V> onFailure(Consumer<? super Throwable> consumer) {
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            return this == object || (object instanceof Success && Objects.equals(value, ((Success<?>) object).value));
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return "Success(" + value + ")";
+        }
+
+    }
+
+    private static final class Failure<V> extends Try<V> {
+
+        private final Throwable throwable;
+
+        private Failure(Throwable throwable) {
+            this.throwable = throwable;
+        }
+
+        @Override
+        public boolean isSuccess() {
+            return false;
+        }
+
+        @Override
+        public V get() {
+            return Exceptional.rethrow(throwable);
+        }
+
+        @Override
+        public Optional<Throwable> failure() {
+            return Optional.of(throwable);
+        }
+
+        @Override
+        public V orElse(V other) {
+            return other;
+        }
+
+        @Override
+        public V orElseGet(Function<? super Throwable, ? extends V> other) {
+            return other.apply(throwable);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <R> Try<R> map(Sneaky.Functional<? super V, ? extends R> functional) {
+            return (Try<R>) this;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <R> Try<R> flatMap(Sneaky.Functional<? super V, Try<R>> functional) {
+            return (Try<R>) this;
+        }
+
+        @Override
+        public Try<V> recover(Sneaky.Functional<? super Throwable, ? extends V> functional) {
+            try {
+                return success(functional.apply(throwable));
+            } catch (Exception exception) {
+                return new Failure<>(exception);
+            }
+        }
+
+        @Override
+        public Try<V> recoverWith(Sneaky.Functional<? super Throwable, Try<V>> functional) {
+            try {
+                return Objects.requireNonNull(functional.apply(throwable), "Try::recoverWith - functional result is null");
+            } catch (Exception exception) {
+                return new Failure<>(exception);
+            }
+        }
+
+        @Override
+        public <R> R fold(Function<? super V, ? extends R> onSuccess, Function<? super Throwable, ? extends R> onFailure) {
+            return onFailure.apply(throwable);
+        }
+
+        @Override
+        public Try<V> onSuccess(Consumer<? super V> consumer) {
+            return this;
+        }
+
+        @Override
+        public Try<V> onFailure(Consumer<? super Throwable> consumer) {
+            consumer.accept(throwable);
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            return this == object || (object instanceof Failure && throwable.equals(((Failure<?>) object).throwable));
+        }
+
+        @Override
+        public int hashCode() {
+            return throwable.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "Failure(" + throwable + ")";
+        }
+
+    }
+
+}
@@ -0,0 +1,251 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed-wheel timer behind the timeout-bounded calls. Scheduling is a lock-free queue offer and cancellation is
+ * a single CAS: timeouts are moved to the wheel buckets by the single daemon worker thread on the next tick,
+ * so timeouts cancelled before the tick never reach the wheel, the others are dropped when their bucket is processed.
+ * The worker parks after the whole wheel revolution without timeouts
+ */
+final class WheelTimer implements Runnable {
+
+    static final long DEFAULT_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    static final int DEFAULT_WHEEL_SIZE = 512;
+    private static final String TIMEOUT_MESSAGE = "Sneaky call timeout is expired";
+
+    private final long tickNanos;
+    private final int mask;
+    private final Timeout[] buckets;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final Thread worker;
+    private final long start;
+    private volatile boolean idle;
+    private long tick;
+    private int size;
+
+    WheelTimer(String name, long tickNanos, int wheelSize) {
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("WheelTimer - tickNanos has to be positive, but: " + tickNanos);
+        }
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("WheelTimer - wheelSize has to be the positive power of 2, but: " + wheelSize);
+        }
+        this.tickNanos = tickNanos;
+        this.mask = wheelSize - 1;
+        this.buckets = new Timeout[wheelSize];
+        this.start = System.nanoTime();
+        this.worker = new Thread(this, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    static WheelTimer global() {
+        return Global.TIMER;
+    }
+
+    /**
+     * Call in the current thread which is interrupted on the timeout expiry.
+     * Only the interruption made by the timer is cleared, the interrupt status set before or during the call by others is kept
+     * @param call the Callable interface implementation
+     * @param timeoutNanos timeout in nanoseconds
+     * @return result of the call completed in time
+     * @param <V> type of the result
+     */
+    <V> V call(Callable<V> call, long timeoutNanos) {
+        return call(null, call, timeoutNanos);
+    }
+
+    /**
+     * Call of the Sneaky adapter in the current thread which is interrupted on the timeout expiry,
+     * the failure or the timeout is recorded as the wrapper failure event of the adapter before the sneaky throw
+     * @param kind adapter name of the wrapper failure event, null to record nothing
+     * @param call the Callable interface implementation
+     * @param timeoutNanos timeout in nanoseconds
+     * @return result of the call completed in time
+     * @param <V> type of the result
+     * @see #call(Callable, long)
+     */
+    <V> V call(String kind, Callable<V> call, long timeoutNanos) {
+        long start = SneakyEvents.start();
+        boolean interrupted = Thread.currentThread().isInterrupted();
+        Timeout timeout = interruptAfter(Thread.currentThread(), timeoutNanos);
+        V result = null;
+        Throwable failure = null;
+        try {
+            result = call.call();
+        } catch (Throwable throwable) { //NOSONAR java:S1181 Throwable and Error should not be caught
+            failure = throwable;
+        }
+        if (!timeout.cancel()) {
+            if (timeout.awaitExpired() && !interrupted) {
+                // clear the interruption made by the timer
+                Thread.interrupted();
+            }
+            StacklessTimeoutException exception = new StacklessTimeoutException(TIMEOUT_MESSAGE);
+            if (failure != null) {
+                exception.addSuppressed(failure);
+            }
+            return failed(kind, exception, start);
+        }
+        return failure == null ? result : failed(kind, failure, start);
+    }
+
+    private static <V> V failed(String kind, Throwable failure, long start) {
+        if (kind != null) {
+            SneakyEvents.wrapperFailure(kind, failure, start);
+        }
+        return Exceptional.rethrow(failure);
+    }
+
+    /**
+     * Schedule interruption of the thread
+     * @param thread thread to interrupt
+     * @param delayNanos delay in nanoseconds
+     * @return timeout handle
+     */
+    Timeout interruptAfter(Thread thread, long delayNanos) {
+        Timeout timeout = new Timeout(thread, System.nanoTime() - start + delayNanos);
+        pending.offer(timeout);
+        if (idle) {
+            LockSupport.unpark(worker);
+        }
+        return timeout;
+    }
+
+    @Override
+    public void run() {
+        long emptyTicks = 0;
+        for (;;) {
+            // park only after the whole revolution without timeouts, so the steady flow of calls doesn't pay for unpark
+            emptyTicks = size == 0 && pending.isEmpty() ? emptyTicks + 1 : 0;
+            if (emptyTicks > buckets.length) {
+                emptyTicks = 0;
+                idle = true;
+                if (pending.isEmpty()) {
+                    LockSupport.park(this);
+                }
+                idle = false;
+                tick = Math.max(tick, (System.nanoTime() - start) / tickNanos);
+                continue;
+            }
+            long sleep;
+            while ((sleep = start + (tick + 1) * tickNanos - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, sleep);
+            }
+            transfer();
+            expire(buckets[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    private void transfer() {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.get() != Timeout.PENDING) {
+                continue;
+            }
+            long ticks = Math.max((timeout.deadline - 1) / tickNanos, tick);
+            timeout.rounds = (ticks - tick) / buckets.length;
+            int bucket = (int) (ticks & mask);
+            timeout.next = buckets[bucket];
+            buckets[bucket] = timeout;
+            size++;
+        }
+    }
+
+    private void expire(Timeout head) {
+        Timeout previous = null;
+        Timeout timeout = head;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            boolean remove = timeout.get() != Timeout.PENDING;
+            if (!remove && timeout.rounds-- <= 0) {
+                timeout.expire();
+                remove = true;
+            }
+            if (remove) {
+                if (previous == null) {
+                    buckets[(int) (tick & mask)] = next;
+                } else {
+                    previous.next = next;
+                }
+                timeout.next = null;
+                size--;
+            } else {
+                previous = timeout;
+            }
+            timeout = next;
+        }
+    }
+
+    /**
+     * Handle of the scheduled interruption
+     */
+    static final class Timeout extends AtomicInteger {
+
+        private static final long serialVersionUID = 1L;
+        static final int PENDING = 0;
+        static final int CANCELLED = 1;
+        static final int EXPIRING = 2;
+        // expired without the interruption: the thread was already interrupted by others
+        static final int EXPIRED = 3;
+        static final int INTERRUPTED = 4;
+
+        private final transient Thread thread;
+        private final long deadline;
+        private long rounds;
+        private transient Timeout next;
+
+        private Timeout(Thread thread, long deadline) {
+            this.thread = thread;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancel the timeout
+         * @return true if cancelled before the expiry
+         */
+        boolean cancel() {
+            return compareAndSet(PENDING, CANCELLED) || get() == CANCELLED;
+        }
+
+        boolean isExpired() {
+            return get() >= EXPIRING;
+        }
+
+        private void expire() {
+            if (compareAndSet(PENDING, EXPIRING)) {
+                if (thread.isInterrupted()) {
+                    set(EXPIRED);
+                } else {
+                    thread.interrupt();
+                    set(INTERRUPTED);
+                }
+            }
+        }
+
+        /**
+         * Wait for the end of the expiry
+         * @return true if the thread is interrupted by the timer
+         */
+        private boolean awaitExpired() {
+            int state;
+            while ((state = get()) < EXPIRED) {
+                Thread.onSpinWait();
+            }
+            return state == INTERRUPTED;
+        }
+
+    }
+
+    private static final class Global {
+        private static final WheelTimer TIMER = new WheelTimer("sneaky-wheel-timer", DEFAULT_TICK_NANOS, DEFAULT_WHEEL_SIZE);
+    }
+
+}
@@ -4,5 +4,6 @@
 @SuppressWarnings("requires-transitive-automatic")
 open module com.github.sftwnd.crayfish_common_exceptional {
     requires transitive com.github.spotbugs.annotations;
+    requires static jdk.jfr;
     exports com.github.sftwnd.crayfish.common.exceptional;
 }
\ No newline at end of file
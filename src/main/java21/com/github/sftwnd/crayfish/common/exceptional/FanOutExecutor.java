@@ -0,0 +1,22 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Default executor of the fan-out helpers: new virtual thread per task
+ */
+final class FanOutExecutor {
+
+    private static final ExecutorService EXECUTOR = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("sneaky-fan-out-", 1).factory());
+
+    static Executor executor() {
+        return EXECUTOR;
+    }
+
+    private FanOutExecutor() {
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CachingFunctionTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private Integer square(Integer value) throws IOException {
+        calls.incrementAndGet();
+        if (value == null) {
+            return null;
+        }
+        if (value < 0) {
+            throw new IOException("negative: " + value);
+        }
+        return value * value;
+    }
+
+    @Test
+    void cacheTest() {
+        var function = Sneaky.caching(this::square, CacheSpec.of(16));
+        assertEquals(4, function.apply(2), "Caching function has to return the functional result");
+        assertEquals(4, function.apply(2), "Caching function has to return the cached result");
+        assertNull(function.apply(null), "Caching function has to support null key and value");
+        assertNull(function.apply(null), "Caching function has to cache null key and value");
+        assertEquals(2, calls.get(), "Caching function has to call functional once per key");
+    }
+
+    @Test
+    void maxSizeTest() {
+        var function = new CachingFunction<>(this::square, CacheSpec.of(2));
+        function.apply(1);
+        function.apply(2);
+        function.apply(3);
+        assertEquals(2, function.size(), "Caching function has to be bounded");
+        function.apply(3);
+        assertEquals(3, calls.get(), "The latest entry has to stay cached");
+        function.apply(1);
+        assertEquals(4, calls.get(), "The eldest entry has to be evicted");
+    }
+
+    @Test
+    void failingKeysTest() {
+        var function = new CachingFunction<>(this::square, CacheSpec.of(2));
+        function.apply(1);
+        function.apply(2);
+        for (int value = -1; value > -100; value--) {
+            int key = value;
+            assertThrows(IOException.class, () -> function.apply(key));
+        }
+        assertEquals(2, function.size(), "Uncached failures hasn't got to stay in the cache");
+        function.apply(1);
+        function.apply(2);
+        assertEquals(101, calls.get(), "Uncached failures hasn't got to evict live entries");
+    }
+
+    @Test
+    void completionExceptionTest() {
+        var failure = new CompletionException("own", new IOException());
+        var function = Sneaky.caching((Integer value) -> { throw failure; }, CacheSpec.of(2).failureTtl(Duration.ofSeconds(10)));
+        assertSame(failure, assertThrows(CompletionException.class, () -> function.apply(1)), "Computing caller has to get the own CompletionException");
+        assertSame(failure, assertThrows(CompletionException.class, () -> function.apply(1)), "Cached CompletionException hasn't got to be unwrapped");
+    }
+
+    @Test
+    void ttlTest() throws InterruptedException {
+        var function = Sneaky.caching(this::square, CacheSpec.of(16).ttl(Duration.ofMillis(20)));
+        function.apply(2);
+        function.apply(2);
+        assertEquals(1, calls.get(), "Value has to be cached until expiration");
+        Thread.sleep(40);
+        function.apply(2);
+        assertEquals(2, calls.get(), "Expired value has to be recomputed");
+    }
+
+    @Test
+    void failureTest() {
+        var function = Sneaky.caching(this::square, CacheSpec.of(16));
+        assertThrows(IOException.class, () -> function.apply(-1), "Caching function has to throw the functional failure");
+        assertThrows(IOException.class, () -> function.apply(-1), "Caching function has to throw the functional failure");
+        assertEquals(2, calls.get(), "Failure hasn't got to be cached without failureTtl");
+    }
+
+    @Test
+    void failureTtlTest() throws InterruptedException {
+        var function = Sneaky.caching(this::square, CacheSpec.of(16).failureTtl(Duration.ofMillis(20)));
+        var failure = assertThrows(IOException.class, () -> function.apply(-1));
+        assertSame(failure, assertThrows(IOException.class, () -> function.apply(-1)), "Cached failure has to be rethrown");
+        assertEquals(1, calls.get(), "Failure has to be cached for failureTtl");
+        Thread.sleep(40);
+        assertThrows(IOException.class, () -> function.apply(-1));
+        assertEquals(2, calls.get(), "Expired failure has to be recomputed");
+    }
+
+    @Test
+    void singleFlightTest() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var function = Sneaky.caching((Integer value) -> {
+            calls.incrementAndGet();
+            started.countDown();
+            assertTrue(release.await(1, TimeUnit.SECONDS));
+            throw new IOException();
+        }, CacheSpec.of(16));
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            var first = executor.submit(() -> function.apply(1));
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+            var others = new Future<?>[3];
+            for (int i = 0; i < others.length; i++) {
+                others[i] = executor.submit(() -> function.apply(1));
+            }
+            Thread.sleep(20);
+            release.countDown();
+            var failure = assertThrows(Exception.class, () -> first.get(1, TimeUnit.SECONDS)).getCause();
+            for (Future<?> other : others) {
+                assertSame(failure, assertThrows(Exception.class, () -> other.get(1, TimeUnit.SECONDS)).getCause(), "Concurrent callers have to share the failure");
+            }
+            assertEquals(1, calls.get(), "Concurrent callers have to share the single call");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void specValidationTest() {
+        var spec = CacheSpec.of(1);
+        var negative = Duration.ofMillis(-1);
+        assertThrows(IllegalArgumentException.class, () -> CacheSpec.of(0), "maxSize has to be positive");
+        assertThrows(IllegalArgumentException.class, () -> spec.ttl(negative), "ttl has to be non negative");
+        assertThrows(IllegalArgumentException.class, () -> spec.failureTtl(negative), "failureTtl has to be non negative");
+        assertEquals(1, spec.maxSize(), "maxSize has to be equals to the specified one");
+    }
+
+}
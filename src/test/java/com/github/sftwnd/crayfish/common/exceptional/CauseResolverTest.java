@@ -0,0 +1,106 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CauseResolverTest {
+
+    @Test
+    void knownWrappersTest() {
+        var exception = new IOException();
+        var throwable = new CompletionException(new ExecutionException(new InvocationTargetException(new UndeclaredThrowableException(exception))));
+        assertSame(exception, Exceptional.cause(throwable), "cause has to unwrap Completion, Execution, InvocationTarget and UndeclaredThrowable exceptions");
+    }
+
+    @Test
+    void cyclicCauseChainTest() {
+        var first = new RuntimeException();
+        var second = new IllegalStateException(first);
+        first.initCause(second);
+        assertSame(first, assertTimeoutPreemptively(Duration.ofSeconds(5), () -> Exceptional.cause(first)),
+                "cause on cyclic chain has to return the source exception");
+        var last = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> Exceptional.cause(first, true));
+        assertTrue(last == first || last == second, "cause on cyclic chain has to stop on one of the chain exceptions");
+    }
+
+    @Test
+    void longCyclicCauseChainTest() {
+        var exception = new CyclicException();
+        Throwable throwable = exception;
+        for (int i = 0; i < 10; i++) {
+            throwable = new RuntimeException(throwable);
+        }
+        exception.cause = throwable;
+        var source = throwable;
+        assertSame(source, assertTimeoutPreemptively(Duration.ofSeconds(5), () -> Exceptional.cause(source)),
+                "cause on long cyclic chain has to return the source exception");
+    }
+
+    @Test
+    void maxDepthTest() {
+        var exception = new IOException();
+        Throwable throwable = new RuntimeException(new RuntimeException(exception));
+        var resolver = new CauseResolver(1);
+        assertSame(throwable, resolver.resolve(throwable, false), "resolve over max depth has to return the source exception");
+        assertSame(throwable.getCause(), resolver.resolve(throwable, true), "resolve over max depth has to return the last reached exception");
+        assertSame(exception, new CauseResolver(2).resolve(throwable, false), "resolve in max depth has to return significant cause");
+    }
+
+    @Test
+    void wrongMaxDepthTest() {
+        assertThrows(IllegalArgumentException.class, () -> new CauseResolver(0), "max depth has to be positive");
+    }
+
+    @Test
+    void registerTest() {
+        var exception = new IOException();
+        var resolver = new CauseResolver(CauseResolver.DEFAULT_MAX_DEPTH);
+        var wrapper = new WrapperException(exception);
+        assertSame(wrapper, resolver.resolve(wrapper, false), "unregistered checked exception has to be significant");
+        resolver.register(WrapperException.class, WrapperException::getWrapped);
+        assertSame(exception, resolver.resolve(wrapper, false), "registered checked exception has to be unwrapped");
+        assertSame(wrapper, Exceptional.cause(wrapper), "registration has not got to affect global resolver");
+    }
+
+    @Test
+    void significantTest() {
+        var resolver = new CauseResolver(CauseResolver.DEFAULT_MAX_DEPTH).significant(IllegalStateException.class);
+        var significant = new IllegalStateException(new IOException());
+        var throwable = new RuntimeException(significant);
+        assertSame(significant, resolver.resolve(throwable, false), "significant runtime exception has not got to be unwrapped");
+        assertEquals(CauseResolver.DEFAULT_MAX_DEPTH, resolver.maxDepth(), "maxDepth has to be equals to the constructor parameter");
+    }
+
+    private static class WrapperException extends Exception {
+        private static final long serialVersionUID = 3512789206655436419L;
+        private final Throwable wrapped;
+        WrapperException(Throwable wrapped) {
+            this.wrapped = wrapped;
+        }
+        Throwable getWrapped() {
+            return wrapped;
+        }
+    }
+
+    private static class CyclicException extends RuntimeException {
+        private static final long serialVersionUID = -4137106423542207095L;
+        private Throwable cause;
+        @Override
+        public synchronized Throwable getCause() {
+            return cause;
+        }
+    }
+
+}
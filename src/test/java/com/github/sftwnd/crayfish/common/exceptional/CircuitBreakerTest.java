@@ -0,0 +1,137 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private CircuitBreaker breaker(int failureThreshold) {
+        return new CircuitBreaker(failureThreshold, Duration.ofSeconds(1), Duration.ofSeconds(5), throwable -> throwable instanceof IOException, nanoTime::get);
+    }
+
+    private void sleep(Duration duration) {
+        nanoTime.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    void closedTest() {
+        var breaker = breaker(2);
+        assertEquals(3, breaker.call(() -> 3), "CircuitBreaker::call has to return the call result");
+        assertThrows(IOException.class, () -> breaker.call(() -> { throw new IOException(); }), "CircuitBreaker::call has to throw the call failure");
+        assertEquals(1, breaker.failures(), "CircuitBreaker has to count the failure");
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state(), "CircuitBreaker has to stay closed under the threshold");
+    }
+
+    @Test
+    void windowTest() {
+        var breaker = breaker(2);
+        var failing = breaker.runnable(() -> { throw new IOException(); });
+        assertThrows(IOException.class, failing::run);
+        sleep(Duration.ofMillis(1500));
+        assertThrows(IOException.class, failing::run);
+        assertEquals(1, breaker.failures(), "CircuitBreaker has to restart counting in the new window");
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state(), "CircuitBreaker hasn't got to count failures of the expired window");
+    }
+
+    @Test
+    void openTest() {
+        var breaker = breaker(2);
+        var calls = new AtomicInteger();
+        var failing = breaker.supplier(() -> {
+            calls.incrementAndGet();
+            throw new IOException();
+        });
+        assertThrows(IOException.class, failing::get);
+        assertThrows(IOException.class, failing::get);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state(), "CircuitBreaker has to be opened on the threshold");
+        var first = assertThrows(CircuitBreaker.OpenException.class, failing::get, "Open CircuitBreaker has to reject the call");
+        assertSame(first, assertThrows(CircuitBreaker.OpenException.class, failing::get), "Open CircuitBreaker has to reject with the shared exception");
+        assertEquals(0, first.getStackTrace().length, "OpenException has to be stackless");
+        assertEquals(2, calls.get(), "Open CircuitBreaker hasn't got to call the target");
+    }
+
+    @Test
+    void significantCauseTest() {
+        var breaker = breaker(1);
+        assertThrows(IllegalStateException.class, () -> breaker.call(() -> { throw new IllegalStateException(); }));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state(), "CircuitBreaker hasn't got to count not recordable failure");
+        var function = breaker.function((Integer value) -> { throw new RuntimeException(new IOException()); });
+        assertThrows(RuntimeException.class, () -> function.apply(1));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state(), "CircuitBreaker has to count by the significant cause");
+    }
+
+    @Test
+    void halfOpenTest() {
+        var breaker = breaker(1);
+        assertThrows(IOException.class, () -> breaker.call(() -> { throw new IOException(); }));
+        sleep(Duration.ofSeconds(5));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state(), "CircuitBreaker has to allow the probe after the open duration");
+        assertThrows(IOException.class, () -> breaker.call(() -> { throw new IOException(); }));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state(), "Failed probe has to reopen CircuitBreaker");
+        sleep(Duration.ofSeconds(5));
+        assertEquals(2, breaker.call(() -> {
+            assertThrows(CircuitBreaker.OpenException.class, () -> breaker.call(() -> 1), "CircuitBreaker has to reject calls during the probe");
+            return 2;
+        }), "Probe call has to return the result");
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state(), "Successful probe has to close CircuitBreaker");
+        assertEquals(0, breaker.failures(), "Successful probe has to clear failures");
+    }
+
+    @Test
+    void sneakyThrowableProbeTest() {
+        var breaker = breaker(1);
+        assertThrows(IOException.class, () -> breaker.call(() -> { throw new IOException(); }));
+        sleep(Duration.ofSeconds(5));
+        var throwable = new Throwable("neither Exception nor Error");
+        assertSame(throwable, assertThrows(Throwable.class, () -> breaker.call(() -> { Exceptional.sneakyThrow(throwable); return 0; })), "Probe has to throw the sneaky throwable");
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state(), "Not recordable sneaky throwable of the probe has to release the permit");
+        assertEquals(1, breaker.call(() -> 1), "CircuitBreaker has to accept calls after the released probe");
+        var recording = new CircuitBreaker(1, Duration.ofSeconds(1), Duration.ofSeconds(5), any -> true, nanoTime::get);
+        assertThrows(IOException.class, () -> recording.call(() -> { throw new IOException(); }));
+        sleep(Duration.ofSeconds(5));
+        assertThrows(Throwable.class, () -> recording.call(() -> { Exceptional.sneakyThrow(throwable); return 0; }));
+        assertEquals(CircuitBreaker.State.OPEN, recording.state(), "Recordable sneaky throwable of the probe has to reopen CircuitBreaker");
+    }
+
+    @Test
+    void probeExpiryTest() {
+        var breaker = breaker(1);
+        assertThrows(IOException.class, () -> breaker.call(() -> { throw new IOException(); }));
+        sleep(Duration.ofSeconds(5));
+        assertEquals(2, breaker.call(() -> {
+            // the probe hangs longer than the open duration
+            sleep(Duration.ofSeconds(5));
+            assertEquals(1, breaker.call(() -> 1), "Expired probe permit has to be taken over by the next call");
+            return 2;
+        }), "Hanging probe has to return the result");
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state(), "The new probe has to close CircuitBreaker");
+    }
+
+    @Test
+    void resetTest() {
+        var breaker = breaker(1);
+        assertThrows(IOException.class, () -> breaker.call(() -> { throw new IOException(); }));
+        breaker.reset();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state(), "CircuitBreaker has to be closed after reset");
+    }
+
+    @Test
+    void validationTest() {
+        var second = Duration.ofSeconds(1);
+        var negative = Duration.ofSeconds(-1);
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker(0, second, second), "failureThreshold has to be positive");
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker(1, Duration.ZERO, second), "window has to be positive");
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker(1, second, negative), "openDuration has to be non negative");
+    }
+
+}
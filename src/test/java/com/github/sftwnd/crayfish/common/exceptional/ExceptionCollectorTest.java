@@ -0,0 +1,101 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExceptionCollectorTest {
+
+    @Test
+    void emptyTest() {
+        var collector = new ExceptionCollector();
+        assertTrue(collector.isEmpty(), "New collector has to be empty");
+        assertTrue(collector.toThrowable().isEmpty(), "Empty collector hasn't got throwable");
+        collector.throwIfAny();
+        assertEquals("0 failure(s)", collector.summary(), "Summary of empty collector");
+    }
+
+    @Test
+    void keptTest() {
+        var collector = new ExceptionCollector(2);
+        var first = new IOException("first");
+        var second = new IllegalStateException("second");
+        collector.accept(first);
+        collector.accept(second);
+        collector.accept(new IllegalStateException());
+        collector.accept(new IllegalStateException());
+        collector.accept(new IOException());
+        assertEquals(5, collector.count(), "All failures have to be counted");
+        assertEquals(List.of(first, second), collector.kept(), "The first failures have to be kept");
+        assertEquals(Map.of(IllegalStateException.class, 2L, IOException.class, 1L), collector.dropped(), "The rest failures have to be counted per class");
+        var throwable = collector.toThrowable().orElseThrow();
+        assertSame(first, throwable.getCause(), "Throwable has to be caused by the first failure");
+        assertSame(first, Exceptional.cause(throwable), "Throwable has to be unwrapped to the first failure");
+        assertEquals("5 failure(s)", throwable.getMessage(), "Throwable has to count failures");
+        assertEquals(0, throwable.getStackTrace().length, "Throwable hasn't got to have the stack trace");
+        assertSame(second, throwable.getSuppressed()[0], "Other kept failures have to be suppressed");
+        assertTrue(throwable.getSuppressed()[1].getMessage().startsWith("3 more failure(s):"), "Dropped failures have to be summarized");
+        assertSame(throwable, collector.toThrowable().orElseThrow(), "Throwable has to be built once");
+        assertEquals(2, throwable.getSuppressed().length, "Throwable hasn't got to be changed twice");
+        assertEquals(0, first.getSuppressed().length, "Collected failure hasn't got to be changed");
+        assertSame(throwable, assertThrows(ExceptionCollector.Aggregate.class, collector::throwIfAny), "throwIfAny has to throw the aggregate");
+        assertTrue(collector.summary().startsWith("5 failure(s)\n\tfirst\n\tsecond\n\t3 more failure(s):"), "Summary has to describe failures");
+    }
+
+    @Test
+    void rebuildTest() {
+        var collector = new ExceptionCollector(1);
+        var first = new IOException("first");
+        collector.accept(first);
+        collector.accept(new IllegalStateException());
+        assertTrue(collector.toThrowable().orElseThrow().getSuppressed()[0].getMessage().startsWith("1 more failure(s):"), "Dropped failures have to be summarized");
+        var throwable = collector.toThrowable().orElseThrow();
+        collector.accept(new IllegalStateException());
+        assertSame(throwable, collector.toThrowable().orElseThrow(), "Rebuilt throwable has to be the same aggregate");
+        assertEquals(1, throwable.getSuppressed().length, "Summary hasn't got to be attached twice");
+        assertTrue(throwable.getSuppressed()[0].getMessage().startsWith("2 more failure(s):"), "Summary has to be updated on the rebuild");
+        assertEquals("3 failure(s)", throwable.getMessage(), "Count has to be updated on the rebuild");
+    }
+
+    @Test
+    void stacklessTest() {
+        var collector = new ExceptionCollector(2);
+        var first = new StacklessException("first");
+        var second = new StacklessException("second");
+        collector.accept(first);
+        collector.accept(second);
+        collector.accept(new StacklessException("third"));
+        var throwable = collector.toThrowable().orElseThrow();
+        assertSame(first, throwable.getCause(), "Throwable has to be caused by the stackless failure");
+        assertEquals(2, throwable.getSuppressed().length, "Failures have to be kept when the first failure disables suppression");
+        assertSame(second, throwable.getSuppressed()[0], "Other kept failures have to be suppressed");
+        assertTrue(throwable.getSuppressed()[1].getMessage().startsWith("1 more failure(s):"), "Dropped failures have to be summarized");
+    }
+
+    @Test
+    void parallelTest() {
+        var collector = new ExceptionCollector(8);
+        IntStream.range(0, 10_000).boxed().parallel().forEach(collector.consumer(value -> {
+            if (value % 2 == 0) {
+                throw new IOException(String.valueOf(value));
+            }
+        }));
+        assertEquals(5_000, collector.count(), "All failures have to be counted");
+        assertEquals(8, collector.kept().size(), "Only maxKept failures have to be kept");
+        assertEquals(Map.of(IOException.class, 4_992L), collector.dropped(), "The rest failures have to be counted");
+    }
+
+    @Test
+    void validationTest() {
+        assertThrows(IllegalArgumentException.class, () -> new ExceptionCollector(0), "maxKept has to be positive");
+    }
+
+}
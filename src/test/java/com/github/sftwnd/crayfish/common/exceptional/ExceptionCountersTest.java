@@ -0,0 +1,53 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExceptionCountersTest {
+
+    @Test
+    void countTest() {
+        var counters = new ExceptionCounters();
+        counters.onException(new IOException());
+        counters.onException(new IOException());
+        counters.onException(new FileNotFoundException());
+        assertEquals(2, counters.count(IOException.class), "Exceptions have to be counted per class");
+        assertEquals(1, counters.count(FileNotFoundException.class), "Subclasses have to be counted separately");
+        assertEquals(0, counters.count(IllegalStateException.class), "Not thrown exceptions have to have zero count");
+        assertEquals(Map.of(IOException.class, 2L, FileNotFoundException.class, 1L), counters.snapshot(), "Snapshot has to contain the counters");
+    }
+
+    @Test
+    void resetTest() {
+        var counters = new ExceptionCounters();
+        counters.onException(new IOException());
+        assertEquals(Map.of(IOException.class, 1L), counters.snapshotAndReset(), "Snapshot has to contain the counters before reset");
+        assertTrue(counters.snapshot().isEmpty(), "Snapshot after reset has to be empty");
+        counters.onException(new IOException());
+        counters.reset();
+        assertEquals(0, counters.count(IOException.class), "Counter has to be zero after reset");
+    }
+
+    @Test
+    void listenerTest() {
+        var counters = new ExceptionCounters();
+        ExceptionListeners.add(counters);
+        try {
+            var function = Sneaky.function((Integer value) -> { throw new IOException(); });
+            for (int i = 0; i < 3; i++) {
+                assertThrows(IOException.class, () -> function.apply(1));
+            }
+        } finally {
+            ExceptionListeners.remove(counters);
+        }
+        assertEquals(3, counters.count(IOException.class), "Installed counters have to count Sneaky failures");
+    }
+
+}
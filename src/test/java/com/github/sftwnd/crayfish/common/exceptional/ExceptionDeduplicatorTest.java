@@ -0,0 +1,55 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExceptionDeduplicatorTest {
+
+    // the deduplicators of the test use the single top frame: the place inside this method
+    private static IllegalStateException failure(int place) {
+        switch (place) {
+            case 0: return new IllegalStateException("zero");
+            case 1: return new IllegalStateException("one");
+            default: return new IllegalStateException("other");
+        }
+    }
+
+    @Test
+    void windowTest() throws InterruptedException {
+        var deduplicator = new ExceptionDeduplicator(16, Duration.ofMillis(50), 1);
+        assertEquals(0, deduplicator.register(failure(0)), "The first occurrence has to be emitted");
+        assertEquals(ExceptionDeduplicator.REPEAT, deduplicator.register(failure(0)), "The repeat has to be dropped");
+        assertFalse(deduplicator.test(failure(0)), "The repeat has to be dropped");
+        assertEquals(2, deduplicator.repeats(failure(0)), "Repeats have to be counted");
+        assertTrue(deduplicator.test(failure(1)), "The first occurrence of other fingerprint has to be emitted");
+        Thread.sleep(70);
+        assertEquals(2, deduplicator.register(failure(0)), "The first occurrence of the next window has to report repeats of the previous one");
+        assertEquals(0, deduplicator.repeats(failure(0)), "Repeats have to be reset for the new window");
+    }
+
+    @Test
+    void capacityTest() {
+        var deduplicator = new ExceptionDeduplicator(2, Duration.ofMinutes(1), 1);
+        for (int place = 0; place < 3; place++) {
+            assertTrue(deduplicator.test(failure(place)));
+        }
+        assertEquals(2, deduplicator.size(), "Deduplicator has to be bounded");
+        assertEquals(2, deduplicator.capacity(), "Capacity has to be equals to the specified one");
+        assertTrue(deduplicator.test(failure(0)), "The eldest fingerprint has to be evicted");
+    }
+
+    @Test
+    void validationTest() {
+        var minute = Duration.ofMinutes(1);
+        assertThrows(IllegalArgumentException.class, () -> new ExceptionDeduplicator(0, minute), "capacity has to be positive");
+        assertThrows(IllegalArgumentException.class, () -> new ExceptionDeduplicator(1, Duration.ZERO), "window has to be positive");
+        assertThrows(IllegalArgumentException.class, () -> new ExceptionDeduplicator(1, minute, -1), "frames has to be non negative");
+    }
+
+}
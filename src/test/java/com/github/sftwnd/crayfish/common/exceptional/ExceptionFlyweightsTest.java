@@ -0,0 +1,73 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExceptionFlyweightsTest {
+
+    @Test
+    void getTest() {
+        var flyweights = new ExceptionFlyweights(ExceptionFlyweights.DEFAULT_CAPACITY);
+        var exception = flyweights.get(StacklessException.class, "message");
+        assertEquals("message", exception.getMessage(), "Flyweight has to be created with message");
+        assertSame(exception, flyweights.get(StacklessException.class, "message"), "Flyweight has to be reused for the same class and message");
+        assertNotSame(exception, flyweights.get(StacklessException.class, "other"), "Flyweight has to be different for other message");
+        assertNotSame(exception, flyweights.get(StacklessCheckedException.class, "message"), "Flyweight has to be different for other class");
+        assertEquals(3, flyweights.size(), "Flyweights size has to be equals to number of cached instances");
+    }
+
+    @Test
+    void nullMessageTest() {
+        var flyweights = new ExceptionFlyweights(ExceptionFlyweights.DEFAULT_CAPACITY);
+        var exception = flyweights.get(StacklessException.class, null);
+        assertNull(exception.getMessage(), "Flyweight has to be created with null message");
+        assertSame(exception, flyweights.get(StacklessException.class, null), "Flyweight has to be reused for null message");
+    }
+
+    @Test
+    void factoryTest() {
+        var flyweights = new ExceptionFlyweights(ExceptionFlyweights.DEFAULT_CAPACITY);
+        var exception = flyweights.get(PrivateException.class, "message", PrivateException::new);
+        assertSame(exception, flyweights.get(PrivateException.class, "message", PrivateException::new), "Flyweight made by factory has to be reused");
+    }
+
+    @Test
+    void capacityTest() {
+        var flyweights = new ExceptionFlyweights(1);
+        var exception = flyweights.get(StacklessException.class, "first");
+        assertSame(exception, flyweights.get(StacklessException.class, "first"), "Flyweight has to be cached up to capacity");
+        assertNotSame(flyweights.get(StacklessException.class, "second"), flyweights.get(StacklessException.class, "second"), "Flyweight hasn't got to be cached over capacity");
+        assertEquals(1, flyweights.size(), "Flyweights size hasn't got to be over capacity");
+        assertEquals(1, flyweights.capacity(), "Flyweights capacity has to be equals constructor parameter");
+    }
+
+    @Test
+    void concurrentCapacityTest() {
+        var flyweights = new ExceptionFlyweights(16);
+        IntStream.range(0, 10_000).parallel().forEach(i -> flyweights.get(StacklessException.class, String.valueOf(i % 1000)));
+        IntStream.range(0, 10_000).parallel().forEach(i -> flyweights.get(StacklessCheckedException.class, i % 7 == 0 ? null : String.valueOf(i)));
+        assertEquals(16, flyweights.size(), "Concurrent callers hasn't got to exceed the capacity");
+    }
+
+    @Test
+    void noConstructorTest() {
+        var flyweights = ExceptionFlyweights.global();
+        assertThrows(IllegalArgumentException.class, () -> flyweights.get(PrivateException.class, "message"), "Type without public (String) constructor has to be rejected");
+        assertThrows(IllegalArgumentException.class, () -> new ExceptionFlyweights(-1), "Capacity has to be non negative");
+    }
+
+    private static class PrivateException extends StacklessException {
+        private static final long serialVersionUID = 8427561305917740862L;
+        private PrivateException(String message) {
+            super(message);
+        }
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExceptionListenersTest {
+
+    @Test
+    void notifyTest() {
+        List<Throwable> thrown = new ArrayList<>();
+        ExceptionListener listener = thrown::add;
+        ExceptionListeners.add(listener);
+        try {
+            assertTrue(ExceptionListeners.isActive(), "ExceptionListeners has to be active with the installed listener");
+            var exception = new IOException();
+            assertThrows(IOException.class, () -> Exceptional.sneakyThrow(exception));
+            assertThrows(IOException.class, Sneaky.supplier(() -> { throw exception; })::get);
+            assertThrows(CarrierException.class, () -> Exceptional.rethrowUnchecked(exception));
+            assertEquals(List.of(exception, exception, exception), thrown, "Listener has to be notified on each throw");
+        } finally {
+            assertTrue(ExceptionListeners.remove(listener), "Installed listener has to be removed");
+        }
+        assertFalse(ExceptionListeners.remove(listener), "Removed listener can't be removed again");
+        assertThrows(IllegalStateException.class, () -> Exceptional.sneakyThrow(new IllegalStateException()));
+        assertEquals(3, thrown.size(), "Removed listener hasn't got to be notified");
+    }
+
+    @Test
+    void failingListenerTest() {
+        ExceptionListener listener = throwable -> { throw new IllegalStateException(); };
+        ExceptionListeners.add(listener);
+        try {
+            var exception = new IOException();
+            assertSame(exception, assertThrows(IOException.class, () -> Exceptional.sneakyThrow(exception)), "Failing listener can't break the throw");
+        } finally {
+            ExceptionListeners.remove(listener);
+        }
+    }
+
+}
@@ -0,0 +1,134 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExceptionSinkTest {
+
+    @Test
+    void deliveryTest() {
+        List<ExceptionSink.Report> reports = new CopyOnWriteArrayList<>();
+        try (var sink = new ExceptionSink(16, reports::addAll)) {
+            assertTrue(sink.publish(new IOException("first")), "Failure has to be accepted");
+            assertTrue(sink.publish(new IllegalStateException()), "Failure has to be accepted");
+        }
+        assertEquals(List.of("first", IllegalStateException.class.getName()),
+                reports.stream().map(report -> report.text().toString()).collect(Collectors.toList()),
+                "Failures have to be rendered by exceptionText in the order of publication");
+        var report = reports.get(0);
+        assertEquals(Thread.currentThread().getName(), report.threadName(), "Report has to have the name of the publishing thread");
+        assertTrue(report.timeMillis() > 0, "Report has to have the time of publication");
+        assertTrue(report.throwable() instanceof IOException, "Report has to have the published failure");
+    }
+
+    @Test
+    void batchTest() {
+        List<Integer> batches = new CopyOnWriteArrayList<>();
+        var release = new CountDownLatch(1);
+        var sink = new ExceptionSink(64, 4, ExceptionSink.OverflowPolicy.DROP, Exceptional::exceptionText, batch -> {
+            assertTrue(release.await(1, TimeUnit.SECONDS));
+            batches.add(batch.size());
+        });
+        try (sink) {
+            IntStream.range(0, 10).forEach(i -> sink.publish(new IOException()));
+            release.countDown();
+        }
+        assertEquals(10, batches.stream().mapToInt(Integer::intValue).sum(), "All failures have to be delivered");
+        assertTrue(batches.stream().allMatch(size -> size <= 4), "Batches have to be limited by batchSize");
+        assertEquals(10, sink.delivered(), "Delivered failures have to be counted");
+        assertEquals(batches.size(), sink.batches(), "Batches have to be counted");
+        assertEquals(0, sink.pending(), "Nothing is pending after close");
+    }
+
+    @Test
+    void dropTest() throws InterruptedException {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var sink = new ExceptionSink(2, 1, ExceptionSink.OverflowPolicy.DROP, Exceptional::exceptionText, batch -> {
+            started.countDown();
+            assertTrue(release.await(1, TimeUnit.SECONDS));
+        });
+        try (sink) {
+            sink.publish(new IOException());
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+            assertTrue(sink.publish(new IOException()), "Failure has to be accepted while there is a free slot");
+            assertTrue(sink.publish(new IOException()), "Failure has to be accepted while there is a free slot");
+            assertFalse(sink.publish(new IOException()), "Failure has to be dropped on overflow");
+            release.countDown();
+        }
+        assertEquals(3, sink.published(), "Accepted failures have to be counted");
+        assertEquals(1, sink.dropped(), "Dropped failures have to be counted");
+        assertFalse(sink.publish(new IOException()), "Failure has to be dropped after close");
+    }
+
+    @Test
+    void blockTest() throws InterruptedException {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var sink = new ExceptionSink(2, 1, ExceptionSink.OverflowPolicy.BLOCK, Exceptional::exceptionText, batch -> {
+            started.countDown();
+            assertTrue(release.await(1, TimeUnit.SECONDS));
+        });
+        try (sink) {
+            sink.publish(new IOException());
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+            sink.publish(new IOException());
+            sink.publish(new IOException());
+            var publisher = new Thread(() -> sink.publish(new IOException()));
+            publisher.start();
+            Thread.sleep(20);
+            assertEquals(1, sink.blocked(), "Publication has to wait on overflow");
+            release.countDown();
+            publisher.join(1000);
+        }
+        assertEquals(4, sink.delivered(), "Blocked failure has to be delivered");
+        assertEquals(0, sink.dropped(), "Nothing has to be dropped with BLOCK policy");
+    }
+
+    @Test
+    void failedReporterTest() {
+        var sink = new ExceptionSink(4, 1, ExceptionSink.OverflowPolicy.DROP, throwable -> { throw new IllegalStateException(); }, batch -> {
+            assertEquals("java.io.IOException", batch.get(0).text().toString(), "Failed renderer has to be replaced by toString");
+            throw new IOException();
+        });
+        try (sink) {
+            sink.publish(new IOException());
+        }
+        assertEquals(1, sink.failedBatches(), "Failed batches have to be counted");
+    }
+
+    @Test
+    void sneakyCallbacksTest() {
+        var reported = new CountDownLatch(3);
+        var sink = new ExceptionSink(2, 1, ExceptionSink.OverflowPolicy.BLOCK, Sneaky.function(throwable -> { throw new IOException("renderer"); }), batch -> {
+            reported.countDown();
+            throw new AssertionError("reporter");
+        });
+        try (sink) {
+            IntStream.range(0, 3).forEach(i -> assertTrue(sink.publish(new IOException()), "Failure has to be accepted"));
+        }
+        assertEquals(0, reported.getCount(), "Sink thread has to survive throwables of the renderer and of the reporter");
+        assertEquals(3, sink.failedBatches(), "Error of the reporter has to be counted as the failed batch");
+        assertEquals(3, sink.delivered(), "Failures have to be delivered");
+    }
+
+    @Test
+    void validationTest() {
+        ExceptionSink.Reporter reporter = batch -> { };
+        assertThrows(IllegalArgumentException.class, () -> new ExceptionSink(0, reporter), "capacity has to be positive");
+        assertThrows(IllegalArgumentException.class, () -> new ExceptionSink(1, 0, ExceptionSink.OverflowPolicy.DROP, Exceptional::exceptionText, reporter), "batchSize has to be positive");
+    }
+
+}
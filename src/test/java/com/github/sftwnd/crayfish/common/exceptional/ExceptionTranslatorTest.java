@@ -0,0 +1,82 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExceptionTranslatorTest {
+
+    static class RemoteException extends Exception {
+        private static final long serialVersionUID = 1L;
+        RemoteException(String message) {
+            super(message);
+        }
+    }
+
+    static class RemoteTimeoutException extends RemoteException {
+        private static final long serialVersionUID = 1L;
+        RemoteTimeoutException() {
+            super("timeout");
+        }
+    }
+
+    static class StorageException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        StorageException(Throwable cause) {
+            super(cause);
+        }
+    }
+
+    @Test
+    void defaultTest() {
+        var translator = new ExceptionTranslator();
+        var ioException = new FileNotFoundException("file");
+        var translated = translator.translate(ioException);
+        assertEquals(UncheckedIOException.class, translated.getClass(), "IOException subclass has to be translated by the default rule");
+        assertSame(ioException, translated.getCause(), "Source exception has to be the cause");
+        var other = new IllegalStateException();
+        assertSame(other, translator.translate(other), "Exception without a rule has to be passed as is");
+    }
+
+    @Test
+    void superclassFallbackTest() {
+        var translator = new ExceptionTranslator().register(RemoteException.class, StorageException::new);
+        assertEquals(StorageException.class, translator.translate(new RemoteTimeoutException()).getClass(), "Rule of the superclass has to be used");
+        translator.keep(RemoteTimeoutException.class);
+        var timeout = new RemoteTimeoutException();
+        assertSame(timeout, translator.translate(timeout), "Own rule has to override the superclass one");
+        assertEquals(StorageException.class, translator.translate(new RemoteException("remote")).getClass(), "Registration hasn't got to drop other rules");
+    }
+
+    @Test
+    void nullTranslationTest() {
+        var translator = new ExceptionTranslator().register(IOException.class, exception -> null);
+        var ioException = new IOException();
+        assertSame(ioException, translator.translate(ioException), "Null translation has to pass the source exception");
+    }
+
+    @Test
+    void wrappersTest() {
+        var translator = new ExceptionTranslator().register(RemoteException.class, StorageException::new);
+        Sneaky.Processable remote = () -> {
+            throw new RemoteException("remote");
+        };
+        Sneaky.Processable io = () -> {
+            throw new IOException("io");
+        };
+        assertThrows(StorageException.class, () -> Sneaky.supplier(() -> { remote.process(); return null; }, translator).get(), "Supplier has to translate");
+        assertThrows(UncheckedIOException.class, () -> Sneaky.function(parameter -> { io.process(); return parameter; }, translator).apply(1), "Function has to translate");
+        assertThrows(StorageException.class, () -> Sneaky.bifunction((p, q) -> { remote.process(); return p; }, translator).apply(1, 2), "BiFunction has to translate");
+        assertThrows(StorageException.class, () -> Sneaky.runnable(remote, translator).run(), "Runnable has to translate");
+        assertThrows(UncheckedIOException.class, () -> Sneaky.consumer(parameter -> io.process(), translator).accept(1), "Consumer has to translate");
+        assertThrows(StorageException.class, () -> Sneaky.biconsumer((p, q) -> remote.process(), translator).accept(1, 2), "BiConsumer has to translate");
+        assertEquals(3, Sneaky.<Integer, Integer>function(parameter -> parameter + 1, translator).apply(2), "Function has to return the result");
+    }
+
+}
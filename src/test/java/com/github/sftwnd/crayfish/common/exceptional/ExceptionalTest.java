@@ -10,6 +10,7 @@ import static com.github.sftwnd.crayfish.common.exceptional.Exceptional.rethrow;
 import static com.github.sftwnd.crayfish.common.exceptional.Exceptional.sneakyThrow;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -101,6 +102,89 @@ class ExceptionalTest {
         assertEquals(text, Exceptional.exceptionText(new LocalizedException(null, null), () -> text), "Result has to be equals onNull().get if localizedMessage and message are nulls");
     }
 
+    @Test
+    void exceptionCharSequenceTest() {
+        String text = "Exception...";
+        assertSame(text, Exceptional.exceptionCharSequence(new LocalizedException(text, null), null), "Result has to be the same message instance");
+    }
+
+    @Test
+    void exceptionCharSequenceSupplierTest() {
+        StringBuilder text = new StringBuilder("Exception...");
+        assertSame(text, Exceptional.exceptionCharSequence(new LocalizedException(null, null), () -> text), "Result has to be the same onNull().get instance if localizedMessage and message are nulls");
+    }
+
+    @Test
+    void appendExceptionTextTest() {
+        String text = "Exception...";
+        assertEquals("> " + text, Exceptional.appendExceptionText(new StringBuilder("> "), new LocalizedException(text, null)).toString(), "Message has to be appended to the sink");
+    }
+
+    @Test
+    void appendExceptionTextSupplierTest() {
+        String text = "Exception...";
+        assertEquals(text, Exceptional.appendExceptionText(new StringBuilder(), new LocalizedException(null, null), () -> text).toString(), "onNull().get has to be appended if localizedMessage and message are nulls");
+    }
+
+    @Test
+    void appendExceptionTextToStringTest() {
+        Throwable throwable = new LocalizedException(null, " ");
+        assertEquals(throwable.toString(), Exceptional.appendExceptionText(new StringBuilder(), throwable, () -> null).toString(), "exception.toString() has to be appended if there is no text");
+    }
+
+    @Test
+    void appendExceptionTextOverriddenToStringTest() {
+        Throwable throwable = new IOException() {
+            private static final long serialVersionUID = 2193466127154405474L;
+            @Override
+            public String toString() {
+                return "overridden";
+            }
+        };
+        assertEquals("overridden", Exceptional.appendExceptionText(new StringBuilder(), throwable).toString(), "Overridden exception.toString() has to be appended if there is no text");
+    }
+
+    @Test
+    void appendExceptionTextIOExceptionTest() {
+        Appendable appendable = new Appendable() {
+            @Override
+            public Appendable append(CharSequence csq) throws IOException {
+                throw new IOException();
+            }
+            @Override
+            public Appendable append(CharSequence csq, int start, int end) throws IOException {
+                throw new IOException();
+            }
+            @Override
+            public Appendable append(char c) throws IOException {
+                throw new IOException();
+            }
+        };
+        Throwable throwable = new Exception("text");
+        assertThrows(IOException.class, () -> Exceptional.appendExceptionText(appendable, throwable), "IOException of the sink has to be rethrown");
+    }
+
+    @Test
+    void fingerprintTest() {
+        var first = new IOException[2];
+        for (int i = 0; i < first.length; i++) {
+            first[i] = new IOException("message " + i);
+        }
+        var other = new IOException("other place");
+        assertEquals(Exceptional.fingerprint(first[0]), Exceptional.fingerprint(first[1]), "Exceptions of the same place have to have the same fingerprint");
+        assertNotEquals(Exceptional.fingerprint(first[0]), Exceptional.fingerprint(other), "Exceptions of different places have to have different fingerprints");
+        assertEquals(Exceptional.fingerprint(first[0], 0), Exceptional.fingerprint(other, 0), "Fingerprint without frames depends on classes only");
+        assertNotEquals(Exceptional.fingerprint(new IllegalStateException(first[0]), 0), Exceptional.fingerprint(new IllegalStateException(new IllegalArgumentException()), 0), "Fingerprint has to depend on the significant cause");
+        assertThrows(IllegalArgumentException.class, () -> Exceptional.fingerprint(other, -1), "frames has to be non negative");
+    }
+
+    @Test
+    void fingerprintStacklessCauseTest() {
+        var first = new IllegalStateException(new StacklessCheckedException("first"));
+        var second = new IllegalStateException(new StacklessCheckedException("second"));
+        assertNotEquals(Exceptional.fingerprint(first), Exceptional.fingerprint(second), "Frames of the exception have to be used for the stackless cause");
+    }
+
     private static class LocalizedException extends Exception {
 
         private static final long serialVersionUID = -7633821068761611154L;
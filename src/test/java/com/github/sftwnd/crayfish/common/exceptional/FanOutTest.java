@@ -0,0 +1,120 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FanOutTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void startUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void invokeAllTest() {
+        List<Callable<Integer>> tasks = List.of(() -> 1, () -> 2, () -> 3);
+        assertEquals(List.of(1, 2, 3), Sneaky.invokeAll(tasks), "Sneaky.invokeAll has to return results in the order of tasks");
+        assertEquals(List.of(1, 2, 3), Sneaky.invokeAll(tasks, executor), "Sneaky.invokeAll on executor has to return results in the order of tasks");
+        assertEquals(List.of(), Sneaky.invokeAll(List.<Callable<Integer>>of()), "Sneaky.invokeAll on empty tasks has to return empty list");
+    }
+
+    @Test
+    void invokeAllFailureTest() throws InterruptedException {
+        var exception = new IOException();
+        var interrupted = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+        List<Callable<Integer>> tasks = List.of(
+                () -> {
+                    started.countDown();
+                    try {
+                        Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                    } catch (InterruptedException interruptedException) {
+                        interrupted.countDown();
+                    }
+                    return 1;
+                },
+                () -> {
+                    started.await();
+                    throw new RuntimeException(exception);
+                });
+        assertSame(exception, assertThrows(IOException.class, () -> Sneaky.invokeAll(tasks, executor)), "Sneaky.invokeAll has to throw the significant cause of the failure");
+        assertTrue(interrupted.await(10, TimeUnit.SECONDS), "Sneaky.invokeAll has to cancel siblings on the first failure");
+    }
+
+    @Test
+    void runAllTest() {
+        var counter = new AtomicInteger();
+        Sneaky.runAll(List.of(counter::incrementAndGet, counter::incrementAndGet));
+        assertEquals(2, counter.get(), "Sneaky.runAll has to run all tasks");
+        List<Sneaky.Processable> tasks = List.of(counter::incrementAndGet, () -> { throw new IOException(); });
+        assertThrows(IOException.class, () -> Sneaky.runAll(tasks, executor), "Sneaky.runAll has to throw the failure");
+    }
+
+    @Test
+    void invokeAnyTest() {
+        List<Callable<Integer>> tasks = List.of(
+                () -> { throw new IOException(); },
+                () -> {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                    return 1;
+                },
+                () -> 3);
+        assertEquals(3, Sneaky.invokeAny(tasks, executor), "Sneaky.invokeAny has to return the first successful result");
+    }
+
+    @Test
+    void invokeAnyFailureTest() {
+        var exception = new IOException();
+        var other = new IllegalStateException();
+        List<Callable<Integer>> tasks = List.of(() -> { throw exception; }, () -> { throw exception; });
+        assertSame(exception, assertThrows(IOException.class, () -> Sneaky.invokeAny(tasks)), "Sneaky.invokeAny has to throw the failure if all tasks fail");
+        List<Callable<Integer>> others = List.of(() -> { throw other; });
+        assertSame(other, assertThrows(IllegalStateException.class, () -> Sneaky.invokeAny(others, executor)), "Sneaky.invokeAny has to throw runtime failure as is");
+        List<Callable<Integer>> empty = List.of();
+        assertThrows(IllegalArgumentException.class, () -> Sneaky.invokeAny(empty), "Sneaky.invokeAny has to reject empty tasks");
+    }
+
+    @Test
+    void interruptTest() throws InterruptedException {
+        var thread = Thread.currentThread();
+        var started = new CountDownLatch(1);
+        List<Callable<Integer>> tasks = List.of(() -> {
+            started.countDown();
+            Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            return 1;
+        });
+        executor.execute(() -> {
+            try {
+                started.await();
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            thread.interrupt();
+        });
+        assertThrows(InterruptedException.class, () -> Sneaky.invokeAll(tasks), "Sneaky.invokeAll has to throw InterruptedException on interrupt");
+        assertTrue(Thread.interrupted(), "Sneaky.invokeAll has to restore interrupted flag");
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MemoizedTest {
+
+    @Test
+    void lazyTest() {
+        var calls = new AtomicInteger();
+        var memoized = Sneaky.memoize(calls::incrementAndGet);
+        assertEquals(0, calls.get(), "Memoized call has to be lazy");
+        assertEquals(1, memoized.get(), "Memoized supplier has to return the call result");
+        assertEquals(1, memoized.get(), "Memoized supplier has to return the same result");
+        assertEquals(1, calls.get(), "Memoized call has to be called once");
+    }
+
+    @Test
+    void nullTest() {
+        var calls = new AtomicInteger();
+        var memoized = Sneaky.memoize(() -> {
+            calls.incrementAndGet();
+            return null;
+        });
+        assertNull(memoized.get(), "Memoized supplier has to return null result");
+        assertNull(memoized.get(), "Memoized supplier has to return null result");
+        assertEquals(1, calls.get(), "Null result has to be memoized");
+    }
+
+    @Test
+    void failureTest() {
+        var calls = new AtomicInteger();
+        var memoized = Sneaky.memoize(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IOException();
+            }
+            return calls.get();
+        });
+        assertThrows(IOException.class, memoized::get, "Memoized supplier has to throw the call failure");
+        assertEquals(2, memoized.get(), "Memoized supplier has to retry after the failure");
+        assertEquals(2, memoized.get(), "Memoized supplier has to return the same result");
+    }
+
+    @Test
+    void singleFlightTest() throws Exception {
+        var calls = new AtomicInteger();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var memoized = Sneaky.memoize(() -> {
+            calls.incrementAndGet();
+            started.countDown();
+            assertTrue(release.await(1, TimeUnit.SECONDS));
+            return new Object();
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            var first = executor.submit(memoized::get);
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+            var others = new Future<?>[3];
+            for (int i = 0; i < others.length; i++) {
+                others[i] = executor.submit(memoized::get);
+            }
+            Thread.sleep(20);
+            release.countDown();
+            var value = first.get(1, TimeUnit.SECONDS);
+            for (Future<?> other : others) {
+                assertSame(value, other.get(1, TimeUnit.SECONDS), "Concurrent callers have to get the same value");
+            }
+            assertEquals(1, calls.get(), "Concurrent callers have to share the single call");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
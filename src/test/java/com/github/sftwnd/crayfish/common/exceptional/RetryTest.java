@@ -0,0 +1,204 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RetryTest {
+
+    @Test
+    void callTest() {
+        var attempts = new AtomicInteger();
+        var result = Retry.of(3).call(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IOException();
+            }
+            return attempts.get();
+        });
+        assertEquals(3, result, "Retry.call has to return the result of the successful attempt");
+    }
+
+    @Test
+    void exhaustedTest() {
+        var attempts = new AtomicInteger();
+        var retry = Retry.of(3).delay(Duration.ofMillis(1));
+        var exception = assertThrows(IOException.class, () -> retry.call(() -> {
+            throw new IOException(String.valueOf(attempts.incrementAndGet()));
+        }), "Retry.call has to throw the first failure");
+        assertEquals("1", exception.getMessage(), "Retry.call has to throw the failure of the first attempt");
+        assertEquals(List.of("2", "3"), Arrays.stream(exception.getSuppressed()).map(Throwable::getMessage).collect(Collectors.toList()),
+                "Retry.call has to attach the next failures as suppressed");
+        assertTrue(Arrays.stream(exception.getSuppressed()).allMatch(suppressed -> suppressed.getSuppressed().length == 0), "Suppressed failures have to be flat");
+        assertEquals(3, retry.maxAttempts(), "Retry.maxAttempts has to be equals to the policy attempts");
+    }
+
+    @Test
+    void sameFailureTest() {
+        var first = new IOException("first");
+        var second = new IOException("second");
+        var failures = List.of(first, second, first, second);
+        var attempts = new AtomicInteger();
+        var exception = assertThrows(IOException.class, () -> Retry.of(4).call(() -> {
+            throw failures.get(attempts.getAndIncrement());
+        }), "Retry.call has to throw the first failure");
+        assertSame(first, exception, "Retry.call has to throw the first failure");
+        assertEquals(List.of(second), Arrays.asList(first.getSuppressed()), "Repeated failures hasn't got to be attached twice");
+        assertEquals(0, second.getSuppressed().length, "Repeated failures hasn't got to make a suppression cycle");
+    }
+
+    @Test
+    void sleepInterruptTest() {
+        var failure = new IOException();
+        var retry = Retry.of(2).delay(Duration.ofSeconds(10));
+        Thread.currentThread().interrupt();
+        var exception = assertThrows(InterruptedException.class, () -> retry.call(() -> { throw failure; }), "Retry has to throw InterruptedException");
+        assertTrue(Thread.interrupted(), "Retry has to restore interrupted flag");
+        assertEquals(List.of(failure), Arrays.asList(exception.getSuppressed()), "Failure of the attempt has to be attached to InterruptedException");
+    }
+
+    @Test
+    void classificationTest() {
+        var attempts = new AtomicInteger();
+        var retry = Retry.of(5).retryOn(IOException.class);
+        assertThrows(IllegalStateException.class, () -> retry.call(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException();
+        }), "Retry.call has to throw not retryable failure");
+        assertEquals(1, attempts.get(), "Retry.call hasn't got to retry not retryable failure");
+        assertEquals(2, retry.function((Integer value) -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new RuntimeException(new IOException());
+            }
+            return value;
+        }).apply(2), "Retry has to classify the significant cause of the failure");
+    }
+
+    @Test
+    void deadlineTest() {
+        var attempts = new AtomicInteger();
+        var retry = Retry.of(100).backoff(Duration.ofMillis(20), Duration.ofMillis(20), 2.0).jitter(0.5).deadline(Duration.ofMillis(50));
+        var supplier = retry.supplier(() -> {
+            attempts.incrementAndGet();
+            throw new IOException();
+        });
+        assertThrows(IOException.class, supplier::get, "Retry has to throw the failure after the deadline");
+        assertTrue(attempts.get() < 10, "Retry hasn't got to start attempts after the deadline, but: " + attempts.get());
+    }
+
+    @Test
+    void interruptTest() {
+        var attempts = new AtomicInteger();
+        var retry = Retry.of(5);
+        assertThrows(InterruptedException.class, () -> retry.call(() -> {
+            attempts.incrementAndGet();
+            throw new InterruptedException();
+        }), "Retry has to throw InterruptedException");
+        assertTrue(Thread.interrupted(), "Retry has to restore interrupted flag");
+        assertEquals(1, attempts.get(), "Retry hasn't got to retry InterruptedException");
+    }
+
+    @Test
+    void asyncTest() {
+        var attempts = new AtomicInteger();
+        var future = Retry.of(3).delay(Duration.ofMillis(1)).callAsync(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IOException();
+            }
+            return attempts.get();
+        });
+        assertEquals(3, future.join(), "Retry.callAsync has to complete with the result of the successful attempt");
+    }
+
+    @Test
+    void asyncFailureTest() throws InterruptedException {
+        var scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            var exception = new IOException();
+            var future = Retry.of(2).delay(Duration.ofMillis(1)).<Integer>callAsync(() -> { throw exception; }, scheduler);
+            assertSame(exception, assertThrows(CompletionException.class, future::join).getCause(), "Retry.callAsync has to complete with the last failure");
+        } finally {
+            scheduler.shutdownNow();
+            assertTrue(scheduler.awaitTermination(1, TimeUnit.SECONDS), "Scheduler has to be terminated");
+        }
+    }
+
+    @Test
+    void asyncInterruptTest() throws InterruptedException {
+        var scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            var attempts = new AtomicInteger();
+            // the first attempt is executed by the direct executor on the calling thread
+            var future = Retry.of(5).<Integer>callAsync(() -> {
+                attempts.incrementAndGet();
+                throw new InterruptedException();
+            }, scheduler, Runnable::run);
+            assertTrue(Thread.interrupted(), "Retry.callAsync has to restore interrupted flag of the executing thread");
+            assertTrue(assertThrows(CompletionException.class, future::join).getCause() instanceof InterruptedException, "Retry.callAsync has to complete with InterruptedException");
+            assertEquals(1, attempts.get(), "Retry.callAsync hasn't got to retry InterruptedException");
+        } finally {
+            scheduler.shutdownNow();
+            assertTrue(scheduler.awaitTermination(1, TimeUnit.SECONDS), "Scheduler has to be terminated");
+        }
+    }
+
+    @Test
+    void asyncErrorTest() throws InterruptedException {
+        var scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            var attempts = new AtomicInteger();
+            var error = new AssertionError("async");
+            var future = Retry.of(5).<Integer>callAsync(() -> {
+                attempts.incrementAndGet();
+                throw error;
+            }, scheduler);
+            assertSame(error, assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS)).getCause(), "Retry.callAsync has to complete with the Error");
+            assertEquals(1, attempts.get(), "Retry.callAsync hasn't got to retry the Error");
+        } finally {
+            scheduler.shutdownNow();
+            assertTrue(scheduler.awaitTermination(1, TimeUnit.SECONDS), "Scheduler has to be terminated");
+        }
+    }
+
+    @Test
+    void asyncCancelTest() throws InterruptedException {
+        var attempts = new AtomicInteger();
+        var future = Retry.of(100).delay(Duration.ofMillis(20)).callAsync(() -> {
+            attempts.incrementAndGet();
+            throw new IOException();
+        });
+        Thread.sleep(50);
+        future.cancel(false);
+        int cancelled = attempts.get();
+        Thread.sleep(100);
+        assertTrue(attempts.get() <= cancelled + 1, "Retry.callAsync hasn't got to start attempts after cancel");
+    }
+
+    @Test
+    void policyValidationTest() {
+        var retry = Retry.of(1);
+        var negative = Duration.ofMillis(-1);
+        var small = Duration.ofMillis(1);
+        var big = Duration.ofMillis(2);
+        assertThrows(IllegalArgumentException.class, () -> Retry.of(0), "maxAttempts has to be positive");
+        assertThrows(IllegalArgumentException.class, () -> retry.delay(negative), "delay has to be non negative");
+        assertThrows(IllegalArgumentException.class, () -> retry.backoff(big, small, 2.0), "maxDelay has to be not less than initialDelay");
+        assertThrows(IllegalArgumentException.class, () -> retry.backoff(small, big, 0.5), "multiplier has to be not less than 1");
+        assertThrows(IllegalArgumentException.class, () -> retry.jitter(2.0), "jitter has to be in range [0, 1]");
+        assertThrows(IllegalArgumentException.class, () -> retry.deadline(Duration.ZERO), "deadline has to be positive");
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SneakyAdaptersTest {
+
+    /**
+     * Domain interface with the checked exception
+     */
+    @FunctionalInterface
+    public interface Loader {
+        String load(String key) throws IOException;
+    }
+
+    // typed class literal of the generic interface, the only unchecked conversion of the test
+    @SuppressWarnings("unchecked")
+    private static <T> Class<T> type(Class<?> rawType) {
+        return (Class<T>) rawType;
+    }
+
+    @Test
+    void comparatorTest() {
+        Comparator<String> comparator = Sneaky.adapt(type(Comparator.class), (Sneaky.BiFunctional<String, String, Integer>) (left, right) -> left.length() - right.length());
+        assertEquals(List.of("a", "bb", "ccc"), List.of("ccc", "a", "bb").stream().sorted(comparator).toList(), "Adapter has to unbox the result");
+    }
+
+    @Test
+    void predicateTest() {
+        Predicate<String> predicate = Sneaky.adapt(type(Predicate.class), (Sneaky.Functional<String, Boolean>) String::isEmpty);
+        assertTrue(predicate.test(""), "Adapter has to pass the parameter");
+        assertFalse(predicate.test("a"), "Adapter has to return the result");
+    }
+
+    @Test
+    void domainInterfaceTest() {
+        var failure = new IOException("load");
+        Function<String, String> function = Sneaky.adapt(type(Function.class), (Loader) key -> {
+            if (key == null) {
+                throw failure;
+            }
+            return key + key;
+        });
+        assertEquals("aa", function.apply("a"), "Adapter has to call the implementation");
+        assertSame(failure, assertThrows(IOException.class, () -> function.apply(null)), "Checked exception has to be thrown sneakily");
+    }
+
+    @Test
+    void primitiveTest() {
+        IntFunction<String> function = Sneaky.adapt(type(IntFunction.class), (Sneaky.IntFunctional<String>) Integer::toString);
+        assertEquals("42", function.apply(42), "Adapter has to pass the primitive parameter");
+    }
+
+    @Test
+    void cacheTest() {
+        Sneaky.Functional<String, Boolean> first = String::isEmpty;
+        Sneaky.Functional<String, Boolean> second = String::isBlank;
+        Predicate<String> firstAdapter = Sneaky.adapt(type(Predicate.class), first);
+        assertSame(firstAdapter.getClass(), Sneaky.adapt(Predicate.class, first).getClass(), "Adapter has to be cached per implementation class");
+        assertSame(firstAdapter.getClass(), Sneaky.adapt(Predicate.class, second).getClass(), "Adapter has to be cached per pair of interfaces");
+    }
+
+    @Test
+    void sameInterfaceTest() {
+        Supplier<String> supplier = () -> "value";
+        assertSame(supplier, Sneaky.adapt(Supplier.class, supplier), "Implementation of the target interface has to be returned as is");
+    }
+
+    @Test
+    void wrongInterfaceTest() {
+        Loader loader = key -> key;
+        assertThrows(IllegalArgumentException.class, () -> Sneaky.adapt(Comparator.class, loader), "Number of parameters has to match");
+        assertThrows(IllegalArgumentException.class, () -> Sneaky.adapt(List.class, loader), "Target has to be a functional interface");
+        assertThrows(IllegalArgumentException.class, () -> Sneaky.adapt(Object.class, loader), "Target has to be an interface");
+        assertThrows(IllegalArgumentException.class, () -> Sneaky.adapt(Function.class, new Object()), "Implementation has to be functional");
+        assertThrows(NullPointerException.class, () -> Sneaky.adapt(Function.class, null), "Implementation has to be checked");
+    }
+
+}
@@ -0,0 +1,214 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SneakyBatcherTest {
+
+    private static List<Integer> range(int count) {
+        return IntStream.range(0, count).boxed().collect(Collectors.toList());
+    }
+
+    @Test
+    void batchSizeTest() {
+        List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        var batcher = new SneakyBatcher<Integer>(4, Duration.ofSeconds(10), batches::add);
+        try (batcher) {
+            range(10).forEach(batcher::submit);
+        }
+        assertEquals(range(10), batches.stream().flatMap(List::stream).collect(Collectors.toList()), "Elements have to be delivered in the order of submission");
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 4), "Batches have to be limited by batchSize");
+        assertEquals(10, batcher.submitted(), "Submitted elements have to be counted");
+        assertEquals(10, batcher.delivered(), "Delivered elements have to be counted");
+        assertEquals(batches.size(), batcher.batches(), "Batches have to be counted");
+        assertFalse(batcher.submit(11), "Element hasn't got to be accepted after close");
+    }
+
+    @Test
+    void maxDelayTest() throws InterruptedException {
+        var delivered = new CountDownLatch(1);
+        try (var batcher = new SneakyBatcher<Integer>(1000, Duration.ofMillis(20), batch -> delivered.countDown())) {
+            batcher.submit(1);
+            assertTrue(delivered.await(5, TimeUnit.SECONDS), "Incomplete batch has to be delivered after the max delay");
+        }
+    }
+
+    @Test
+    void flushTest() throws InterruptedException {
+        var delivered = new CountDownLatch(1);
+        try (var batcher = new SneakyBatcher<Integer>(1000, Duration.ofHours(1), batch -> delivered.countDown())) {
+            batcher.submit(1);
+            batcher.flush();
+            assertTrue(delivered.await(5, TimeUnit.SECONDS), "Incomplete batch has to be delivered on flush");
+        }
+    }
+
+    @Test
+    void bisectTest() {
+        var calls = new AtomicInteger();
+        List<Integer> delivered = new CopyOnWriteArrayList<>();
+        Map<Integer, Throwable> poisoned = new ConcurrentHashMap<>();
+        var batcher = new SneakyBatcher<Integer>(64, 64, Duration.ofSeconds(10), Retry.of(1), batch -> {
+            calls.incrementAndGet();
+            if (batch.contains(37)) {
+                throw new IOException("poison");
+            }
+            delivered.addAll(batch);
+        }, poisoned::put);
+        try (batcher) {
+            range(64).forEach(batcher::submit);
+        }
+        assertEquals(Map.of(37, IOException.class), poisoned.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().getClass())),
+                "Poison element has to be isolated with its failure");
+        assertEquals(range(64).stream().filter(value -> value != 37).collect(Collectors.toList()), delivered, "Other elements have to be delivered in order");
+        assertEquals(1, batcher.poisoned(), "Poison elements have to be counted");
+        assertEquals(63, batcher.delivered(), "Delivered elements have to be counted");
+        assertTrue(calls.get() <= 1 + 2 * 6, "Poison element has to be isolated by bisection, but calls: " + calls.get());
+    }
+
+    @Test
+    void notBisectableTest() {
+        var calls = new AtomicInteger();
+        var failure = new IllegalStateException("unavailable");
+        Map<Integer, Throwable> poisoned = new ConcurrentHashMap<>();
+        var batcher = new SneakyBatcher<Integer>(8, 8, Duration.ofSeconds(10), Retry.of(1), batch -> {
+            calls.incrementAndGet();
+            throw failure;
+        }, poisoned::put, IOException.class::isInstance);
+        try (batcher) {
+            range(8).forEach(batcher::submit);
+        }
+        assertEquals(1, calls.get(), "Batch hasn't got to be bisected on the failure which is not element specific");
+        assertEquals(range(8), poisoned.keySet().stream().sorted().collect(Collectors.toList()), "All elements of the failed batch have to be passed to the handler");
+        assertTrue(poisoned.values().stream().allMatch(failure::equals), "Elements have to be passed with the failure of the batch");
+        assertEquals(8, batcher.poisoned(), "Failed elements have to be counted");
+    }
+
+    @Test
+    void retryTest() {
+        var attempts = new AtomicInteger();
+        var batcher = new SneakyBatcher<Integer>(8, 8, Duration.ofSeconds(10), Retry.of(3), batch -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IOException("transient");
+            }
+        }, (element, failure) -> { });
+        try (batcher) {
+            range(8).forEach(batcher::submit);
+        }
+        assertEquals(3, attempts.get(), "Transient failure of the batch has to be retried");
+        assertEquals(8, batcher.delivered(), "Batch has to be delivered after retries");
+        assertEquals(0, batcher.poisoned(), "Batch hasn't got to be bisected after the successful retry");
+    }
+
+    @Test
+    void shutdownNowTest() throws InterruptedException {
+        var started = new CountDownLatch(1);
+        var interrupted = new CountDownLatch(1);
+        var batcher = new SneakyBatcher<Integer>(16, 4, Duration.ofSeconds(10), Retry.of(1), batch -> {
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException interruptedException) {
+                interrupted.countDown();
+                throw interruptedException;
+            }
+        }, (element, failure) -> { });
+        range(8).forEach(batcher::submit);
+        assertTrue(started.await(5, TimeUnit.SECONDS), "Batch has to be started");
+        var rest = batcher.shutdownNow();
+        assertTrue(interrupted.await(0, TimeUnit.SECONDS), "Delivery in progress has to be interrupted");
+        assertEquals(range(8), rest.stream().sorted().collect(Collectors.toList()), "Undelivered elements have to be returned");
+        assertEquals(0, batcher.poisoned(), "Interrupted batch hasn't got to be bisected");
+        assertFalse(batcher.submit(9), "Element hasn't got to be accepted after shutdown");
+    }
+
+    @Test
+    void shutdownNowCollectingTest() throws InterruptedException {
+        var delivered = new CountDownLatch(1);
+        var batcher = new SneakyBatcher<Integer>(16, 4, Duration.ofMinutes(1), Retry.of(1), batch -> delivered.countDown(), (element, failure) -> { });
+        range(4).forEach(batcher::submit);
+        assertTrue(delivered.await(5, TimeUnit.SECONDS), "Full batch has to be delivered");
+        batcher.submit(4);
+        batcher.submit(5);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (batcher.pending() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(0, batcher.pending(), "Elements have to be taken into the collected batch");
+        assertEquals(List.of(4, 5), batcher.shutdownNow(), "Elements of the batch interrupted while collecting have to be returned");
+        assertEquals(4, batcher.delivered(), "Only the full batch has to be delivered");
+    }
+
+    @Test
+    void consumerErrorTest() throws InterruptedException {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var batcher = new SneakyBatcher<Integer>(2, 2, Duration.ofSeconds(10), Retry.of(1), batch -> {
+            started.countDown();
+            release.await();
+            throw new AssertionError("consumer");
+        }, (element, failure) -> { });
+        batcher.submit(0);
+        batcher.submit(1);
+        assertTrue(started.await(5, TimeUnit.SECONDS), "Batch has to be started");
+        batcher.submit(2);
+        batcher.submit(3);
+        var accepted = new AtomicBoolean(true);
+        var submitter = new Thread(() -> accepted.set(batcher.submit(4)));
+        submitter.start();
+        release.countDown();
+        submitter.join(5000);
+        assertFalse(submitter.isAlive(), "Waiting submission has to be released when the batcher thread is stopped");
+        assertFalse(accepted.get(), "Element hasn't got to be accepted by the stopped batcher");
+        batcher.close();
+        assertEquals(range(4), batcher.shutdownNow().stream().sorted().collect(Collectors.toList()), "Batch failed by the Error and the queued elements have to be returned");
+    }
+
+    @Test
+    void interruptedSubmitTest() {
+        var release = new CountDownLatch(1);
+        var batcher = new SneakyBatcher<Integer>(1, 1, Duration.ZERO, Retry.of(1), batch -> release.await(), (element, failure) -> { });
+        try {
+            batcher.submit(1);
+            batcher.submit(2);
+            Thread.currentThread().interrupt();
+            assertThrows(InterruptedException.class, () -> {
+                batcher.submit(3);
+                batcher.submit(4);
+            }, "Interrupted submit has to throw InterruptedException");
+            assertTrue(Thread.interrupted(), "Interrupt flag has to be restored");
+        } finally {
+            release.countDown();
+            batcher.close();
+        }
+    }
+
+    @Test
+    void wrongArgumentsTest() {
+        Sneaky.Consumable<List<Integer>> consumer = batch -> { };
+        var delay = Duration.ofMillis(1);
+        assertThrows(IllegalArgumentException.class, () -> new SneakyBatcher<>(0, delay, consumer), "Batch size has to be checked");
+        assertThrows(IllegalArgumentException.class, () -> new SneakyBatcher<>(0, 1, delay, Retry.of(1), consumer, (element, failure) -> { }), "Capacity has to be checked");
+        assertThrows(IllegalArgumentException.class, () -> new SneakyBatcher<>(1, Duration.ofMillis(-1), consumer), "Delay has to be checked");
+        assertThrows(NullPointerException.class, () -> new SneakyBatcher<>(1, delay, null), "Consumer has to be checked");
+        assertThrows(NullPointerException.class, () -> new SneakyBatcher<>(1, 1, delay, Retry.of(1), consumer, (element, failure) -> { }, null), "Bisectable predicate has to be checked");
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SneakyEventsTest {
+
+    private static final String WRAPPER_FAILURE = "com.github.sftwnd.crayfish.exceptional.WrapperFailure";
+    private static final String RETHROW = "com.github.sftwnd.crayfish.exceptional.Rethrow";
+    private static final String CAUSE_UNWRAP = "com.github.sftwnd.crayfish.exceptional.CauseUnwrap";
+
+    @Test
+    void disabledTest() {
+        assertEquals(0L, SneakyEvents.start(), "Events have to be disabled by default");
+    }
+
+    @Test
+    void recordingTest() throws IOException {
+        List<RecordedEvent> events;
+        Path file = Files.createTempFile("sneaky-events", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(WRAPPER_FAILURE);
+            recording.enable(RETHROW);
+            recording.enable(CAUSE_UNWRAP);
+            recording.start();
+            assertTrue(SneakyEvents.isEnabled(), "Events have to be enabled by the recording");
+            var function = Sneaky.function((Integer value) -> { throw new IllegalStateException(new IOException()); });
+            assertThrows(IllegalStateException.class, () -> function.apply(1));
+            Exceptional.cause(new IllegalStateException(new IOException()));
+            recording.stop();
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        assertFalse(SneakyEvents.isEnabled(), "Events have to be disabled after the recording");
+        var wrapperFailures = named(events, WRAPPER_FAILURE);
+        assertEquals(1, wrapperFailures.size(), "Wrapper failure has to be recorded");
+        var wrapperFailure = wrapperFailures.get(0);
+        assertEquals("function", wrapperFailure.getString("kind"), "Wrapper failure has to have the wrapper kind");
+        assertEquals(IllegalStateException.class.getName(), wrapperFailure.<RecordedClass>getValue("exceptionClass").getName(), "Wrapper failure has to have the exception class");
+        assertEquals(IOException.class.getName(), wrapperFailure.<RecordedClass>getValue("causeClass").getName(), "Wrapper failure has to have the significant cause class");
+        assertTrue(wrapperFailure.getLong("callDuration") > 0, "Wrapper failure has to have the call duration");
+        assertEquals(1, named(events, RETHROW).size(), "Rethrow has to be recorded");
+        assertEquals(1, named(events, CAUSE_UNWRAP).size(), "Cause unwrap has to be recorded");
+    }
+
+    @Test
+    void adaptersTest() throws IOException {
+        List<RecordedEvent> events;
+        Path file = Files.createTempFile("sneaky-events", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(WRAPPER_FAILURE);
+            recording.enable(RETHROW);
+            recording.start();
+            var intFunction = Sneaky.intFunction(value -> { throw new IOException(); });
+            assertThrows(IOException.class, () -> intFunction.apply(1));
+            var carrying = Sneaky.Carrying.function((Integer value) -> { throw new IOException(); });
+            assertThrows(CarrierException.class, () -> carrying.apply(1));
+            var timed = Sneaky.function((Integer value) -> { throw new IOException(); }, Duration.ofSeconds(10));
+            assertThrows(IOException.class, () -> timed.apply(1));
+            recording.stop();
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        assertEquals(List.of("intFunction", "carrying.function", "function"),
+                named(events, WRAPPER_FAILURE).stream().map(event -> event.getString("kind")).collect(Collectors.toList()),
+                "Primitive, carrying and timeout-bounded adapters have to record wrapper failures");
+        assertEquals(3, named(events, RETHROW).size(), "Both sneaky and unchecked rethrows have to be recorded");
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name)).collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,335 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SneakyFlowTest {
+
+    /**
+     * Synchronous publisher of the range which honors the demand and counts the requested elements
+     */
+    private static final class Range implements Flow.Publisher<Integer> {
+
+        private final int from;
+        private final int count;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+
+        private Range(int from, int count) {
+            this.from = from;
+            this.count = count;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super Integer> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                private final AtomicLong demand = new AtomicLong();
+                private int index;
+                private boolean done;
+
+                @Override
+                public void request(long n) {
+                    requested.addAndGet(n);
+                    if (demand.getAndAdd(n) > 0) {
+                        return;
+                    }
+                    do {
+                        while (demand.get() > 0 && index < count && !cancelled.get()) {
+                            demand.decrementAndGet();
+                            subscriber.onNext(from + index++);
+                        }
+                        if (index == count && !done && !cancelled.get()) {
+                            done = true;
+                            subscriber.onComplete();
+                            return;
+                        }
+                    } while (demand.get() > 0 && !done && !cancelled.get() && index < count);
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled.set(true);
+                }
+            });
+        }
+
+    }
+
+    /**
+     * Subscriber which requests elements by the batch, the next batch is requested if replenish is set
+     */
+    private static final class Collector<T> implements Flow.Subscriber<T> {
+
+        private final long batch;
+        private final boolean replenish;
+        private final List<T> items = new CopyOnWriteArrayList<>();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private final CountDownLatch terminated = new CountDownLatch(1);
+        private Flow.Subscription subscription;
+        private long received;
+
+        private Collector(long batch) {
+            this(batch, true);
+        }
+
+        private Collector(long batch, boolean replenish) {
+            this.batch = batch;
+            this.replenish = replenish;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(batch);
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+            if (++received % batch == 0 && replenish) {
+                subscription.request(batch);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error.set(throwable);
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            terminated.countDown();
+        }
+
+        private Collector<T> await() throws InterruptedException {
+            assertTrue(terminated.await(10, TimeUnit.SECONDS), "Flow has to terminate");
+            return this;
+        }
+
+    }
+
+    private static List<Integer> range(int from, int count) {
+        return IntStream.range(from, from + count).boxed().collect(Collectors.toList());
+    }
+
+    @Test
+    void mapFilterTest() throws InterruptedException {
+        var range = new Range(0, 100);
+        var collector = new Collector<String>(7);
+        SneakyFlow.of(range).filter(value -> value % 2 == 0).map(String::valueOf).subscribe(collector);
+        collector.await();
+        assertNull(collector.error.get(), "Flow hasn't got to fail");
+        assertEquals(range(0, 50).stream().map(value -> String.valueOf(value * 2)).collect(Collectors.toList()), collector.items, "Elements have to be filtered and mapped");
+    }
+
+    @Test
+    void backpressureTest() {
+        var range = new Range(0, 1000);
+        var collector = new Collector<Integer>(5, false);
+        SneakyFlow.of(range).map(value -> value + 1).subscribe(collector);
+        assertEquals(5, collector.items.size(), "Flow has to publish the requested number of elements");
+        assertEquals(5, range.requested.get(), "Flow has to pass the demand to the source");
+    }
+
+    @Test
+    void failureTest() throws InterruptedException {
+        var range = new Range(0, 100);
+        var collector = new Collector<Integer>(Long.MAX_VALUE);
+        var failure = new IOException("failure");
+        SneakyFlow.of(range).<Integer>map(value -> {
+            if (value == 10) {
+                throw new CompletionException(failure);
+            }
+            return value;
+        }).subscribe(collector);
+        collector.await();
+        assertSame(failure, collector.error.get(), "Significant cause has to be signalled by onError");
+        assertEquals(range(0, 10), collector.items, "Elements before the failure have to be published");
+        assertTrue(range.cancelled.get(), "Source has to be cancelled on the failure");
+    }
+
+    @Test
+    void peekTest() throws InterruptedException {
+        var counter = new AtomicInteger();
+        var collector = new Collector<Integer>(3);
+        SneakyFlow.of(new Range(0, 10)).peek(value -> counter.incrementAndGet()).subscribe(collector);
+        collector.await();
+        assertEquals(10, counter.get(), "Action has to be performed on each element");
+    }
+
+    @Test
+    void flatMapTest() throws InterruptedException {
+        var collector = new Collector<Integer>(3);
+        SneakyFlow.of(new Range(0, 20)).flatMap(value -> new Range(value * 10, 10), 4, 2).subscribe(collector);
+        collector.await();
+        assertNull(collector.error.get(), "Flow hasn't got to fail");
+        assertEquals(range(0, 200), collector.items.stream().sorted().collect(Collectors.toList()), "All inner elements have to be published");
+    }
+
+    @Test
+    void flatMapBackpressureTest() {
+        var source = new Range(0, 100);
+        var inners = new CopyOnWriteArrayList<Range>();
+        var collector = new Collector<Integer>(5, false);
+        SneakyFlow.of(source).flatMap(value -> {
+            var inner = new Range(value * 1000, 1000);
+            inners.add(inner);
+            return inner;
+        }, 3, 8).subscribe(collector);
+        assertEquals(5, collector.items.size(), "Flow has to publish the requested number of elements");
+        assertEquals(3, source.requested.get(), "Source has to be requested by the concurrency");
+        assertEquals(3, inners.size(), "Inner publishers have to be bounded by the concurrency");
+        inners.forEach(inner -> assertTrue(inner.requested.get() <= 16, "Inner publishers have to be bounded by the prefetch"));
+    }
+
+    @Test
+    void flatMapFailureTest() throws InterruptedException {
+        var source = new Range(0, 100);
+        var collector = new Collector<Integer>(Long.MAX_VALUE);
+        var failure = new IOException("inner");
+        SneakyFlow.of(source).<Integer>flatMap(value -> {
+            if (value == 3) {
+                throw failure;
+            }
+            return new Range(value, 1);
+        }, 2).subscribe(collector);
+        collector.await();
+        assertSame(failure, collector.error.get(), "Failure of the function has to be signalled");
+        assertTrue(source.cancelled.get(), "Source has to be cancelled");
+    }
+
+    @Test
+    void onErrorResumeTest() throws InterruptedException {
+        var collector = new Collector<Integer>(2);
+        var failure = new IOException("resume");
+        var resumedBy = new AtomicReference<Throwable>();
+        SneakyFlow.of(new Range(0, 10)).<Integer>map(value -> {
+            if (value == 5) {
+                throw new RuntimeException(failure);
+            }
+            return value;
+        }).onErrorResume(throwable -> {
+            resumedBy.set(throwable);
+            return new Range(100, 3);
+        }).subscribe(collector);
+        collector.await();
+        assertNull(collector.error.get(), "Flow has to be resumed");
+        assertSame(failure, resumedBy.get(), "Fallback has to get the significant cause");
+        assertEquals(List.of(0, 1, 2, 3, 4, 100, 101, 102), collector.items, "Fallback elements have to follow");
+    }
+
+    private static final Flow.Subscription NO_SUBSCRIPTION = new Flow.Subscription() {
+        @Override
+        public void request(long n) {
+            // nothing is published
+        }
+
+        @Override
+        public void cancel() {
+            // nothing is published
+        }
+    };
+
+    @Test
+    void onErrorResumeDemandTest() throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            var fallback = new Range(0, 1000);
+            var collector = new Collector<Integer>(2, false);
+            var upstream = new AtomicReference<Flow.Subscriber<? super Integer>>();
+            SneakyFlow.<Integer>of(subscriber -> {
+                upstream.set(subscriber);
+                subscriber.onSubscribe(NO_SUBSCRIPTION);
+            }).onErrorResume(throwable -> fallback).subscribe(collector);
+            var failure = new Thread(() -> upstream.get().onError(new IOException("switch")));
+            failure.start();
+            collector.subscription.request(3);
+            failure.join();
+            assertEquals(5, fallback.requested.get(), "Outstanding demand has to be handed over to the fallback once");
+            assertEquals(range(0, 5), collector.items, "Fallback hasn't got to publish over the demand");
+        }
+    }
+
+    @Test
+    void onErrorResumeFailureTest() throws InterruptedException {
+        var collector = new Collector<Integer>(2);
+        var failure = new IOException("fallback");
+        SneakyFlow.<Integer>of(subscriber -> {
+            subscriber.onSubscribe(NO_SUBSCRIPTION);
+            subscriber.onError(new IOException("upstream"));
+        }).onErrorResume(throwable -> subscriber -> {
+            subscriber.onSubscribe(NO_SUBSCRIPTION);
+            subscriber.onError(new RuntimeException(failure));
+        }).subscribe(collector);
+        collector.await();
+        assertSame(failure, collector.error.get(), "Failure of the fallback has to be signalled by the significant cause");
+    }
+
+    @Test
+    void onErrorResumeWrongRequestTest() throws InterruptedException {
+        var source = new Range(0, 10);
+        var collector = new Collector<Integer>(0);
+        SneakyFlow.of(source).onErrorResume(throwable -> new Range(100, 1)).subscribe(collector);
+        collector.await();
+        assertTrue(collector.error.get() instanceof IllegalArgumentException, "Wrong request has to be signalled (rule 3.9)");
+        assertTrue(source.cancelled.get(), "Source has to be cancelled on the wrong request");
+        assertTrue(collector.items.isEmpty(), "Fallback hasn't got to be subscribed on the wrong request");
+    }
+
+    @Test
+    void onErrorResumeFallbackFailureTest() throws InterruptedException {
+        var collector = new Collector<Integer>(2);
+        var upstream = new IOException("upstream");
+        var failure = new IOException("fallback");
+        SneakyFlow.<Integer>of(subscriber -> {
+            subscriber.onSubscribe(NO_SUBSCRIPTION);
+            subscriber.onError(upstream);
+        }).onErrorResume(throwable -> {
+            throw new RuntimeException(failure);
+        }).subscribe(collector);
+        collector.await();
+        assertSame(failure, collector.error.get(), "Failure of the fallback function has to be signalled by the significant cause");
+        assertSame(upstream, failure.getSuppressed()[0], "Failure of the upstream has to be suppressed by the significant cause");
+    }
+
+    @Test
+    void submissionPublisherTest() throws InterruptedException {
+        var collector = new Collector<Integer>(16);
+        try (var publisher = new SubmissionPublisher<Integer>()) {
+            SneakyFlow.of(publisher).map(value -> value * 2).flatMap(value -> new Range(value, 2), 2).subscribe(collector);
+            IntStream.range(0, 1000).forEach(publisher::submit);
+        }
+        collector.await();
+        assertNull(collector.error.get(), "Flow hasn't got to fail");
+        assertEquals(2000, collector.items.size(), "All elements have to be published");
+    }
+
+    @Test
+    void wrongArgumentsTest() {
+        var flow = SneakyFlow.of(new Range(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> flow.flatMap(value -> new Range(0, 1), 0), "Concurrency has to be checked");
+        assertThrows(IllegalArgumentException.class, () -> flow.flatMap(value -> new Range(0, 1), 1, 0), "Prefetch has to be checked");
+        assertSame(flow, SneakyFlow.of(flow), "Flow hasn't got to be wrapped twice");
+    }
+
+}
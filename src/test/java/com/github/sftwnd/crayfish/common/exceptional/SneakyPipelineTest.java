@@ -0,0 +1,53 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SneakyPipelineTest {
+
+    @Test
+    void buildTest() {
+        var pipeline = Sneaky.pipeline((String text) -> text.trim())
+                .then(Integer::parseInt)
+                .then(value -> value * 2)
+                .then(String::valueOf);
+        assertEquals(4, pipeline.size(), "Pipeline size has to be equals to the number of steps");
+        assertEquals("84", pipeline.build().apply(" 42 "), "Pipeline has to apply all steps in order");
+    }
+
+    @Test
+    void immutableTest() {
+        var first = SneakyPipeline.of((Integer value) -> value + 1);
+        var second = first.then(value -> value * 10);
+        assertEquals(1, first.size(), "Pipeline.then hasn't got to change the source pipeline");
+        assertEquals(2, first.build().apply(1), "Source pipeline has to apply its own steps only");
+        assertEquals(20, second.build().apply(1), "Appended pipeline has to apply all steps");
+    }
+
+    @Test
+    void exceptionTest() {
+        var exception = new IOException();
+        var calls = new AtomicInteger();
+        var pipeline = SneakyPipeline.of((Integer value) -> value + 1)
+                .then(value -> { throw exception; })
+                .then(value -> calls.incrementAndGet());
+        assertSame(exception, assertThrows(IOException.class, () -> pipeline.build().apply(1)), "Pipeline has to sneaky throw the step exception");
+        assertEquals(0, calls.get(), "Pipeline hasn't got to call steps after the failed one");
+        assertEquals(Try.failure(exception), pipeline.buildTrying().apply(1), "Trying pipeline has to capture the step exception");
+        assertSame(exception, assertThrows(IOException.class, () -> pipeline.toFunctional().apply(1)), "Functional pipeline has to throw the step exception");
+    }
+
+    @Test
+    void tryingTest() throws Exception {
+        var pipeline = SneakyPipeline.of((Integer value) -> value + 1).then(value -> value * 2);
+        assertEquals(Try.success(4), pipeline.buildTrying().apply(1), "Trying pipeline has to return success with the result");
+        assertEquals(4, pipeline.toFunctional().apply(1), "Functional pipeline has to apply all steps");
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SneakyStreamTest {
+
+    @Test
+    void pipelineTest() {
+        var result = SneakyStream.of(List.of(1, 2, 3, 4))
+                .map(this::twice)
+                .filter(value -> value > 2)
+                .flatMap(value -> Stream.of(value, -value))
+                .sorted(Comparator.naturalOrder())
+                .toList();
+        assertEquals(List.of(-8, -6, -4, 4, 6, 8), result, "SneakyStream has to apply all operations");
+    }
+
+    @Test
+    void forEachTest() {
+        var sum = new AtomicInteger();
+        var peeked = new AtomicInteger();
+        SneakyStream.of(Stream.of(1, 2, 3)).peek(value -> peeked.incrementAndGet()).forEach(sum::addAndGet);
+        assertEquals(6, sum.get(), "SneakyStream.forEach has to consume all elements");
+        assertEquals(3, peeked.get(), "SneakyStream.peek has to see all elements");
+        SneakyStream.of(Stream.of(1, 2, 3)).forEachOrdered(sum::addAndGet);
+        assertEquals(12, sum.get(), "SneakyStream.forEachOrdered has to consume all elements");
+    }
+
+    @Test
+    void terminalTest() {
+        assertEquals(3, SneakyStream.of(Stream.of(1, 2, 3)).count(), "SneakyStream.count has to count elements");
+        assertEquals("1,2", SneakyStream.of(Stream.of(1, 2)).map(String::valueOf).collect(Collectors.joining(",")), "SneakyStream.collect has to collect elements");
+    }
+
+    @Test
+    void modeTest() {
+        var stream = SneakyStream.of(Stream.of(1));
+        assertFalse(stream.isParallel(), "SneakyStream has to be sequential by default");
+        assertTrue(stream.parallel().isParallel(), "SneakyStream.parallel has to switch to parallel");
+        assertFalse(SneakyStream.parallel(List.of(1)).sequential().isParallel(), "SneakyStream.sequential has to switch to sequential");
+        assertThrows(IllegalArgumentException.class, () -> SneakyStream.of(Stream.of(1), -1), "maxSuppressed has to be non negative");
+    }
+
+    @Test
+    void failureTest() {
+        var exception = new IOException();
+        var stream = SneakyStream.of(Stream.of(1, 2, 3)).map(value -> {
+            if (value == 2) {
+                throw exception;
+            }
+            return value;
+        });
+        assertSame(exception, assertThrows(IOException.class, stream::toList), "SneakyStream has to rethrow the original exception");
+    }
+
+    @Test
+    void filterFailureTest() {
+        var stream = SneakyStream.of(Stream.of(1, 2, 3)).filter(value -> { throw new IOException(); });
+        assertThrows(IOException.class, stream::count, "SneakyStream.filter has to rethrow the original exception");
+    }
+
+    @Test
+    void parallelFailFastTest() {
+        int size = 1_000_000;
+        var processed = new AtomicInteger();
+        var stream = SneakyStream.of(IntStream.range(0, size).boxed().collect(Collectors.toList()).parallelStream(), 4);
+        var throwable = assertThrows(IOException.class, () -> stream.forEach(value -> {
+            processed.incrementAndGet();
+            if (value % 1000 == 0) {
+                throw new IOException("failed: " + value);
+            }
+        }), "Parallel SneakyStream has to rethrow the original exception");
+        assertTrue(processed.get() < size / 10, "Parallel SneakyStream has to stop on the first failure, but processed: " + processed.get());
+        assertTrue(throwable.getSuppressed().length <= 4, "Suppressed exceptions have to be bounded");
+    }
+
+    @Test
+    void closeTest() {
+        var closed = new AtomicInteger();
+        try (var stream = SneakyStream.of(Stream.of(1).onClose(closed::incrementAndGet))) {
+            assertEquals(1, stream.count(), "SneakyStream has to count elements");
+        }
+        assertEquals(1, closed.get(), "SneakyStream.close has to close the source stream");
+    }
+
+    private Integer twice(Integer value) throws IOException {
+        return value * 2;
+    }
+
+}
@@ -4,18 +4,63 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.Random;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.biconsumer;
 import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.bifunction;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.booleanSupplier;
 import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.consumer;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.doubleBinaryOperator;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.doubleConsumer;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.doubleFunction;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.doublePredicate;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.doubleSupplier;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.doubleToIntFunction;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.doubleToLongFunction;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.doubleUnaryOperator;
 import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.function;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.intBinaryOperator;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.intConsumer;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.intFunction;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.intPredicate;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.intSupplier;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.intToDoubleFunction;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.intToLongFunction;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.intUnaryOperator;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.longBinaryOperator;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.longConsumer;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.longFunction;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.longPredicate;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.longSupplier;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.longToDoubleFunction;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.longToIntFunction;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.longUnaryOperator;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.objDoubleConsumer;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.objIntConsumer;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.objLongConsumer;
 import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.runnable;
 import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.supplier;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.toDoubleBiFunction;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.toDoubleFunction;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.toIntBiFunction;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.toIntFunction;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.toLongBiFunction;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.toLongFunction;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.trying;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.tryingBifunction;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.tryingConsumer;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.tryingRunnable;
+import static com.github.sftwnd.crayfish.common.exceptional.Sneaky.tryingSupplier;
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class SneakyTest {
 
@@ -106,6 +151,168 @@ class SneakyTest {
         assertThrows(IllegalArgumentException.class, () -> biconsumer.accept(null, null), "Sneaky.biconsumer has to throw right Exception");
     }
 
+    @Test
+    void intAdaptersTest() {
+        assertEquals(parameter1, intSupplier(() -> parameter1).getAsInt(), "Sneaky.intSupplier result has to be equals IntSuppliable result");
+        assertEquals(String.valueOf(parameter1), intFunction(String::valueOf).apply(parameter1), "Sneaky.intFunction result has to be equals IntFunctional result");
+        assertTrue(intPredicate(v -> v == parameter1).test(parameter1), "Sneaky.intPredicate result has to be equals IntTestable result");
+        intConsumer(atomicValue::set).accept(parameter1);
+        assertEquals(parameter1, atomicValue.get(), "Sneaky.intConsumer has to produce right result");
+        assertEquals(-parameter1, intUnaryOperator(v -> -v).applyAsInt(parameter1), "Sneaky.intUnaryOperator result has to be equals IntUnaryOperable result");
+        assertEquals(parameter1 + parameter2, intBinaryOperator(Integer::sum).applyAsInt(parameter1, parameter2), "Sneaky.intBinaryOperator result has to be equals IntBinaryOperable result");
+        assertEquals((long) parameter1, intToLongFunction(v -> v).applyAsLong(parameter1), "Sneaky.intToLongFunction result has to be equals IntToLongFunctional result");
+        assertEquals((double) parameter1, intToDoubleFunction(v -> v).applyAsDouble(parameter1), "Sneaky.intToDoubleFunction result has to be equals IntToDoubleFunctional result");
+        assertEquals(parameter1, toIntFunction(Integer::intValue).applyAsInt(parameter1), "Sneaky.toIntFunction result has to be equals ToIntFunctional result");
+        assertEquals(parameter1 + parameter2, toIntBiFunction(Integer::sum).applyAsInt(parameter1, parameter2), "Sneaky.toIntBiFunction result has to be equals ToIntBiFunctional result");
+        objIntConsumer((AtomicInteger p, int v) -> p.set(v)).accept(atomicValue, parameter2);
+        assertEquals(parameter2, atomicValue.get(), "Sneaky.objIntConsumer has to produce right result");
+    }
+
+    @Test
+    void longAdaptersTest() {
+        long value = parameter1;
+        assertEquals(value, longSupplier(() -> value).getAsLong(), "Sneaky.longSupplier result has to be equals LongSuppliable result");
+        assertEquals(String.valueOf(value), longFunction(String::valueOf).apply(value), "Sneaky.longFunction result has to be equals LongFunctional result");
+        assertTrue(longPredicate(v -> v == value).test(value), "Sneaky.longPredicate result has to be equals LongTestable result");
+        longConsumer(v -> atomicValue.set((int) v)).accept(value);
+        assertEquals(parameter1, atomicValue.get(), "Sneaky.longConsumer has to produce right result");
+        assertEquals(-value, longUnaryOperator(v -> -v).applyAsLong(value), "Sneaky.longUnaryOperator result has to be equals LongUnaryOperable result");
+        assertEquals(value * 2, longBinaryOperator(Long::sum).applyAsLong(value, value), "Sneaky.longBinaryOperator result has to be equals LongBinaryOperable result");
+        assertEquals(parameter1, longToIntFunction(v -> (int) v).applyAsInt(value), "Sneaky.longToIntFunction result has to be equals LongToIntFunctional result");
+        assertEquals(value, longToDoubleFunction(v -> v).applyAsDouble(value), "Sneaky.longToDoubleFunction result has to be equals LongToDoubleFunctional result");
+        assertEquals(value, toLongFunction(Integer::longValue).applyAsLong(parameter1), "Sneaky.toLongFunction result has to be equals ToLongFunctional result");
+        assertEquals(value + parameter2, toLongBiFunction((Integer p, Integer q) -> (long) p + q).applyAsLong(parameter1, parameter2), "Sneaky.toLongBiFunction result has to be equals ToLongBiFunctional result");
+        objLongConsumer((AtomicInteger p, long v) -> p.set((int) v)).accept(atomicValue, parameter2);
+        assertEquals(parameter2, atomicValue.get(), "Sneaky.objLongConsumer has to produce right result");
+    }
+
+    @Test
+    void doubleAdaptersTest() {
+        double value = parameter1;
+        assertEquals(value, doubleSupplier(() -> value).getAsDouble(), "Sneaky.doubleSupplier result has to be equals DoubleSuppliable result");
+        assertEquals(String.valueOf(value), doubleFunction(String::valueOf).apply(value), "Sneaky.doubleFunction result has to be equals DoubleFunctional result");
+        assertTrue(doublePredicate(v -> v == value).test(value), "Sneaky.doublePredicate result has to be equals DoubleTestable result");
+        doubleConsumer(v -> atomicValue.set((int) v)).accept(value);
+        assertEquals(parameter1, atomicValue.get(), "Sneaky.doubleConsumer has to produce right result");
+        assertEquals(-value, doubleUnaryOperator(v -> -v).applyAsDouble(value), "Sneaky.doubleUnaryOperator result has to be equals DoubleUnaryOperable result");
+        assertEquals(value * 2, doubleBinaryOperator(Double::sum).applyAsDouble(value, value), "Sneaky.doubleBinaryOperator result has to be equals DoubleBinaryOperable result");
+        assertEquals(parameter1, doubleToIntFunction(v -> (int) v).applyAsInt(value), "Sneaky.doubleToIntFunction result has to be equals DoubleToIntFunctional result");
+        assertEquals((long) parameter1, doubleToLongFunction(v -> (long) v).applyAsLong(value), "Sneaky.doubleToLongFunction result has to be equals DoubleToLongFunctional result");
+        assertEquals(value, toDoubleFunction(Integer::doubleValue).applyAsDouble(parameter1), "Sneaky.toDoubleFunction result has to be equals ToDoubleFunctional result");
+        assertEquals(value + parameter2, toDoubleBiFunction((Integer p, Integer q) -> (double) p + q).applyAsDouble(parameter1, parameter2), "Sneaky.toDoubleBiFunction result has to be equals ToDoubleBiFunctional result");
+        objDoubleConsumer((AtomicInteger p, double v) -> p.set((int) v)).accept(atomicValue, parameter2);
+        assertEquals(parameter2, atomicValue.get(), "Sneaky.objDoubleConsumer has to produce right result");
+        assertTrue(booleanSupplier(() -> true).getAsBoolean(), "Sneaky.booleanSupplier result has to be equals BooleanSuppliable result");
+    }
+
+    @Test
+    void primitiveAdaptersExceptionTest() {
+        exceptional();
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> booleanSupplier(() -> suppliable() > 0).getAsBoolean(), "Sneaky.booleanSupplier has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> intSupplier(this::suppliable).getAsInt(), "Sneaky.intSupplier has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> intFunction(this::functional).apply(1), "Sneaky.intFunction has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> intPredicate(v -> functional(v) > 0).test(1), "Sneaky.intPredicate has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> intConsumer(this::consumable).accept(1), "Sneaky.intConsumer has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> intUnaryOperator(this::functional).applyAsInt(1), "Sneaky.intUnaryOperator has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> intBinaryOperator(this::biFunctional).applyAsInt(1, 2), "Sneaky.intBinaryOperator has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> intToLongFunction(this::functional).applyAsLong(1), "Sneaky.intToLongFunction has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> intToDoubleFunction(this::functional).applyAsDouble(1), "Sneaky.intToDoubleFunction has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> toIntFunction(this::functional).applyAsInt(1), "Sneaky.toIntFunction has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> toIntBiFunction(this::biFunctional).applyAsInt(1, 2), "Sneaky.toIntBiFunction has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> objIntConsumer(this::biConsumable).accept(1, 2), "Sneaky.objIntConsumer has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> longSupplier(this::suppliable).getAsLong(), "Sneaky.longSupplier has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> longFunction(v -> functional((int) v)).apply(1L), "Sneaky.longFunction has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> longPredicate(v -> functional((int) v) > 0).test(1L), "Sneaky.longPredicate has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> longConsumer(v -> consumable((int) v)).accept(1L), "Sneaky.longConsumer has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> longUnaryOperator(v -> functional((int) v)).applyAsLong(1L), "Sneaky.longUnaryOperator has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> longBinaryOperator((v, w) -> biFunctional((int) v, (int) w)).applyAsLong(1L, 2L), "Sneaky.longBinaryOperator has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> longToIntFunction(v -> functional((int) v)).applyAsInt(1L), "Sneaky.longToIntFunction has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> longToDoubleFunction(v -> functional((int) v)).applyAsDouble(1L), "Sneaky.longToDoubleFunction has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> toLongFunction(this::functional).applyAsLong(1), "Sneaky.toLongFunction has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> toLongBiFunction(this::biFunctional).applyAsLong(1, 2), "Sneaky.toLongBiFunction has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> objLongConsumer((Integer p, long v) -> biConsumable(p, (int) v)).accept(1, 2L), "Sneaky.objLongConsumer has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> doubleSupplier(this::suppliable).getAsDouble(), "Sneaky.doubleSupplier has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> doubleFunction(v -> functional((int) v)).apply(1.0), "Sneaky.doubleFunction has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> doublePredicate(v -> functional((int) v) > 0).test(1.0), "Sneaky.doublePredicate has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> doubleConsumer(v -> consumable((int) v)).accept(1.0), "Sneaky.doubleConsumer has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> doubleUnaryOperator(v -> functional((int) v)).applyAsDouble(1.0), "Sneaky.doubleUnaryOperator has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> doubleBinaryOperator((v, w) -> biFunctional((int) v, (int) w)).applyAsDouble(1.0, 2.0), "Sneaky.doubleBinaryOperator has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> doubleToIntFunction(v -> functional((int) v)).applyAsInt(1.0), "Sneaky.doubleToIntFunction has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> doubleToLongFunction(v -> functional((int) v)).applyAsLong(1.0), "Sneaky.doubleToLongFunction has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> toDoubleFunction(this::functional).applyAsDouble(1), "Sneaky.toDoubleFunction has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> toDoubleBiFunction(this::biFunctional).applyAsDouble(1, 2), "Sneaky.toDoubleBiFunction has to throw right Exception"),
+                () -> assertThrows(IllegalArgumentException.class, () -> objDoubleConsumer((Integer p, double v) -> biConsumable(p, (int) v)).accept(1, 2.0), "Sneaky.objDoubleConsumer has to throw right Exception")
+        );
+    }
+
+    @Test
+    void carryingTest() throws Exception {
+        assertEquals(suppliable(), Sneaky.Carrying.supplier(this::suppliable).get(), "Sneaky.Carrying.supplier result has to be equals supplier result");
+        assertEquals(value(parameter1), Sneaky.Carrying.function(this::functional).apply(parameter1), "Sneaky.Carrying.function result has to be equals functional result");
+        assertEquals(value(parameter1, parameter2), Sneaky.Carrying.bifunction(this::biFunctional).apply(parameter1, parameter2), "Sneaky.Carrying.bifunction result has to be equals biFunctional result");
+        Sneaky.Carrying.runnable(this::callable).run();
+        assertEquals(value(parameter1), atomicValue.get(), "Sneaky.Carrying.runnable has to produce right result");
+        Sneaky.Carrying.consumer(this::consumable).accept(parameter2);
+        assertEquals(value(parameter2), atomicValue.get(), "Sneaky.Carrying.consumer has to produce right result");
+        Sneaky.Carrying.biconsumer(this::biConsumable).accept(parameter1, parameter2);
+        assertEquals(value(parameter1, parameter2), atomicValue.get(), "Sneaky.Carrying.biconsumer has to produce right result");
+    }
+
+    @Test
+    void carryingExceptionTest() {
+        this.exception = new IOException();
+        assertAll(
+                () -> assertSame(exception, assertThrows(CarrierException.class, () -> Sneaky.Carrying.supplier(this::suppliable).get()).getCause(), "Sneaky.Carrying.supplier has to carry checked Exception"),
+                () -> assertSame(exception, assertThrows(CarrierException.class, () -> Sneaky.Carrying.function(this::functional).apply(1)).getCause(), "Sneaky.Carrying.function has to carry checked Exception"),
+                () -> assertSame(exception, assertThrows(CarrierException.class, () -> Sneaky.Carrying.bifunction(this::biFunctional).apply(1, 2)).getCause(), "Sneaky.Carrying.bifunction has to carry checked Exception"),
+                () -> assertSame(exception, assertThrows(CarrierException.class, Sneaky.Carrying.runnable(this::callable)::run).getCause(), "Sneaky.Carrying.runnable has to carry checked Exception"),
+                () -> assertSame(exception, assertThrows(CarrierException.class, () -> Sneaky.Carrying.consumer(this::consumable).accept(1)).getCause(), "Sneaky.Carrying.consumer has to carry checked Exception"),
+                () -> assertSame(exception, assertThrows(CarrierException.class, () -> Sneaky.Carrying.biconsumer(this::biConsumable).accept(1, 2)).getCause(), "Sneaky.Carrying.biconsumer has to carry checked Exception")
+        );
+        exceptional();
+        assertThrows(IllegalArgumentException.class, () -> Sneaky.Carrying.function(this::functional).apply(1), "Sneaky.Carrying.function has to throw RuntimeException as is");
+    }
+
+    @Test
+    void tryingTest() throws Exception {
+        assertEquals(Try.success(functional(parameter1)), trying(this::functional).apply(parameter1), "Sneaky.trying result has to be success with functional result");
+        assertEquals(Try.success(suppliable()), tryingSupplier(this::suppliable).get(), "Sneaky.tryingSupplier result has to be success with supplier result");
+        assertEquals(Try.success(biFunctional(parameter1, parameter2)), tryingBifunction(this::biFunctional).apply(parameter1, parameter2), "Sneaky.tryingBifunction result has to be success with biFunctional result");
+        assertSame(Try.success(), tryingRunnable(this::callable).get(), "Sneaky.tryingRunnable result has to be void success");
+        assertSame(Try.success(), tryingConsumer(this::consumable).apply(parameter1), "Sneaky.tryingConsumer result has to be void success");
+    }
+
+    @Test
+    void tryingExceptionTest() {
+        exceptional();
+        var failure = Try.failure(exception);
+        assertEquals(failure, trying(this::functional).apply(parameter1), "Sneaky.trying result has to be failure with thrown exception");
+        assertEquals(failure, tryingSupplier(this::suppliable).get(), "Sneaky.tryingSupplier result has to be failure with thrown exception");
+        assertEquals(failure, tryingBifunction(this::biFunctional).apply(parameter1, parameter2), "Sneaky.tryingBifunction result has to be failure with thrown exception");
+        assertEquals(failure, tryingRunnable(this::callable).get(), "Sneaky.tryingRunnable result has to be failure with thrown exception");
+        assertEquals(failure, tryingConsumer(this::consumable).apply(parameter1), "Sneaky.tryingConsumer result has to be failure with thrown exception");
+    }
+
+    @Test
+    void timeoutTest() throws Exception {
+        var timeout = Duration.ofSeconds(10);
+        assertEquals(suppliable(), supplier(this::suppliable, timeout).get(), "Sneaky.supplier with timeout has to return the call result");
+        assertEquals(functional(parameter1), function(this::functional, timeout).apply(parameter1), "Sneaky.function with timeout has to return the functional result");
+        runnable(this::callable, timeout).run();
+        assertEquals(value(parameter1, 0), atomicValue.get(), "Sneaky.runnable with timeout has to process");
+        exceptional();
+        assertSame(exception, assertThrows(IllegalArgumentException.class, supplier(this::suppliable, timeout)::get), "Sneaky.supplier with timeout has to throw the call failure");
+    }
+
+    @Test
+    void timeoutExpiredTest() {
+        var timeout = Duration.ofMillis(10);
+        Runnable sleeping = runnable(() -> Thread.sleep(1000), timeout);
+        assertThrows(TimeoutException.class, sleeping::run, "Sneaky.runnable with timeout has to throw TimeoutException on expiry");
+        assertThrows(IllegalArgumentException.class, () -> supplier(this::suppliable, Duration.ZERO), "Timeout has to be positive");
+    }
+
     private Integer parameter1;
     private Integer parameter2;
     private AtomicInteger atomicValue;
@@ -0,0 +1,100 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StackTraceRendererTest {
+
+    private static final StackTraceRenderer UNLIMITED = StackTraceRenderer.defaults()
+            .maxFrames(Integer.MAX_VALUE).maxDepth(Integer.MAX_VALUE).maxSuppressed(Integer.MAX_VALUE).maxChars(Integer.MAX_VALUE).exclude();
+
+    private static Throwable deep(int depth) {
+        return depth <= 1 ? new IOException("deep") : deep(depth - 1);
+    }
+
+    @Test
+    void printStackTraceFormatTest() {
+        var throwable = new IllegalStateException("outer", deep(3));
+        throwable.addSuppressed(new IllegalArgumentException("suppressed"));
+        var writer = new StringWriter();
+        throwable.printStackTrace(new PrintWriter(writer));
+        assertEquals(writer.toString().replace(System.lineSeparator(), "\n"), UNLIMITED.render(throwable), "Unlimited renderer has to render as printStackTrace");
+    }
+
+    @Test
+    void maxFramesTest() {
+        var throwable = deep(10);
+        var text = StackTraceRenderer.defaults().exclude().maxFrames(2).render(throwable);
+        var lines = text.split("\n");
+        assertEquals(4, lines.length, "Renderer has to render the header, two frames and the rest count");
+        assertEquals("\t... " + (throwable.getStackTrace().length - 2) + " more", lines[3], "Renderer has to count the skipped frames");
+    }
+
+    @Test
+    void collapseTest() {
+        var throwable = new IllegalStateException(new IOException());
+        var text = StackTraceRenderer.defaults().exclude().render(throwable);
+        // the cause is created at the same line, so all its frames are in common with the enclosing trace
+        assertTrue(text.endsWith("Caused by: java.io.IOException\n\t... " + throwable.getStackTrace().length + " more\n"), "Frames in common with the enclosing trace have to be collapsed");
+    }
+
+    @Test
+    void excludeTest() {
+        var throwable = new IOException();
+        var excluded = StackTraceRenderer.defaults().exclude("org.junit.", "java.", "jdk.").render(throwable);
+        assertFalse(excluded.contains("at org.junit."), "Excluded packages hasn't got to be rendered");
+        assertTrue(excluded.matches("(?s).*\t\\.\\.\\. \\d+ filtered\n.*"), "Excluded frames have to be counted");
+        assertTrue(StackTraceRenderer.defaults().render(throwable).contains("at org.junit."), "Not excluded packages have to be rendered");
+    }
+
+    @Test
+    void maxDepthTest() {
+        Throwable throwable = new IOException("root");
+        for (int i = 0; i < 5; i++) {
+            throwable = new IllegalStateException(String.valueOf(i), throwable);
+        }
+        var text = StackTraceRenderer.defaults().maxDepth(2).render(throwable);
+        assertEquals(2, text.split("\nCaused by: java").length - 1, "Renderer has to render maxDepth causes");
+        assertTrue(text.contains("Caused by: ... 3 more cause(s)\n"), "Renderer has to count the rest of the causes");
+    }
+
+    @Test
+    void maxSuppressedTest() {
+        var throwable = new IOException();
+        IntStream.range(0, 5).forEach(i -> throwable.addSuppressed(new IllegalStateException(String.valueOf(i))));
+        var text = StackTraceRenderer.defaults().maxSuppressed(2).render(throwable);
+        assertEquals(2, text.split("Suppressed: ").length - 1, "Renderer has to render maxSuppressed suppressed exceptions");
+        assertTrue(text.contains("\t... 3 more suppressed\n"), "Renderer has to count the rest of suppressed exceptions");
+    }
+
+    @Test
+    void maxCharsTest() {
+        var text = StackTraceRenderer.defaults().maxChars(20).render(deep(50));
+        assertEquals("java.io.IOException:... truncated", text, "Renderer has to stop on the character limit");
+    }
+
+    @Test
+    void circularTest() {
+        var first = new IllegalStateException("first");
+        var second = new IllegalStateException("second", first);
+        first.initCause(second);
+        assertTrue(StackTraceRenderer.defaults().render(first).contains("[CIRCULAR REFERENCE: " + first + "]"), "Circular reference has to be marked");
+    }
+
+    @Test
+    void validationTest() {
+        var renderer = StackTraceRenderer.defaults();
+        assertThrows(IllegalArgumentException.class, () -> renderer.maxFrames(-1), "maxFrames has to be non negative");
+        assertThrows(IllegalArgumentException.class, () -> renderer.maxChars(-1), "maxChars has to be non negative");
+    }
+
+}
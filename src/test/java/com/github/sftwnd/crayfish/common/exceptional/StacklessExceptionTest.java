@@ -0,0 +1,53 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StacklessExceptionTest {
+
+    @Test
+    void stacklessTest() {
+        var cause = new IOException();
+        var exception = new StacklessException("message", cause);
+        exception.addSuppressed(new IOException());
+        exception.setStackTrace(new Throwable().getStackTrace());
+        assertEquals(0, exception.getStackTrace().length, "StacklessException hasn't got to have stack trace");
+        assertEquals(0, exception.getSuppressed().length, "StacklessException hasn't got to have suppressed exceptions");
+        assertEquals("message", exception.getMessage(), "StacklessException has to keep message");
+        assertSame(cause, exception.getCause(), "StacklessException has to keep cause");
+    }
+
+    @Test
+    void stacklessCheckedTest() {
+        var exception = new StacklessCheckedException("message");
+        exception.addSuppressed(new IOException());
+        assertEquals(0, exception.getStackTrace().length, "StacklessCheckedException hasn't got to have stack trace");
+        assertEquals(0, exception.getSuppressed().length, "StacklessCheckedException hasn't got to have suppressed exceptions");
+        assertThrows(IllegalStateException.class, () -> exception.initCause(new IOException()), "StacklessCheckedException cause has to be immutable");
+    }
+
+    @Test
+    void carrierTest() {
+        var cause = new IOException("io");
+        var carrier = new CarrierException(cause);
+        assertEquals(0, carrier.getStackTrace().length, "CarrierException hasn't got to have stack trace");
+        assertEquals(cause.toString(), carrier.getMessage(), "CarrierException message has to be equals carried exception text");
+        assertSame(cause, Exceptional.cause(carrier), "Exceptional.cause has to unwrap CarrierException");
+    }
+
+    @Test
+    void rethrowUncheckedTest() {
+        var runtime = new IllegalStateException();
+        var error = new AssertionError();
+        var checked = new IOException();
+        assertSame(runtime, assertThrows(IllegalStateException.class, () -> Exceptional.rethrowUnchecked(runtime)), "RuntimeException has to be thrown as is");
+        assertSame(error, assertThrows(AssertionError.class, () -> Exceptional.rethrowUnchecked(error)), "Error has to be thrown as is");
+        assertSame(checked, assertThrows(CarrierException.class, () -> Exceptional.rethrowUnchecked(checked)).getCause(), "Checked exception has to be carried");
+    }
+
+}
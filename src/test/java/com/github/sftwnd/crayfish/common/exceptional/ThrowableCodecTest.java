@@ -0,0 +1,185 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ThrowableCodecTest {
+
+    private static Throwable deep(int depth) {
+        return depth <= 1 ? new IOException("deep") : deep(depth - 1);
+    }
+
+    private static void assertSnapshot(Throwable throwable, ThrowableSnapshot snapshot) {
+        assertEquals(throwable.getClass().getName(), snapshot.className(), "Snapshot has to keep the class name");
+        assertEquals(throwable.getMessage(), snapshot.message(), "Snapshot has to keep the message");
+        assertArrayEquals(throwable.getStackTrace(), snapshot.frames(), "Snapshot has to keep the frames");
+        assertEquals(throwable.getSuppressed().length, snapshot.suppressed().size(), "Snapshot has to keep the suppressed exceptions");
+        for (int i = 0; i < throwable.getSuppressed().length; i++) {
+            assertSnapshot(throwable.getSuppressed()[i], snapshot.suppressed().get(i));
+        }
+        if (throwable.getCause() == null) {
+            assertNull(snapshot.cause(), "Snapshot hasn't got to have the cause");
+        } else {
+            assertSnapshot(throwable.getCause(), snapshot.cause());
+        }
+    }
+
+    @Test
+    void roundTripTest() {
+        var throwable = new IllegalStateException("outer", new RuntimeException(deep(5)));
+        throwable.addSuppressed(new IllegalArgumentException("suppressed € 😀"));
+        throwable.addSuppressed(new StacklessException("stackless"));
+        assertSnapshot(throwable, ThrowableCodec.decode(ThrowableCodec.encode(throwable)));
+    }
+
+    @Test
+    void byteBufferTest() {
+        var throwable = new IllegalStateException("buffer", deep(3));
+        var buffer = ByteBuffer.allocate(4096);
+        buffer.put((byte) 42);
+        ThrowableCodec.encode(throwable, buffer);
+        buffer.flip();
+        assertEquals(42, buffer.get(), "Encoder has to write from the buffer position");
+        assertSnapshot(throwable, ThrowableCodec.decode(buffer));
+        assertFalse(buffer.hasRemaining(), "Decoder has to consume the message");
+    }
+
+    @Test
+    void byteBufferOverflowTest() {
+        var buffer = ByteBuffer.allocate(16);
+        buffer.put((byte) 1);
+        assertThrows(BufferOverflowException.class, () -> ThrowableCodec.encode(new IOException("overflow"), buffer), "Encoder has to throw on overflow");
+        assertEquals(1, buffer.position(), "Encoder has to restore the position on overflow");
+    }
+
+    @Test
+    void streamTest() throws IOException {
+        var first = new IllegalStateException("first", deep(4));
+        var second = new IllegalStateException("second", deep(4));
+        var bytes = new ByteArrayOutputStream();
+        var encoder = ThrowableCodec.encoder(bytes);
+        encoder.write(first);
+        int firstSize = bytes.size();
+        encoder.write(second);
+        encoder.flush();
+        int secondSize = bytes.size() - firstSize;
+        assertTrue(secondSize * 4 < firstSize, "Interned strings and frames have to shrink the repeated trace: " + firstSize + " / " + secondSize);
+        var decoder = ThrowableCodec.decoder(new ByteArrayInputStream(bytes.toByteArray()));
+        assertSnapshot(first, decoder.read());
+        assertSnapshot(second, decoder.read());
+        assertNull(decoder.read(), "Decoder has to return null at the end of the stream");
+    }
+
+    @Test
+    void compactTest() throws IOException {
+        var throwable = new IllegalStateException("compact", deep(8));
+        var serialized = new ByteArrayOutputStream();
+        try (var objectOutputStream = new ObjectOutputStream(serialized)) {
+            objectOutputStream.writeObject(throwable);
+        }
+        int encoded = ThrowableCodec.encode(throwable).length;
+        assertTrue(encoded * 2 < serialized.size(), "Encoded chain has to be much smaller than serialized one: " + encoded + " / " + serialized.size());
+    }
+
+    @Test
+    void circularReferenceTest() {
+        var first = new IllegalStateException("first");
+        var second = new IllegalArgumentException("second", first);
+        first.initCause(second);
+        first.addSuppressed(second);
+        var snapshot = ThrowableCodec.decode(ThrowableCodec.encode(first));
+        assertEquals(1, snapshot.suppressed().size(), "Suppressed has to be encoded");
+        assertNull(snapshot.suppressed().get(0).cause(), "Circular reference has to be cut");
+        assertNull(snapshot.cause(), "Already encoded exception hasn't got to be repeated");
+    }
+
+    @Test
+    void malformedTest() {
+        var bytes = ThrowableCodec.encode(new IOException("malformed"));
+        assertThrows(IllegalArgumentException.class, () -> ThrowableCodec.decode(Arrays.copyOf(bytes, bytes.length - 1)), "Truncated data has to be rejected");
+        assertThrows(IllegalArgumentException.class, () -> ThrowableCodec.decode(new byte[0]), "Empty data has to be rejected");
+        assertThrows(IllegalArgumentException.class, () -> ThrowableCodec.decode(new byte[] {(byte) ThrowableCodec.VERSION, 9}), "Wrong reference has to be rejected");
+        var corrupted = bytes.clone();
+        corrupted[0] = 99;
+        assertThrows(StreamCorruptedException.class, () -> ThrowableCodec.decoder(new ByteArrayInputStream(corrupted)).read(), "Unknown version has to be rejected");
+    }
+
+    private static StackTraceElement[] frames(int count) {
+        var frames = new StackTraceElement[count];
+        Arrays.fill(frames, new StackTraceElement("Amplified", "call", "Amplified.java", 1));
+        return frames;
+    }
+
+    @Test
+    void amplificationTest() {
+        var throwable = new IOException("amplified");
+        throwable.setStackTrace(frames(ThrowableCodec.MAX_COUNT));
+        var bytes = ThrowableCodec.encode(throwable);
+        // replace the empty suppressed list and the cause flag by many suppressed nodes of ~3 bytes sharing all the frames
+        int nodes = 1 << 16;
+        var crafted = new ByteArrayOutputStream();
+        crafted.write(bytes, 0, bytes.length - 2);
+        writeVarint(crafted, nodes);
+        for (int i = 0; i < nodes; i++) {
+            crafted.write(2);
+            crafted.write(0);
+            crafted.write(0);
+            writeVarint(crafted, ThrowableCodec.MAX_COUNT);
+            crafted.write(0);
+            crafted.write(0);
+        }
+        crafted.write(0);
+        var payload = crafted.toByteArray();
+        long started = System.nanoTime();
+        var exception = assertThrows(IllegalArgumentException.class, () -> ThrowableCodec.decode(payload), "Message over the frame budget has to be rejected");
+        assertTrue(exception.getMessage().contains(ThrowableCodec.MAX_TOTAL_FRAMES + " frames"), "Message has to be rejected by the frame budget, but: " + exception.getMessage());
+        assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(5), "Message over the frame budget has to be rejected without decoding it");
+    }
+
+    @Test
+    void frameBudgetTest() {
+        var throwable = new IOException("budget");
+        throwable.setStackTrace(frames(ThrowableCodec.MAX_COUNT));
+        int fitting = ThrowableCodec.MAX_TOTAL_FRAMES / ThrowableCodec.MAX_COUNT - 1;
+        for (int i = 0; i <= fitting; i++) {
+            var suppressed = new IOException("suppressed " + i);
+            suppressed.setStackTrace(frames(ThrowableCodec.MAX_COUNT));
+            throwable.addSuppressed(suppressed);
+        }
+        var snapshot = ThrowableCodec.decode(ThrowableCodec.encode(throwable));
+        assertEquals(fitting, snapshot.suppressed().size(), "Suppressed exceptions over the frame budget have to be dropped by the encoder");
+    }
+
+    private static void writeVarint(ByteArrayOutputStream output, int value) {
+        while ((value & ~0x7f) != 0) {
+            output.write((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        output.write(value);
+    }
+
+    @Test
+    void snapshotTest() {
+        var snapshot = ThrowableCodec.decode(ThrowableCodec.encode(new IOException("text")));
+        assertEquals("java.io.IOException: text", snapshot.toString(), "Snapshot has to be rendered as Throwable::toString");
+        assertEquals(snapshot.frames().length, snapshot.frameCount(), "Snapshot has to count frames");
+        assertEquals("java.io.IOException", ThrowableCodec.decode(ThrowableCodec.encode(new IOException())).toString(), "Snapshot without message has to be rendered as the class name");
+    }
+
+}
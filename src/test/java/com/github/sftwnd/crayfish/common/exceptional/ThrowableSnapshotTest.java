@@ -0,0 +1,84 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ThrowableSnapshotTest {
+
+    private static Throwable deep(int depth) {
+        return depth <= 1 ? new IOException("deep") : deep(depth - 1);
+    }
+
+    @Test
+    void ofTest() {
+        var throwable = new IllegalStateException("outer", deep(5));
+        throwable.addSuppressed(new IllegalArgumentException("suppressed"));
+        var snapshot = ThrowableSnapshot.of(throwable);
+        assertEquals(IllegalStateException.class.getName(), snapshot.className(), "Snapshot has to keep the class name");
+        assertEquals("outer", snapshot.message(), "Snapshot has to keep the message");
+        assertArrayEquals(throwable.getStackTrace(), snapshot.frames(), "Snapshot has to keep the frames");
+        assertEquals(throwable.getStackTrace()[1], snapshot.frame(1), "Snapshot has to resolve the frame by index");
+        assertArrayEquals(throwable.getCause().getStackTrace(), snapshot.cause().frames(), "Snapshot has to keep the cause frames");
+        assertEquals("suppressed", snapshot.suppressed().get(0).message(), "Snapshot has to keep the suppressed exceptions");
+        assertNull(snapshot.cause().cause(), "Snapshot hasn't got to invent the cause");
+        assertThrows(IndexOutOfBoundsException.class, () -> snapshot.frame(snapshot.frameCount()), "Frame index has to be checked");
+    }
+
+    @Test
+    void summaryTest() {
+        var significant = new IOException("significant");
+        var snapshot = ThrowableSnapshot.of(new CompletionException(new ExecutionException(significant)));
+        assertSame(snapshot.cause().cause(), snapshot.significantCause(), "Significant cause has to be resolved as Exceptional::cause");
+        assertEquals(Exceptional.exceptionText(significant), snapshot.significantCause().text(), "Text has to be resolved as Exceptional::exceptionText");
+        var withoutMessage = ThrowableSnapshot.of(new IllegalStateException());
+        assertSame(withoutMessage, withoutMessage.significantCause(), "Significant exception has to be the cause of itself");
+        assertEquals(IllegalStateException.class.getName(), withoutMessage.text(), "Text without message has to be the class name");
+        var custom = new IOException("message") {
+            @Override
+            public String getLocalizedMessage() {
+                return "localized";
+            }
+        };
+        assertEquals("localized", ThrowableSnapshot.of(custom).text(), "Text has to keep the localized message");
+    }
+
+    @Test
+    void internTest() {
+        var snapshots = new ThrowableSnapshot[100];
+        int size = 0;
+        for (int i = 0; i < snapshots.length; i++) {
+            snapshots[i] = ThrowableSnapshot.of(deep(10));
+            if (i == 0) {
+                size = FramePool.shared().size();
+            }
+        }
+        assertEquals(size, FramePool.shared().size(), "Repeated frames have to be interned");
+    }
+
+    @Test
+    void circularReferenceTest() {
+        var first = new IllegalStateException("first");
+        var second = new IllegalArgumentException("second", first);
+        first.initCause(second);
+        var snapshot = ThrowableSnapshot.of(first);
+        assertEquals("second", snapshot.cause().message(), "Cause has to be kept");
+        assertNull(snapshot.cause().cause(), "Circular reference has to be cut");
+    }
+
+    @Test
+    void decodedTest() {
+        var snapshot = ThrowableCodec.decode(ThrowableCodec.encode(new RuntimeException(new IOException("decoded"))));
+        assertSame(snapshot, snapshot.significantCause(), "Decoded snapshot has to be significant itself");
+        assertEquals("java.io.IOException: decoded", snapshot.text(), "Decoded snapshot has to derive the text");
+    }
+
+}
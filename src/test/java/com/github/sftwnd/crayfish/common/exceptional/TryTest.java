@@ -0,0 +1,92 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TryTest {
+
+    @Test
+    void singletonsTest() {
+        assertSame(Try.success(), Try.run(() -> {}), "Void success has to be singleton");
+        assertSame(Try.success(null), Try.of(() -> null), "Null success has to be singleton");
+        assertNull(Try.success().get(), "Void success has to have null value");
+    }
+
+    @Test
+    void successTest() {
+        var result = Try.of(() -> 1);
+        assertTrue(result.isSuccess(), "Try.of has to be success if callable doesn't throw");
+        assertFalse(result.isFailure(), "Success hasn't got to be failure");
+        assertEquals(1, result.get(), "Success has to keep the value");
+        assertEquals(1, result.orElse(2), "Success orElse has to return the value");
+        assertEquals(1, result.orElseGet(throwable -> 2), "Success orElseGet has to return the value");
+        assertTrue(result.failure().isEmpty(), "Success hasn't got to have failure");
+        assertEquals(Try.success(1), result, "Success has to be equal to the success with the same value");
+        assertEquals(Try.success(1).hashCode(), result.hashCode(), "Success hashCode has to be equal to the success with the same value");
+        assertEquals("Success(1)", result.toString(), "Success toString has to show the value");
+    }
+
+    @Test
+    void failureTest() {
+        var exception = new IOException();
+        Try<Integer> result = Try.of(() -> { throw exception; });
+        assertTrue(result.isFailure(), "Try.of has to be failure if callable throws");
+        assertSame(exception, assertThrows(IOException.class, result::get), "Failure get has to throw the exception");
+        assertSame(exception, result.failure().orElseThrow(), "Failure has to keep the exception");
+        assertEquals(2, result.orElse(2), "Failure orElse has to return the other value");
+        assertEquals(2, result.orElseGet(throwable -> 2), "Failure orElseGet has to return the function result");
+        assertEquals(Try.failure(exception), result, "Failure has to be equal to the failure with the same exception");
+        assertEquals(exception.hashCode(), result.hashCode(), "Failure hashCode has to be equal to exception hashCode");
+        assertNotEquals(Try.success(null), result, "Failure hasn't got to be equal to success");
+        assertEquals("Failure(" + exception + ")", result.toString(), "Failure toString has to show the exception");
+        assertTrue(Try.run(() -> { throw exception; }).isFailure(), "Try.run has to be failure if processable throws");
+        assertThrows(NullPointerException.class, () -> Try.failure(null), "Failure has to reject null");
+    }
+
+    @Test
+    void mapTest() {
+        var exception = new IOException();
+        assertEquals(Try.success(2), Try.success(1).map(v -> v + 1), "Success map has to transform the value");
+        assertEquals(Try.failure(exception), Try.success(1).map(v -> { throw exception; }), "Success map has to capture the exception");
+        assertEquals(Try.failure(exception), Try.<Integer>failure(exception).map(v -> v + 1), "Failure map has to keep the failure");
+        assertEquals(Try.success(2), Try.success(1).flatMap(v -> Try.success(v + 1)), "Success flatMap has to return functional result");
+        assertEquals(Try.failure(exception), Try.success(1).flatMap(v -> { throw exception; }), "Success flatMap has to capture the exception");
+        assertTrue(Try.success(1).flatMap(v -> null).failure().orElseThrow() instanceof NullPointerException, "Success flatMap has to reject null result");
+        assertEquals(Try.failure(exception), Try.<Integer>failure(exception).flatMap(v -> Try.success(v + 1)), "Failure flatMap has to keep the failure");
+    }
+
+    @Test
+    void recoverTest() {
+        var exception = new IOException();
+        var other = new IllegalStateException();
+        assertEquals(Try.success(1), Try.success(1).recover(throwable -> 2), "Success recover has to keep the success");
+        assertEquals(Try.success(2), Try.<Integer>failure(exception).recover(throwable -> 2), "Failure recover has to return recovered value");
+        assertEquals(Try.failure(other), Try.<Integer>failure(exception).recover(throwable -> { throw other; }), "Failure recover has to capture the exception");
+        assertEquals(Try.success(1), Try.success(1).recoverWith(throwable -> Try.success(2)), "Success recoverWith has to keep the success");
+        assertEquals(Try.success(2), Try.<Integer>failure(exception).recoverWith(throwable -> Try.success(2)), "Failure recoverWith has to return functional result");
+        assertEquals(Try.failure(other), Try.<Integer>failure(exception).recoverWith(throwable -> { throw other; }), "Failure recoverWith has to capture the exception");
+    }
+
+    @Test
+    void foldAndCallbacksTest() {
+        var exception = new IOException();
+        var reference = new AtomicReference<Object>();
+        assertEquals("1", Try.success(1).fold(String::valueOf, Throwable::toString), "Success fold has to apply onSuccess");
+        assertEquals(exception.toString(), Try.failure(exception).fold(String::valueOf, Throwable::toString), "Failure fold has to apply onFailure");
+        Try.success(1).onFailure(reference::set).onSuccess(reference::set);
+        assertEquals(1, reference.get(), "Success has to call onSuccess only");
+        Try.failure(exception).onSuccess(reference::set).onFailure(reference::set);
+        assertSame(exception, reference.get(), "Failure has to call onFailure only");
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.github.sftwnd.crayfish.common.exceptional;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WheelTimerTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void cancelTest() throws InterruptedException {
+        var timer = new WheelTimer("wheel-timer-test", MILLIS, 8);
+        var timeout = timer.interruptAfter(Thread.currentThread(), 20 * MILLIS);
+        assertTrue(timeout.cancel(), "Pending timeout has to be cancelled");
+        assertTrue(timeout.cancel(), "Cancelled timeout has to stay cancelled");
+        Thread.sleep(40);
+        assertFalse(Thread.interrupted(), "Cancelled timeout hasn't got to interrupt the thread");
+        assertFalse(timeout.isExpired(), "Cancelled timeout hasn't got to expire");
+    }
+
+    @Test
+    void expireTest() {
+        // the delay is longer than the wheel to check the rounds
+        var timer = new WheelTimer("wheel-timer-test", MILLIS, 4);
+        long start = System.nanoTime();
+        var timeout = timer.interruptAfter(Thread.currentThread(), 10 * MILLIS);
+        var exception = assertThrows(InterruptedException.class, () -> Thread.sleep(1000), "Timeout has to interrupt the thread");
+        assertTrue(System.nanoTime() - start >= 10 * MILLIS, "Timeout hasn't got to expire before the delay");
+        assertTrue(timeout.isExpired(), "Timeout has to be expired");
+        assertFalse(timeout.cancel(), "Expired timeout can't be cancelled");
+        assertSame(InterruptedException.class, exception.getClass());
+    }
+
+    @Test
+    void callTest() {
+        var timer = WheelTimer.global();
+        assertEquals(5, timer.call(() -> 5, 100 * MILLIS), "Call completed in time has to return the result");
+        assertFalse(Thread.currentThread().isInterrupted(), "Call completed in time hasn't got to leave the thread interrupted");
+        var exception = assertThrows(TimeoutException.class, () -> timer.call(() -> {
+            Thread.sleep(1000);
+            return 1;
+        }, 10 * MILLIS), "Expired call has to throw TimeoutException");
+        assertEquals(0, exception.getStackTrace().length, "TimeoutException has to be stackless");
+        assertEquals(1, exception.getSuppressed().length, "Failure of the expired call has to be attached as suppressed");
+        assertFalse(Thread.currentThread().isInterrupted(), "Expired call hasn't got to leave the thread interrupted");
+    }
+
+    @Test
+    void preservedInterruptTest() {
+        var timer = WheelTimer.global();
+        Thread.currentThread().interrupt();
+        assertThrows(TimeoutException.class, () -> timer.call(() -> spin(30), 5 * MILLIS), "Expired call has to throw TimeoutException");
+        assertTrue(Thread.interrupted(), "Interrupt status set before the call has to be kept");
+    }
+
+    @Test
+    void foreignInterruptTest() throws InterruptedException {
+        var timer = WheelTimer.global();
+        var caller = Thread.currentThread();
+        var interrupter = new Thread(() -> {
+            LockSupport.parkNanos(2 * MILLIS);
+            caller.interrupt();
+        });
+        interrupter.start();
+        try {
+            assertThrows(TimeoutException.class, () -> timer.call(() -> spin(50), 20 * MILLIS), "Expired call has to throw TimeoutException");
+            assertTrue(Thread.interrupted(), "Interrupt made by others during the call has to be kept");
+        } finally {
+            interrupter.join();
+            Thread.interrupted();
+        }
+    }
+
+    // busy wait which ignores the interruption
+    private static int spin(long millis) {
+        long deadline = System.nanoTime() + millis * MILLIS;
+        while (System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        return 0;
+    }
+
+    @Test
+    void validationTest() {
+        assertThrows(IllegalArgumentException.class, () -> new WheelTimer("wheel-timer-test", 0, 8), "tickNanos has to be positive");
+        assertThrows(IllegalArgumentException.class, () -> new WheelTimer("wheel-timer-test", MILLIS, 6), "wheelSize has to be power of 2");
+    }
+
+}